@@ -0,0 +1,72 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.ezlevup.chatsocket.cluster.LoopbackBackplane;
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.handler.BroadcastEngine;
+import com.ezlevup.chatsocket.handler.ChatRateLimiter;
+import com.ezlevup.chatsocket.handler.ChatWebSocketHandler;
+import com.ezlevup.chatsocket.handler.HotPathLog;
+import com.ezlevup.chatsocket.handler.MessageTracer;
+import com.ezlevup.chatsocket.handler.RoomWorkers;
+import com.ezlevup.chatsocket.handler.SessionRegistry;
+import com.ezlevup.chatsocket.model.ChatRoomRepository;
+import com.ezlevup.chatsocket.performance.StubWebSocketSession;
+import com.ezlevup.chatsocket.service.ChatMessageLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    // 포크된 JVM 에는 Spring 로깅 설정이 없어 기본값(DEBUG, 콘솔)이 적용되므로 측정 전에 낮춘다
+    static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    // 스프링 컨텍스트 없이 실제 핸들러를 구성한다 (송신은 호출 스레드에서 바로 처리, 방 워커 수는 properties 를 따름)
+    static ChatWebSocketHandler newHandler(ChatProperties properties) {
+        SessionRegistry sessionRegistry = new SessionRegistry(properties);
+        ChatWebSocketHandler handler = new ChatWebSocketHandler();
+        ReflectionTestUtils.setField(handler, "chatRoomRepository", new ChatRoomRepository(properties));
+        ReflectionTestUtils.setField(handler, "broadcastEngine", new BroadcastEngine(Runnable::run, properties, sessionRegistry));
+        ReflectionTestUtils.setField(handler, "sessionRegistry", sessionRegistry);
+        ReflectionTestUtils.setField(handler, "chatProperties", properties);
+        ReflectionTestUtils.setField(handler, "chatMessageLog", new ChatMessageLog(properties));
+        ReflectionTestUtils.setField(handler, "backplane", new LoopbackBackplane("bench-node"));
+        ReflectionTestUtils.setField(handler, "hotPathLog", new HotPathLog(properties));
+        ReflectionTestUtils.setField(handler, "rateLimiter", new ChatRateLimiter(properties));
+        ReflectionTestUtils.setField(handler, "messageTracer", new MessageTracer(new SimpleMeterRegistry(), properties));
+        ReflectionTestUtils.setField(handler, "roomWorkers", new RoomWorkers(properties));
+        handler.startBackplane();
+        return handler;
+    }
+
+    // members 명을 같은 방에 입장시키고 세션 목록을 반환한다
+    static List<StubWebSocketSession> joinRoom(ChatWebSocketHandler handler, String roomId, int members,
+                                               Consumer<WebSocketMessage<?>> onSend) throws Exception {
+        List<StubWebSocketSession> sessions = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            StubWebSocketSession session = new StubWebSocketSession("s" + i, 0, onSend);
+            handler.afterConnectionEstablished(session);
+            handler.handleMessage(session, new TextMessage(
+                    "{\"type\":\"ENTER\",\"roomId\":\"" + roomId + "\",\"sender\":\"user" + i + "\"}"));
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    static TextMessage talkFrame(String roomId) {
+        return new TextMessage("{\"type\":\"TALK\",\"roomId\":\"" + roomId + "\",\"sender\":\"user0\",\"message\":\"안녕하세요, 벤치마크 메시지입니다.\"}");
+    }
+}
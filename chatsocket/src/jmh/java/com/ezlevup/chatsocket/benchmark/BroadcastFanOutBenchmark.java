@@ -0,0 +1,62 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.handler.ChatWebSocketHandler;
+import com.ezlevup.chatsocket.performance.StubWebSocketSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.concurrent.TimeUnit;
+
+// TALK 메시지 하나가 방 전체로 퍼지는 비용: 파싱 -> 순번 부여 -> 인코딩 -> 최근 메시지 기록 -> 세션별 전송
+// 송신 큐를 호출 스레드에서 바로 비우도록 동기 실행기를 사용해 전송까지 측정에 포함한다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadcastFanOutBenchmark {
+
+    private static final String ROOM_ID = "bench-room";
+
+    @Param({"10", "100", "1000"})
+    public int members;
+
+    // 단계별 지연 추적 비율 (0 = 끔, 1 = 모든 메시지). 추적을 끈 경우와 모두 추적한 경우의 비용 차이
+    @Param({"0", "1"})
+    public double traceSampleRate;
+
+    private ChatWebSocketHandler handler;
+    private StubWebSocketSession sender;
+    private TextMessage talk;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setUp(Blackhole blackhole) throws Exception {
+        BenchmarkSupport.quietLogging();
+        this.blackhole = blackhole;
+
+        ChatProperties properties = new ChatProperties();
+        properties.getMetrics().setTraceSampleRate(traceSampleRate);
+        handler = BenchmarkSupport.newHandler(properties);
+        sender = BenchmarkSupport.joinRoom(handler, ROOM_ID, members, message -> this.blackhole.consume(message)).get(0);
+        talk = BenchmarkSupport.talkFrame(ROOM_ID);
+    }
+
+    @Benchmark
+    public void broadcastToRoom() throws Exception {
+        handler.handleMessage(sender, talk);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import com.ezlevup.chatsocket.handler.BinaryChatCodec;
+import com.ezlevup.chatsocket.handler.SystemFrameEncoder;
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+// ChatMessage 직렬화/역직렬화 비용 (핸들러와 같은 ObjectMapper 설정)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatMessageCodecBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private ChatMessage message;
+    private ChatMessage enterNotice;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws Exception {
+        message = new ChatMessage(MessageType.TALK, "3f2a9c1e-7b4d-4e8a-9f10-2c6d8e4b1a37", "사용자123", "안녕하세요, 오늘 회의는 3시에 시작합니다.");
+        message.setSequence(123_456L);
+        json = objectMapper.writeValueAsBytes(message);
+        binary = BinaryChatCodec.encode(message);
+        enterNotice = SystemFrameEncoder.enterNotice("3f2a9c1e-7b4d-4e8a-9f10-2c6d8e4b1a37", "사용자123");
+        enterNotice.setSequence(123_456L);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws Exception {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public ChatMessage jsonDecode() throws Exception {
+        return objectMapper.readValue(json, ChatMessage.class);
+    }
+
+    @Benchmark
+    public byte[] noticeJsonEncode() throws Exception {
+        return objectMapper.writeValueAsBytes(enterNotice);
+    }
+
+    @Benchmark
+    public byte[] noticeTemplateEncode() {
+        return SystemFrameEncoder.tryEncode(enterNotice);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return BinaryChatCodec.encode(message);
+    }
+
+    @Benchmark
+    public ChatMessage binaryDecode() {
+        return BinaryChatCodec.decode(ByteBuffer.wrap(binary));
+    }
+}
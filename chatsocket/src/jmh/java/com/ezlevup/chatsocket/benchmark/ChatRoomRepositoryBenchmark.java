@@ -0,0 +1,64 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import com.ezlevup.chatsocket.model.ChatRoom;
+import com.ezlevup.chatsocket.model.ChatRoomRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 여러 스레드가 같은 저장소에서 방을 조회/생성할 때의 경합 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class ChatRoomRepositoryBenchmark {
+
+    // 적을수록 같은 방에 요청이 몰린다
+    @Param({"16", "10000"})
+    public int roomCount;
+
+    private ChatRoomRepository repository;
+    private String[] roomIds;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        repository = new ChatRoomRepository();
+        roomIds = new String[roomCount];
+        for (int i = 0; i < roomCount; i++) {
+            roomIds[i] = UUID.randomUUID().toString();
+            repository.getOrCreateRoom(roomIds[i], null);
+        }
+    }
+
+    @Benchmark
+    public Optional<ChatRoom> findRoomById() {
+        return repository.findRoomById(randomRoomId());
+    }
+
+    @Benchmark
+    public ChatRoom getOrCreateRoom() {
+        return repository.getOrCreateRoom(randomRoomId(), null);
+    }
+
+    private String randomRoomId() {
+        return roomIds[ThreadLocalRandom.current().nextInt(roomIds.length)];
+    }
+}
@@ -0,0 +1,139 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.config.PerformanceConfig;
+import com.ezlevup.chatsocket.handler.BroadcastEngine;
+import com.ezlevup.chatsocket.handler.SessionRegistry;
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.ChatRoom;
+import com.ezlevup.chatsocket.model.MessageType;
+import com.ezlevup.chatsocket.performance.StubWebSocketSession;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 메시지 합치기 모드별로 초당 1000개 속도의 메시지 200개가 방 전체에 전달되기까지의 시간
+// 프레임 수와 전달 지연(평균 / p99)은 반복마다 출력한다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CoalescingBenchmark {
+
+    private static final String ROOM_ID = "bench-room";
+    private static final int MESSAGE_COUNT = 200;
+    // 초당 1000개 속도로 방에 메시지를 보낸다
+    private static final long SEND_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    // 프레임마다 드는 고정 비용 (시스템 콜, 헤더, 세션 잠금)을 흉내내는 전송 지연
+    private static final long FRAME_COST_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final Pattern SENT_AT = Pattern.compile("\"message\":\"(\\d+)\"");
+
+    @Param({"100", "500"})
+    public int members;
+
+    // off: 합치지 않음, queued: 큐에 쌓인 만큼만, 5ms/20ms: 합치기 창
+    @Param({"off", "queued", "5ms", "20ms"})
+    public String coalesceMode;
+
+    private Executor executor;
+    private BroadcastEngine engine;
+    private ChatRoom room;
+    private volatile CountDownLatch delivered;
+    private final AtomicLong frames = new AtomicLong();
+    // 전달 지연 분포 (µs 단위)
+    private final Histogram latency = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(10), 3);
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        executor = new PerformanceConfig().broadcastTaskExecutor(new MockEnvironment());
+        ChatProperties properties = new ChatProperties();
+        properties.getOutbound().setMaxMessages(MESSAGE_COUNT);
+        properties.getOutbound().setCoalesce(!"off".equals(coalesceMode));
+        properties.getOutbound().setCoalesceWindow(switch (coalesceMode) {
+            case "5ms" -> Duration.ofMillis(5);
+            case "20ms" -> Duration.ofMillis(20);
+            default -> Duration.ZERO;
+        });
+        engine = new BroadcastEngine(executor, properties, new SessionRegistry(properties));
+
+        room = ChatRoom.builder().roomId(ROOM_ID).name("Bench Room").build();
+        for (int i = 0; i < members; i++) {
+            StubWebSocketSession session = new StubWebSocketSession("s" + i, FRAME_COST_NANOS, this::record);
+            room.addSession(session);
+            engine.register(session);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStats() {
+        frames.set(0);
+        latency.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStats() {
+        long deliveries = (long) members * MESSAGE_COUNT;
+        System.out.printf("%n[%s, %d명] 프레임 %d개 (프레임당 %.1f메시지), 평균 지연 %.1fms, p99 지연 %.1fms%n",
+                coalesceMode, members, frames.get(), deliveries / (double) frames.get(),
+                latency.getMean() / 1000.0, latency.getValueAtPercentile(99) / 1000.0);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        engine.shutdown();
+        if (executor instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+
+    @Benchmark
+    public void broadcastBurst() throws InterruptedException {
+        delivered = new CountDownLatch(members * MESSAGE_COUNT);
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            engine.broadcast(room, new ChatMessage(MessageType.TALK, ROOM_ID, "bench",
+                    String.valueOf(System.nanoTime())), null);
+            LockSupport.parkNanos(SEND_INTERVAL_NANOS);
+        }
+        if (!delivered.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("모든 메시지가 전달되지 않았습니다: " + delivered.getCount());
+        }
+    }
+
+    // 합쳐진 프레임에는 메시지가 여러 개 들어 있으므로 발신 시각을 모두 찾아 기록한다
+    private void record(WebSocketMessage<?> message) {
+        long now = System.nanoTime();
+        frames.incrementAndGet();
+        Matcher matcher = SENT_AT.matcher(message.getPayload().toString());
+        while (matcher.find()) {
+            latency.recordValue(Math.min((now - Long.parseLong(matcher.group(1))) / 1000, latency.getHighestTrackableValue()));
+            delivered.countDown();
+        }
+    }
+}
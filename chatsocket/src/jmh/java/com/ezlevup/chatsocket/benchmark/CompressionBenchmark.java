@@ -0,0 +1,166 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.handler.FrameCompressor;
+import com.ezlevup.chatsocket.handler.SystemFrameEncoder;
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+// 방 브로드캐스트 메시지 하나를 members 명에게 보낼 때 압축 방식별 CPU 시간
+// - perConnection*: permessage-deflate 처럼 수신자마다 압축 (context takeover 유지 / 매번 초기화)
+// - shared*: chat.json-deflate.v1 처럼 임계값 이상 프레임을 한 번만 압축해 공유 (사전 없음 / 공유 사전)
+// 전송 바이트 비율(압축 전 대비)은 반복마다 출력한다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+    private static final int MESSAGE_COUNT = 500;
+    private static final String ROOM_ID = "3f2a9c1e-7b4d-4e8a-9f10-2c6d8e4b1a37";
+    private static final String[] PHRASES = {
+            "안녕하세요", "오늘 회의는 3시에 시작합니다.", "자료는 공유 폴더에 올려두었습니다.", "확인했습니다!",
+            "점심 뭐 먹을까요?", "배포는 내일 오전으로 미룰게요.", "ㅋㅋㅋ", "좋아요 👍", "링크 다시 보내주실 수 있나요?",
+            "로그 확인 부탁드려요", "네 알겠습니다", "잠시만요"
+    };
+
+    @Param({"100", "500"})
+    public int members;
+
+    @Param({"perConnectionTakeover", "perConnectionNoTakeover", "shared", "sharedDictionary"})
+    public String compression;
+
+    private byte[][] frames;
+    private int next;
+    private final byte[] buffer = new byte[64 * 1024];
+    private Deflater[] deflaters;
+    private FrameCompressor compressor;
+    private long rawBytes;
+    private long wireBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkSupport.quietLogging();
+        frames = sampleFrames();
+        if (compression.startsWith("perConnection")) {
+            deflaters = new Deflater[members];
+            for (int i = 0; i < members; i++) {
+                deflaters[i] = new Deflater(6, true);
+            }
+        } else {
+            ChatProperties.Compression config = new ChatProperties().getCompression();
+            config.setDictionary("sharedDictionary".equals(compression));
+            compressor = new FrameCompressor(config);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStats() {
+        rawBytes = 0;
+        wireBytes = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStats() {
+        System.out.printf("%n[%s, %d명] 전송 %,dB / 압축 전 %,dB (%.1f%%)%n",
+                compression, members, wireBytes, rawBytes, wireBytes * 100.0 / rawBytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (deflaters != null) {
+            for (Deflater deflater : deflaters) {
+                deflater.end();
+            }
+        }
+        if (compressor != null) {
+            compressor.close();
+        }
+    }
+
+    @Benchmark
+    public long broadcastFrame() {
+        byte[] frame = frames[next];
+        next = (next + 1) % frames.length;
+        long bytes = switch (compression) {
+            case "perConnectionTakeover" -> perConnection(frame, true);
+            case "perConnectionNoTakeover" -> perConnection(frame, false);
+            default -> shared(frame);
+        };
+        rawBytes += (long) frame.length * members;
+        wireBytes += bytes;
+        return bytes;
+    }
+
+    // 수신자마다 압축기를 두고 메시지마다 SYNC_FLUSH (RFC 7692 의 메시지 경계)
+    private long perConnection(byte[] frame, boolean contextTakeover) {
+        long bytes = 0;
+        for (Deflater deflater : deflaters) {
+            if (!contextTakeover) {
+                deflater.reset();
+            }
+            deflater.setInput(frame);
+            int length;
+            do {
+                length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                bytes += length;
+            } while (length == buffer.length);
+            // 메시지 끝의 00 00 FF FF 4바이트는 전송하지 않는다
+            bytes -= 4;
+        }
+        return bytes;
+    }
+
+    private long shared(byte[] frame) {
+        byte[] compressed = compressor.compress(frame);
+        return (long) (compressed != null ? compressed.length : frame.length) * members;
+    }
+
+    // 짧은 대화, 여러 문장을 이어 붙인 긴 대화, 입장/퇴장 알림이 섞인 채팅 트래픽
+    private static byte[][] sampleFrames() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        Random random = new Random(7);
+        List<byte[]> frames = new ArrayList<>(MESSAGE_COUNT);
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            String sender = "user" + random.nextInt(50);
+            ChatMessage message;
+            int kind = random.nextInt(20);
+            if (kind == 0) {
+                message = SystemFrameEncoder.enterNotice(ROOM_ID, sender);
+            } else if (kind == 1) {
+                message = SystemFrameEncoder.quitNotice(ROOM_ID, sender);
+            } else {
+                StringBuilder text = new StringBuilder(PHRASES[random.nextInt(PHRASES.length)]);
+                for (int words = random.nextInt(4); words > 0; words--) {
+                    text.append(' ').append(PHRASES[random.nextInt(PHRASES.length)]);
+                }
+                message = new ChatMessage(MessageType.TALK, ROOM_ID, sender, text.toString());
+            }
+            message.setSequence(100_000L + i);
+            frames.add(objectMapper.writeValueAsBytes(message));
+        }
+        return frames.toArray(byte[][]::new);
+    }
+}
@@ -0,0 +1,57 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import com.ezlevup.chatsocket.model.ChatRoomRepository;
+import com.ezlevup.chatsocket.performance.StubWebSocketSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// 방 10만 개에서 빈 방 정리 한 번에 걸리는 시간 (매 호출 전에 방을 다시 채운다)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DeleteEmptyRoomsBenchmark {
+
+    private static final int ROOM_COUNT = 100_000;
+
+    // 참여자가 있어 남아야 하는 방의 비율
+    @Param({"0", "50"})
+    public int occupiedPercent;
+
+    private ChatRoomRepository repository;
+
+    @Setup(Level.Invocation)
+    public void fillRooms() {
+        BenchmarkSupport.quietLogging();
+        repository = new ChatRoomRepository();
+        StubWebSocketSession member = new StubWebSocketSession("member", 0, message -> { });
+        for (int i = 0; i < ROOM_COUNT; i++) {
+            String roomId = String.format("room-%08d", i);
+            if (i % 100 < occupiedPercent) {
+                repository.getOrCreateRoom(roomId, null).addSession(member);
+            } else {
+                repository.getOrCreateRoom(roomId, null);
+            }
+        }
+    }
+
+    @Benchmark
+    public int deleteEmptyRooms() {
+        repository.deleteEmptyRooms();
+        return repository.getTotalRoomCount();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.config.PerformanceConfig;
+import com.ezlevup.chatsocket.handler.BroadcastEngine;
+import com.ezlevup.chatsocket.handler.SessionRegistry;
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.ChatRoom;
+import com.ezlevup.chatsocket.model.MessageType;
+import com.ezlevup.chatsocket.performance.StubWebSocketSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+// 송신 실행기 모드(플랫폼 스레드 풀 / 가상 스레드)별로 브로드캐스트 하나가 모든 세션에 전달되기까지의 시간
+// 세션마다 1ms 블로킹 쓰기를 흉내내므로 동시에 쓰기를 기다릴 수 있는 스레드 수가 결과를 좌우한다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final String ROOM_ID = "bench-room";
+    // 블로킹 소켓 쓰기를 흉내내는 세션당 전송 지연
+    private static final long SEND_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Param({"1000", "5000", "10000"})
+    public int sessions;
+
+    @Param({"platform", "virtual"})
+    public String executionMode;
+
+    private Executor executor;
+    private BroadcastEngine engine;
+    private ChatRoom room;
+    private volatile CountDownLatch delivered;
+    private int sequence;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", String.valueOf("virtual".equals(executionMode)));
+        executor = new PerformanceConfig().broadcastTaskExecutor(environment);
+
+        ChatProperties properties = new ChatProperties();
+        engine = new BroadcastEngine(executor, properties, new SessionRegistry(properties));
+        room = ChatRoom.builder().roomId(ROOM_ID).name("Bench Room").build();
+        for (int i = 0; i < sessions; i++) {
+            StubWebSocketSession session = new StubWebSocketSession("s" + i, SEND_DELAY_NANOS, message -> delivered.countDown());
+            room.addSession(session);
+            engine.register(session);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (executor instanceof DisposableBean disposable) {
+            disposable.destroy();
+        } else if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Benchmark
+    public void broadcastUntilDelivered() throws InterruptedException {
+        delivered = new CountDownLatch(sessions);
+        engine.broadcast(room, new ChatMessage(MessageType.TALK, ROOM_ID, "bench", "메시지 " + sequence++), null);
+        if (!delivered.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("모든 세션에 전달되지 않았습니다: " + delivered.getCount());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.model.ChatRoomRepository;
+import com.ezlevup.chatsocket.performance.StubWebSocketSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// 방 10만 개 중 일부만 비워졌을 때 만료 처리 한 번에 걸리는 시간 (DeleteEmptyRoomsBenchmark 의 전체 순회와 비교)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ExpireEmptyRoomsBenchmark {
+
+    private static final int ROOM_COUNT = 100_000;
+    private static final Duration GRACE_PERIOD = Duration.ofSeconds(60);
+
+    // 직전 틱 이후 마지막 참여자가 나간 방의 비율
+    @Param({"1", "50"})
+    public int emptiedPercent;
+
+    private ChatRoomRepository repository;
+    private long expiryCheckMillis;
+
+    @Setup(Level.Invocation)
+    public void fillRooms() {
+        BenchmarkSupport.quietLogging();
+        ChatProperties properties = new ChatProperties();
+        properties.getRoom().setEmptyGracePeriod(GRACE_PERIOD);
+        repository = new ChatRoomRepository(properties);
+        StubWebSocketSession member = new StubWebSocketSession("member", 0, message -> { });
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < ROOM_COUNT; i++) {
+            repository.joinRoom(String.format("room-%08d", i), null, member, Integer.MAX_VALUE);
+        }
+        // 방 생성 시 예약된 만료는 참여자가 있으므로 그냥 지나간다 (정상 운영에서 생성 후 유예 시간이 지난 상태)
+        repository.expireEmptyRooms(start + GRACE_PERIOD.toMillis() + 1000);
+        for (int i = 0; i < ROOM_COUNT; i++) {
+            if (i % 100 < emptiedPercent) {
+                repository.leaveRoom(String.format("room-%08d", i), member);
+            }
+        }
+        expiryCheckMillis = System.currentTimeMillis() + GRACE_PERIOD.toMillis() + 1000;
+    }
+
+    @Benchmark
+    public int expireEmptyRooms() {
+        return repository.expireEmptyRooms(expiryCheckMillis);
+    }
+}
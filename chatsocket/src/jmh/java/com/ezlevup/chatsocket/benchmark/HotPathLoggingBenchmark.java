@@ -0,0 +1,106 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import com.ezlevup.chatsocket.config.AsyncLogging;
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.handler.ChatWebSocketHandler;
+import com.ezlevup.chatsocket.handler.HotPathLogMode;
+import com.ezlevup.chatsocket.performance.StubWebSocketSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.concurrent.TimeUnit;
+
+// 로그 모드(FULL/SAMPLED/OFF)와 비동기 appender 사용 여부에 따른 TALK 브로드캐스트 비용
+// 콘솔 대신 target/ 아래 파일에 INFO 레벨로 기록해 실제 운영과 비슷한 쓰기 비용을 포함한다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotPathLoggingBenchmark {
+
+    private static final String ROOM_ID = "bench-room";
+
+    @Param({"FULL", "SAMPLED", "OFF"})
+    public HotPathLogMode mode;
+
+    @Param({"false", "true"})
+    public boolean async;
+
+    @Param({"10", "500"})
+    public int members;
+
+    private ChatWebSocketHandler handler;
+    private StubWebSocketSession sender;
+    private TextMessage talk;
+    private Blackhole blackhole;
+    private FileAppender<ILoggingEvent> fileAppender;
+    private AsyncLogging asyncLogging;
+
+    @Setup
+    public void setUp(Blackhole blackhole) throws Exception {
+        this.blackhole = blackhole;
+        installFileLogging();
+
+        ChatProperties properties = new ChatProperties();
+        properties.getLogging().setHotPath(mode);
+        properties.getLogging().setAsync(async);
+        asyncLogging = new AsyncLogging(properties.getLogging()).install();
+
+        handler = BenchmarkSupport.newHandler(properties);
+        sender = BenchmarkSupport.joinRoom(handler, ROOM_ID, members, message -> this.blackhole.consume(message)).get(0);
+        talk = BenchmarkSupport.talkFrame(ROOM_ID);
+    }
+
+    @TearDown
+    public void tearDown() {
+        asyncLogging.close();
+        fileAppender.stop();
+    }
+
+    @Benchmark
+    public void broadcastToRoom() throws Exception {
+        handler.handleMessage(sender, talk);
+    }
+
+    private void installFileLogging() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(Level.INFO);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+
+        fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setName("BENCH_FILE");
+        fileAppender.setFile("target/jmh-hot-path.log");
+        fileAppender.setAppend(false);
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+        root.addAppender(fileAppender);
+    }
+}
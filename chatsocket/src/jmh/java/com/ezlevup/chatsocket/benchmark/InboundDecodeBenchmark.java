@@ -0,0 +1,57 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import com.ezlevup.chatsocket.handler.JsonChatDecoder;
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// 수신 프레임 디코딩: 기존 경로(PING 문자열 검색 + ObjectMapper 바인딩)와 스트리밍 디코더 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InboundDecodeBenchmark {
+
+    @Param({"TALK", "ENTER", "PING"})
+    public String frame;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        payload = switch (frame) {
+            case "TALK" -> "{\"type\":\"TALK\",\"roomId\":\"3f2a9c1e-7b4d-4e8a-9f10-2c6d8e4b1a37\",\"sender\":\"사용자123\",\"message\":\"안녕하세요, 오늘 회의는 3시에 시작합니다.\"}";
+            case "ENTER" -> "{\"type\":\"ENTER\",\"roomId\":\"3f2a9c1e-7b4d-4e8a-9f10-2c6d8e4b1a37\",\"sender\":\"사용자123\",\"message\":null,\"lastSequence\":1024}";
+            default -> "{\"type\":\"PING\"}";
+        };
+    }
+
+    @Benchmark
+    public ChatMessage objectMapper() throws Exception {
+        if (payload.contains("\"type\":\"PING\"")) {
+            return null;
+        }
+        return objectMapper.readValue(payload, ChatMessage.class);
+    }
+
+    @Benchmark
+    public ChatMessage streaming() throws Exception {
+        return JsonChatDecoder.decode(payload);
+    }
+}
@@ -0,0 +1,113 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import com.ezlevup.chatsocket.ChatsocketApplication;
+import com.ezlevup.chatsocket.performance.LoadGenerator;
+import com.ezlevup.chatsocket.performance.LoadProfile;
+import com.ezlevup.chatsocket.performance.LoadReport;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// 내장 서버에 가상 스레드 클라이언트 1만 개로 부하 시나리오를 한 번 실행하고 결과를 target/loadgen/*.json 에 남긴다
+// 점수는 시나리오 전체 시간이고, 접속/전달/오류 건수는 보조 카운터로, 전달 지연 백분위는 결과 파일과 출력으로 본다
+// 시나리오는 -jvmArgsAppend "-Dloadgen.duration=PT60S -Dloadgen.think-time=PT0.5S" 처럼 바꿀 수 있다 (loadgen.url 은 무시)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class LoadGeneratorBenchmark {
+
+    @Param({"10000"})
+    public int clients;
+
+    @Param({"200"})
+    public int rooms;
+
+    @Param({"uniform", "zipf"})
+    public String roomDistribution;
+
+    private ConfigurableApplicationContext context;
+    private LoadProfile profile;
+
+    // 시나리오 결과 건수 (반복마다 한 번 기록)
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long connected;
+        public long delivered;
+        public long clientErrors;
+        public long serverErrors;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            connected = 0;
+            delivered = 0;
+            clientErrors = 0;
+            serverErrors = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        // properties() 는 기본값이라 application.properties 에 밀리므로 명령행 인자로 덮어쓴다
+        context = new SpringApplicationBuilder(ChatsocketApplication.class)
+                .run("--server.port=0", "--logging.level.com.ezlevup.chatsocket=WARN");
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        LoadProfile defaults = LoadProfile.builder()
+                .name("local-" + roomDistribution)
+                .clients(clients)
+                .rooms(rooms)
+                .roomDistribution(LoadProfile.RoomDistribution.valueOf(roomDistribution.toUpperCase(Locale.ROOT)))
+                .rampUp(Duration.ofSeconds(20))
+                .duration(Duration.ofSeconds(30))
+                .build();
+        profile = LoadProfile.fromProperties(System.getProperties(), defaults.toBuilder())
+                .toBuilder()
+                .uri(URI.create("ws://localhost:" + port + "/ws/chat"))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void runLoadProfile(Counters counters) throws Exception {
+        LoadReport report = new LoadGenerator(profile).run();
+        Path file = report.writeTo(profile.getReportDirectory());
+        System.out.println();
+        System.out.println(report.summary());
+        System.out.println("- 결과 파일: " + file.toAbsolutePath());
+
+        counters.connected = report.getConnected();
+        counters.delivered = report.getDelivered();
+        counters.clientErrors = report.getClientErrors();
+        counters.serverErrors = report.getServerErrors();
+        if (report.getConnected() == 0 || report.getDelivered() == 0) {
+            throw new IllegalStateException("접속에 성공한 클라이언트나 측정 구간에 전달된 메시지가 없습니다.");
+        }
+    }
+}
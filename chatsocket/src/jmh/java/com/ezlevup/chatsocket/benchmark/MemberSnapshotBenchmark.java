@@ -0,0 +1,109 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import com.ezlevup.chatsocket.model.ChatRoom;
+import com.ezlevup.chatsocket.performance.StubWebSocketSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// 브로드캐스트의 참여자 순회 비용: 입장/퇴장 때 교체하는 불변 스냅샷 리스트(snapshot)와
+// 이전 구현인 동기화 세트의 읽기 전용 뷰(synchronizedSet) 비교
+// 발신 스레드 3개가 순회하는 동안 참여자 변경 스레드 1개가 churnIntervalMicros 마다 퇴장/입장을 반복한다
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemberSnapshotBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int members;
+
+    // 퇴장+입장 한 쌍 사이의 간격 (0 이면 참여자를 바꾸지 않음)
+    @Param({"0", "1000", "10"})
+    public long churnIntervalMicros;
+
+    @Param({"snapshot", "synchronizedSet"})
+    public String membership;
+
+    private ChatRoom room;
+    private Set<WebSocketSession> legacySessions;
+    private boolean snapshot;
+    private WebSocketSession churnSession;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        snapshot = "snapshot".equals(membership);
+        room = ChatRoom.builder().roomId("bench-room").name("Bench Room").build();
+        legacySessions = Collections.synchronizedSet(ConcurrentHashMap.newKeySet());
+        for (int i = 0; i < members; i++) {
+            StubWebSocketSession session = new StubWebSocketSession("s" + i, 0, message -> { });
+            room.addSession(session);
+            legacySessions.add(session);
+        }
+        churnSession = new StubWebSocketSession("churn", 0, message -> { });
+    }
+
+    // BroadcastEngine.broadcast 와 같이 참여자마다 열린 세션인지 확인한다
+    @Benchmark
+    @Group("broadcast")
+    @GroupThreads(3)
+    public int iterateMembers() {
+        int open = 0;
+        if (snapshot) {
+            // BroadcastEngine 과 같이 인덱스로 순회한다
+            List<WebSocketSession> members = room.getMembers();
+            for (int i = 0, size = members.size(); i < size; i++) {
+                if (members.get(i).isOpen()) {
+                    open++;
+                }
+            }
+        } else {
+            for (WebSocketSession session : Collections.unmodifiableSet(legacySessions)) {
+                if (session.isOpen()) {
+                    open++;
+                }
+            }
+        }
+        return open;
+    }
+
+    @Benchmark
+    @Group("broadcast")
+    @GroupThreads(1)
+    public void joinAndLeave() {
+        if (churnIntervalMicros == 0) {
+            // 변경 없음: 측정 스레드 자리만 차지하고 CPU 는 쓰지 않는다
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            return;
+        }
+        if (snapshot) {
+            room.addSession(churnSession);
+            room.removeSession(churnSession);
+        } else {
+            legacySessions.add(churnSession);
+            legacySessions.remove(churnSession);
+        }
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(churnIntervalMicros));
+    }
+}
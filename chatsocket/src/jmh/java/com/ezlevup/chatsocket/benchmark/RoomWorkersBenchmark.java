@@ -0,0 +1,150 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.handler.BroadcastEngine;
+import com.ezlevup.chatsocket.handler.RoomWorkers;
+import com.ezlevup.chatsocket.handler.SessionRegistry;
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.ChatRoom;
+import com.ezlevup.chatsocket.model.MessageType;
+import com.ezlevup.chatsocket.performance.StubWebSocketSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 소수의 인기 방에 발신 스레드 16개가 동시에 메시지 3만 2천 개를 보낼 때 모두 전달되기까지의 시간
+// 수신 스레드에서 바로 처리(워커 0)와 방 워커(단일 작성자) 처리를 비교하고, 수신자별 순번 역전 횟수는 반복마다 출력한다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RoomWorkersBenchmark {
+
+    private static final int ROOMS = 4;
+    private static final int MEMBERS_PER_ROOM = 200;
+    private static final int PRODUCERS = 16;
+    private static final int MESSAGES_PER_PRODUCER = 2000;
+
+    // 0 이면 발신 스레드에서 바로 순번 부여와 브로드캐스트
+    @Param({"0", "1", "4"})
+    public int workers;
+
+    private RoomWorkers roomWorkers;
+    private BroadcastEngine engine;
+    private final List<ChatRoom> rooms = new ArrayList<>();
+    private final AtomicLong reordered = new AtomicLong();
+    private volatile CountDownLatch delivered;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        ChatProperties properties = new ChatProperties();
+        properties.getRoom().setWorkers(workers);
+        // 수신자 대기열이 넘쳐 버려지는 메시지가 비교에 섞이지 않도록 한다
+        properties.getOutbound().setMaxMessages(PRODUCERS * MESSAGES_PER_PRODUCER);
+        properties.getOutbound().setMaxBytes(Long.MAX_VALUE);
+        roomWorkers = new RoomWorkers(properties);
+        engine = new BroadcastEngine(Runnable::run, properties, new SessionRegistry(properties));
+
+        for (int r = 0; r < ROOMS; r++) {
+            ChatRoom room = ChatRoom.builder().roomId("hot-room-" + r).name("Hot " + r).build();
+            for (int m = 0; m < MEMBERS_PER_ROOM; m++) {
+                long[] lastSequence = new long[1];
+                StubWebSocketSession session = new StubWebSocketSession(room.getRoomId() + "-s" + m, 0, message -> {
+                    // 세션별 송신은 한 번에 하나의 drain 작업만 실행하므로 동기화 없이 기록한다
+                    long sequence = sequenceOf(message);
+                    if (sequence < lastSequence[0]) {
+                        reordered.incrementAndGet();
+                    }
+                    lastSequence[0] = Math.max(lastSequence[0], sequence);
+                    delivered.countDown();
+                });
+                room.addSession(session);
+                engine.register(session);
+            }
+            rooms.add(room);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStats() {
+        reordered.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkOrdering() {
+        System.out.printf("%n[방 워커 %d개] 순번 역전 %d건%n", workers, reordered.get());
+        if (workers > 0 && reordered.get() > 0) {
+            throw new IllegalStateException("방 워커를 쓰면 수신자별 순번이 역전되지 않아야 합니다: " + reordered.get());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        roomWorkers.shutdown();
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public void concurrentTalk() throws InterruptedException {
+        delivered = new CountDownLatch(PRODUCERS * MESSAGES_PER_PRODUCER * MEMBERS_PER_ROOM);
+        List<Thread> producers = new ArrayList<>(PRODUCERS);
+        for (int p = 0; p < PRODUCERS; p++) {
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < MESSAGES_PER_PRODUCER; i++) {
+                    ChatRoom room = rooms.get(ThreadLocalRandom.current().nextInt(ROOMS));
+                    ChatMessage message = new ChatMessage(MessageType.TALK, room.getRoomId(), "bench", "메시지 " + i);
+                    // ChatWebSocketHandler.deliverToRoom 과 같은 순서: 순번 부여 후 송신 대기열 등록
+                    roomWorkers.execute(room.getRoomId(), () -> {
+                        message.setSequence(room.nextSequence());
+                        engine.broadcast(room, message, null);
+                    });
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        if (!delivered.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("모든 메시지가 전달되지 않았습니다: " + delivered.getCount());
+        }
+    }
+
+    private static long sequenceOf(WebSocketMessage<?> message) {
+        String payload = message instanceof TextMessage text
+                ? new String(text.asBytes(), StandardCharsets.UTF_8)
+                : String.valueOf(message.getPayload());
+        int index = payload.indexOf("\"sequence\":");
+        if (index < 0) {
+            return 0;
+        }
+        int start = index + "\"sequence\":".length();
+        int end = start;
+        while (end < payload.length() && Character.isDigit(payload.charAt(end))) {
+            end++;
+        }
+        return Long.parseLong(payload.substring(start, end));
+    }
+}
@@ -0,0 +1,149 @@
+package com.ezlevup.chatsocket.benchmark;
+
+import com.ezlevup.chatsocket.ChatsocketApplication;
+import com.ezlevup.chatsocket.performance.LoadGenerator;
+import com.ezlevup.chatsocket.performance.LoadProfile;
+import com.ezlevup.chatsocket.performance.LoadReport;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 서블릿(Tomcat)과 reactive 프로필(Reactor Netty) 전송을 같은 부하 시나리오로 띄워 비교한다
+// 지연/처리량은 LoadReport 로, 연결 유지 비용은 실행 중 최대 플랫폼 스레드 수와 연결당 힙 증가량(보조 카운터)으로 본다
+// (부하 생성기는 가상 스레드를 쓰므로 플랫폼 스레드 수에는 거의 서버 쪽 스레드만 잡힌다)
+// 시나리오는 -jvmArgsAppend "-Dloadgen.duration=PT60S" 처럼 바꿀 수 있다 (loadgen.url/clients 는 무시)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class TransportBenchmark {
+
+    @Param({"servlet", "reactive"})
+    public String transport;
+
+    @Param({"5000", "20000"})
+    public int clients;
+
+    private ConfigurableApplicationContext context;
+    private LoadProfile profile;
+
+    // 시나리오 결과 건수와 연결 유지 비용 (반복마다 한 번 기록)
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long connected;
+        public long delivered;
+        public long clientErrors;
+        public long serverErrors;
+        public long peakPlatformThreads;
+        public long heapKbPerConnection;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            connected = 0;
+            delivered = 0;
+            clientErrors = 0;
+            serverErrors = 0;
+            peakPlatformThreads = 0;
+            heapKbPerConnection = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        // properties() 는 기본값이라 application.properties 에 밀리므로 명령행 인자로 덮어쓴다
+        context = new SpringApplicationBuilder(ChatsocketApplication.class)
+                .profiles("reactive".equals(transport) ? new String[]{"reactive"} : new String[0])
+                .run("--server.port=0",
+                        "--logging.level.com.ezlevup.chatsocket=WARN",
+                        "--chat.session.max-sessions=" + (clients * 2),
+                        "--chat.session.max-sessions-per-room=" + clients,
+                        "--chat.rate-limit.enabled=false");
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        LoadProfile defaults = LoadProfile.builder()
+                .name("transport-" + transport + "-" + clients)
+                .rooms(200)
+                .rampUp(Duration.ofSeconds(20))
+                .duration(Duration.ofSeconds(30))
+                .build();
+        profile = LoadProfile.fromProperties(System.getProperties(), defaults.toBuilder())
+                .toBuilder()
+                .name(defaults.getName())
+                .clients(clients)
+                .uri(URI.create("ws://localhost:" + port + "/ws/chat"))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void runLoadProfile(Counters counters) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baselineThreads = threads.getThreadCount();
+        long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peakThreads = new AtomicLong(baselineThreads);
+        AtomicLong peakHeap = new AtomicLong(baselineHeap);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        LoadReport report;
+        try {
+            sampler.scheduleAtFixedRate(() -> {
+                peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            }, 0, 200, TimeUnit.MILLISECONDS);
+            report = new LoadGenerator(profile).run();
+        } finally {
+            sampler.shutdownNow();
+        }
+
+        Path file = report.writeTo(profile.getReportDirectory());
+        int connected = Math.max(1, report.getConnected());
+        System.out.println();
+        System.out.printf("[%s] 플랫폼 스레드 %d -> 최대 %d, 힙 %.1fMB -> 최대 %.1fMB (연결당 %.1fKB)%n",
+                transport, baselineThreads, peakThreads.get(), baselineHeap / 1048576.0, peakHeap.get() / 1048576.0,
+                Math.max(0, peakHeap.get() - baselineHeap) / 1024.0 / connected);
+        System.out.println(report.summary());
+        System.out.println("- 결과 파일: " + file.toAbsolutePath());
+
+        counters.connected = report.getConnected();
+        counters.delivered = report.getDelivered();
+        counters.clientErrors = report.getClientErrors();
+        counters.serverErrors = report.getServerErrors();
+        counters.peakPlatformThreads = peakThreads.get();
+        counters.heapKbPerConnection = Math.max(0, peakHeap.get() - baselineHeap) / 1024 / connected;
+        if (report.getDelivered() == 0) {
+            throw new IllegalStateException(transport + " 전송으로 전달된 메시지가 없습니다.");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ezlevup.chatsocket.cluster;
+
+// 노드 간 방 메시지 중계. 각 노드는 로컬 참여자가 있는 방만 구독하고,
+// 발행된 메시지는 그 방을 구독한 다른 노드에만 전달된다 (관심 기반 라우팅)
+public interface Backplane {
+
+    String getNodeId();
+
+    void start(BackplaneListener listener);
+
+    void subscribe(String roomId);
+
+    void unsubscribe(String roomId);
+
+    // 이 방을 구독한 다른 노드가 있는지 (없으면 직렬화와 발행을 생략할 수 있다)
+    boolean hasRemoteInterest(String roomId);
+
+    void publish(String roomId, byte[] payload);
+
+    void close();
+}
@@ -0,0 +1,8 @@
+package com.ezlevup.chatsocket.cluster;
+
+@FunctionalInterface
+public interface BackplaneListener {
+
+    // 다른 노드에서 발행된 방 메시지 (순번이 부여되기 전의 JSON 바이트)
+    void onMessage(String roomId, byte[] payload);
+}
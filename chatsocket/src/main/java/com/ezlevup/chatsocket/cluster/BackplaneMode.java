@@ -0,0 +1,8 @@
+package com.ezlevup.chatsocket.cluster;
+
+public enum BackplaneMode {
+    // 같은 JVM 안에서만 전달 (단일 노드 기본값)
+    LOOPBACK,
+    // 설정된 노드들과 TCP 로 직접 연결
+    TCP
+}
@@ -0,0 +1,86 @@
+package com.ezlevup.chatsocket.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// 같은 Hub 에 연결된 노드끼리 프로세스 안에서 메시지를 전달한다
+// 단일 노드 배포에서는 다른 노드가 없으므로 발행 비용이 들지 않는다
+public class LoopbackBackplane implements Backplane {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoopbackBackplane.class);
+
+    private final String nodeId;
+    private final Hub hub;
+    private final Set<String> interests = ConcurrentHashMap.newKeySet();
+    private volatile BackplaneListener listener;
+
+    public LoopbackBackplane(String nodeId) {
+        this(nodeId, new Hub());
+    }
+
+    public LoopbackBackplane(String nodeId, Hub hub) {
+        this.nodeId = nodeId;
+        this.hub = hub;
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void start(BackplaneListener listener) {
+        this.listener = listener;
+        hub.nodes.addIfAbsent(this);
+        logger.info("백플레인 시작 (loopback) - 노드 ID: {}", nodeId);
+    }
+
+    @Override
+    public void subscribe(String roomId) {
+        interests.add(roomId);
+    }
+
+    @Override
+    public void unsubscribe(String roomId) {
+        interests.remove(roomId);
+    }
+
+    @Override
+    public boolean hasRemoteInterest(String roomId) {
+        for (LoopbackBackplane node : hub.nodes) {
+            if (node != this && node.interests.contains(roomId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void publish(String roomId, byte[] payload) {
+        for (LoopbackBackplane node : hub.nodes) {
+            BackplaneListener target = node.listener;
+            if (node != this && target != null && node.interests.contains(roomId)) {
+                try {
+                    target.onMessage(roomId, payload);
+                } catch (RuntimeException e) {
+                    logger.error("백플레인 전달 실패 - 노드 ID: {}, 방: {}, 오류: {}", node.nodeId, roomId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        hub.nodes.remove(this);
+        listener = null;
+    }
+
+    // 같은 JVM 에서 여러 노드를 묶는 단위 (테스트에서 다중 노드를 구성할 때 공유)
+    public static class Hub {
+        private final CopyOnWriteArrayList<LoopbackBackplane> nodes = new CopyOnWriteArrayList<>();
+    }
+}
@@ -0,0 +1,450 @@
+package com.ezlevup.chatsocket.cluster;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+// 노드끼리 TCP 로 직접 연결하는 풀 메시 백플레인
+// - 각 노드는 설정된 모든 피어에 송신 연결을 하나씩 맺고, 구독 변경과 메시지를 그 연결로만 보낸다
+// - 수신 연결로는 상대 노드의 구독 목록과 메시지를 받는다 (연결이 끊기면 그 노드의 구독은 폐기)
+// - 연결 직후 HELLO 를 주고받으며 공유 비밀의 HMAC 으로 서로를 인증한다
+//   송신 측 [HELLO][노드 ID][nonce] -> 수신 측 [HELLO][노드 ID][nonce][증명] -> 송신 측 [증명]
+// 프레임 형식: [type byte][UTF 문자열(노드 ID 또는 방 ID)] (+ PUBLISH 는 [길이 int][payload])
+public class TcpMeshBackplane implements Backplane {
+
+    private static final Logger logger = LoggerFactory.getLogger(TcpMeshBackplane.class);
+
+    static final byte HELLO = 1;
+    static final byte SUBSCRIBE = 2;
+    static final byte UNSUBSCRIBE = 3;
+    static final byte PUBLISH = 4;
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 3000;
+    private static final int NONCE_LENGTH = 16;
+    private static final int PROOF_LENGTH = 32;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final ChatProperties.Cluster config;
+    private final String nodeId;
+    private final Set<String> localInterests = ConcurrentHashMap.newKeySet();
+    // 피어 주소(host:port) -> 송신 연결
+    private final ConcurrentHashMap<String, PeerLink> peerLinks = new ConcurrentHashMap<>();
+    // 노드 ID -> 수신 연결 (상대 노드의 구독 목록 포함)
+    private final ConcurrentHashMap<String, InboundPeer> inboundPeers = new ConcurrentHashMap<>();
+    private final Set<Socket> inboundSockets = ConcurrentHashMap.newKeySet();
+    // 수신 연결마다 스레드를 쓰므로 동시에 받을 연결 수를 제한한다
+    private final Semaphore inboundPermits;
+    private final int maxFrameBytes;
+    private final byte[] sharedSecret;
+    private final SecureRandom random = new SecureRandom();
+    private volatile BackplaneListener listener;
+    private volatile boolean running;
+    private ServerSocket serverSocket;
+
+    public TcpMeshBackplane(ChatProperties.Cluster config) {
+        this.config = config;
+        this.nodeId = config.getNodeId();
+        this.inboundPermits = new Semaphore(Math.max(1, config.getMaxInboundConnections()));
+        this.maxFrameBytes = (int) Math.min(Integer.MAX_VALUE, config.getMaxFrameSize().toBytes());
+        this.sharedSecret = config.getSharedSecret() == null
+                ? new byte[0] : config.getSharedSecret().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int getLocalPort() {
+        return serverSocket != null ? serverSocket.getLocalPort() : -1;
+    }
+
+    @Override
+    public void start(BackplaneListener listener) {
+        this.listener = listener;
+        try {
+            InetAddress bindAddress = InetAddress.getByName(config.getBindHost());
+            // 인증 없이 외부에서 접속할 수 있으면 누구나 구독 목록과 메시지를 주고받을 수 있다
+            if (sharedSecret.length == 0 && !bindAddress.isLoopbackAddress()) {
+                throw new IllegalStateException("chat.cluster.shared-secret 없이 루프백이 아닌 주소에 바인딩할 수 없습니다: "
+                        + config.getBindHost());
+            }
+            serverSocket = new ServerSocket();
+            serverSocket.setReuseAddress(true);
+            serverSocket.bind(new InetSocketAddress(bindAddress, config.getPort()));
+        } catch (IOException e) {
+            throw new IllegalStateException("백플레인 포트 바인딩 실패: " + config.getBindHost() + ":" + config.getPort(), e);
+        }
+        running = true;
+
+        Thread acceptThread = new Thread(this::acceptLoop, "backplane-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+
+        for (String peer : config.getPeers()) {
+            if (!peer.isBlank()) {
+                addPeer(peer);
+            }
+        }
+        logger.info("백플레인 시작 (tcp) - 노드 ID: {}, 포트: {}, 피어: {}", nodeId, getLocalPort(), config.getPeers());
+    }
+
+    public void addPeer(String address) {
+        peerLinks.computeIfAbsent(address.trim(), key -> {
+            PeerLink link = new PeerLink(key);
+            link.start();
+            return link;
+        });
+    }
+
+    @Override
+    public void subscribe(String roomId) {
+        if (localInterests.add(roomId)) {
+            peerLinks.values().forEach(link -> link.send(new Frame(SUBSCRIBE, roomId, null)));
+        }
+    }
+
+    @Override
+    public void unsubscribe(String roomId) {
+        if (localInterests.remove(roomId)) {
+            peerLinks.values().forEach(link -> link.send(new Frame(UNSUBSCRIBE, roomId, null)));
+        }
+    }
+
+    @Override
+    public boolean hasRemoteInterest(String roomId) {
+        for (InboundPeer peer : inboundPeers.values()) {
+            if (peer.interests.contains(roomId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void publish(String roomId, byte[] payload) {
+        Frame frame = null;
+        for (PeerLink link : peerLinks.values()) {
+            InboundPeer peer = link.remoteNodeId != null ? inboundPeers.get(link.remoteNodeId) : null;
+            if (peer != null && peer.interests.contains(roomId)) {
+                if (frame == null) {
+                    frame = new Frame(PUBLISH, roomId, payload);
+                }
+                link.send(frame);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        closeQuietly(serverSocket);
+        peerLinks.values().forEach(PeerLink::close);
+        inboundSockets.forEach(TcpMeshBackplane::closeQuietly);
+        peerLinks.clear();
+        inboundPeers.clear();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                if (!inboundPermits.tryAcquire()) {
+                    logger.warn("백플레인 수신 연결 수 초과 - 거부: {}", socket.getRemoteSocketAddress());
+                    closeQuietly(socket);
+                    continue;
+                }
+                socket.setTcpNoDelay(true);
+                Thread reader = new Thread(() -> {
+                    try {
+                        readInbound(socket);
+                    } finally {
+                        inboundPermits.release();
+                    }
+                }, "backplane-in-" + socket.getRemoteSocketAddress());
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("백플레인 연결 수락 실패: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void readInbound(Socket socket) {
+        inboundSockets.add(socket);
+        String remoteNodeId = null;
+        InboundPeer peer = null;
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+
+            // 인증 전에는 오래 붙잡고 있지 않는다
+            socket.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+            if (in.readByte() != HELLO) {
+                throw new IOException("HELLO 프레임이 아닙니다.");
+            }
+            String helloNodeId = in.readUTF();
+            byte[] remoteNonce = readBytes(in, NONCE_LENGTH);
+            // 송신 측이 상대 노드 ID 를 알고 이 노드를 확인할 수 있도록 응답
+            byte[] nonce = nonce();
+            out.writeByte(HELLO);
+            out.writeUTF(nodeId);
+            out.write(nonce);
+            out.write(proof(remoteNonce, nodeId));
+            out.flush();
+            if (!verify(nonce, helloNodeId, readBytes(in, PROOF_LENGTH))) {
+                throw new IOException("피어 인증 실패: " + socket.getRemoteSocketAddress());
+            }
+            socket.setSoTimeout(0);
+            remoteNodeId = helloNodeId;
+
+            peer = new InboundPeer();
+            inboundPeers.put(remoteNodeId, peer);
+            logger.info("백플레인 피어 연결 수신 - 노드 ID: {}", remoteNodeId);
+
+            while (running) {
+                byte type = in.readByte();
+                String roomId = in.readUTF();
+                switch (type) {
+                    case SUBSCRIBE -> peer.interests.add(roomId);
+                    case UNSUBSCRIBE -> peer.interests.remove(roomId);
+                    case PUBLISH -> {
+                        int length = in.readInt();
+                        // 길이를 믿고 바로 할당하지 않는다 (잘못된 값이면 연결을 끊음)
+                        if (length < 0 || length > maxFrameBytes) {
+                            throw new IOException("프레임 크기 한도 초과: " + length + " bytes");
+                        }
+                        deliver(roomId, readBytes(in, length));
+                    }
+                    default -> throw new IOException("알 수 없는 프레임 타입: " + type);
+                }
+            }
+        } catch (EOFException e) {
+            logger.debug("백플레인 피어 연결 종료 - 노드 ID: {}", remoteNodeId);
+        } catch (IOException e) {
+            if (running) {
+                logger.warn("백플레인 수신 오류 - 노드 ID: {}, 오류: {}", remoteNodeId, e.getMessage());
+            }
+        } finally {
+            inboundSockets.remove(socket);
+            // 재연결로 이미 새 연결이 등록된 경우에는 지우지 않는다
+            if (remoteNodeId != null && peer != null) {
+                inboundPeers.remove(remoteNodeId, peer);
+            }
+        }
+    }
+
+    private void deliver(String roomId, byte[] payload) {
+        BackplaneListener current = listener;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.onMessage(roomId, payload);
+        } catch (RuntimeException e) {
+            logger.error("백플레인 메시지 처리 실패 - 방: {}, 오류: {}", roomId, e.getMessage());
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private byte[] nonce() {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        random.nextBytes(nonce);
+        return nonce;
+    }
+
+    // 상대가 보낸 nonce 와 증명하는 노드의 ID 에 대한 HMAC (공유 비밀이 없으면 빈 값)
+    private byte[] proof(byte[] nonce, String proverNodeId) {
+        if (sharedSecret.length == 0) {
+            return new byte[PROOF_LENGTH];
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(sharedSecret, HMAC_ALGORITHM));
+            mac.update(nonce);
+            return mac.doFinal(proverNodeId.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 계산 실패", e);
+        }
+    }
+
+    private boolean verify(byte[] nonce, String proverNodeId, byte[] received) {
+        return sharedSecret.length == 0 || MessageDigest.isEqual(proof(nonce, proverNodeId), received);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // 종료 중 오류는 무시
+        }
+    }
+
+    private record Frame(byte type, String roomId, byte[] payload) {
+    }
+
+    private static final class InboundPeer {
+        private final Set<String> interests = ConcurrentHashMap.newKeySet();
+    }
+
+    // 피어 하나로의 송신 연결. 끊기면 재연결하고 현재 구독 목록을 다시 보낸다
+    private final class PeerLink {
+        private final String address;
+        private final BlockingQueue<Frame> queue;
+        private final AtomicLong droppedFrames = new AtomicLong();
+        private volatile String remoteNodeId;
+        private volatile Socket socket;
+        private volatile boolean stopped;
+        private Thread thread;
+
+        private PeerLink(String address) {
+            this.address = address;
+            this.queue = new LinkedBlockingQueue<>(config.getSendQueueCapacity());
+        }
+
+        private void start() {
+            thread = new Thread(this::run, "backplane-out-" + address);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void send(Frame frame) {
+            // 느린 피어 때문에 브로드캐스트가 막히지 않도록 대기열이 가득 차면 버린다
+            if (!queue.offer(frame) && droppedFrames.incrementAndGet() % 1000 == 1) {
+                logger.warn("백플레인 송신 대기열 초과 - 피어: {}, 누적 폐기: {}", address, droppedFrames.get());
+            }
+        }
+
+        private void run() {
+            while (running && !stopped) {
+                try {
+                    connectAndStream();
+                } catch (IOException e) {
+                    if (running) {
+                        logger.debug("백플레인 피어 연결 실패 - 피어: {}, 오류: {}", address, e.getMessage());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    closeQuietly(socket);
+                    remoteNodeId = null;
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(config.getReconnectInterval().toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void connectAndStream() throws IOException, InterruptedException {
+            int separator = address.lastIndexOf(':');
+            Socket connected = new Socket();
+            socket = connected;
+            connected.connect(new InetSocketAddress(address.substring(0, separator),
+                    Integer.parseInt(address.substring(separator + 1))), CONNECT_TIMEOUT_MILLIS);
+            connected.setTcpNoDelay(true);
+
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connected.getOutputStream()));
+            DataInputStream in = new DataInputStream(connected.getInputStream());
+            connected.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+            byte[] nonce = nonce();
+            out.writeByte(HELLO);
+            out.writeUTF(nodeId);
+            out.write(nonce);
+            out.flush();
+            if (in.readByte() != HELLO) {
+                throw new IOException("HELLO 응답이 아닙니다.");
+            }
+            String remote = in.readUTF();
+            byte[] remoteNonce = readBytes(in, NONCE_LENGTH);
+            if (!verify(nonce, remote, readBytes(in, PROOF_LENGTH))) {
+                throw new IOException("피어 인증 실패: " + address);
+            }
+            out.write(proof(remoteNonce, nodeId));
+            out.flush();
+            connected.setSoTimeout(0);
+            if (remote.equals(nodeId)) {
+                logger.warn("자기 자신을 피어로 설정했습니다. 연결을 중단합니다: {}", address);
+                stopped = true;
+                return;
+            }
+
+            // 끊긴 동안 쌓인 메시지는 버리고 현재 구독 목록부터 다시 보낸다
+            queue.clear();
+            for (String roomId : localInterests) {
+                write(out, new Frame(SUBSCRIBE, roomId, null));
+            }
+            out.flush();
+            remoteNodeId = remote;
+            logger.info("백플레인 피어 연결 - 피어: {}, 노드 ID: {}", address, remote);
+
+            while (running && !stopped) {
+                Frame frame = queue.poll(1, TimeUnit.SECONDS);
+                if (frame == null) {
+                    continue;
+                }
+                write(out, frame);
+                // 대기 중인 프레임을 모아서 한 번에 flush
+                while ((frame = queue.poll()) != null) {
+                    write(out, frame);
+                }
+                out.flush();
+            }
+        }
+
+        private void write(DataOutputStream out, Frame frame) throws IOException {
+            out.writeByte(frame.type());
+            out.writeUTF(frame.roomId());
+            if (frame.type() == PUBLISH) {
+                out.writeInt(frame.payload().length);
+                out.write(frame.payload());
+            }
+        }
+
+        private void close() {
+            stopped = true;
+            closeQuietly(socket);
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+}
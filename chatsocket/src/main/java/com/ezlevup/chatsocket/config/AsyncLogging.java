@@ -0,0 +1,85 @@
+package com.ezlevup.chatsocket.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// 루트 로거의 appender(콘솔/파일)를 비동기 appender 하나로 감싼다
+// 로그 호출 스레드는 대기열에 넣기만 하고 실제 쓰기는 별도 스레드가 처리한다
+public class AsyncLogging implements AutoCloseable {
+
+    static final String APPENDER_NAME = "CHAT_ASYNC";
+
+    private final ChatProperties.Logging config;
+    private Logger rootLogger;
+    private AsyncAppender asyncAppender;
+    private final List<Appender<ILoggingEvent>> wrappedAppenders = new ArrayList<>();
+
+    public AsyncLogging(ChatProperties.Logging config) {
+        this.config = config;
+    }
+
+    public synchronized AsyncLogging install() {
+        if (!config.isAsync() || asyncAppender != null) {
+            return this;
+        }
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (!(loggerFactory instanceof LoggerContext context)) {
+            return this;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        // 같은 JVM 의 다른 애플리케이션 컨텍스트가 이미 설치한 경우
+        if (root.getAppender(APPENDER_NAME) != null) {
+            return this;
+        }
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setName(APPENDER_NAME);
+        async.setQueueSize(config.getAsyncQueueSize());
+        async.setNeverBlock(config.isAsyncNeverBlock());
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            Appender<ILoggingEvent> appender = it.next();
+            wrappedAppenders.add(appender);
+            async.addAppender(appender);
+        }
+        if (wrappedAppenders.isEmpty()) {
+            return this;
+        }
+        async.start();
+        wrappedAppenders.forEach(root::detachAppender);
+        root.addAppender(async);
+
+        this.rootLogger = root;
+        this.asyncAppender = async;
+        root.info("비동기 로깅 사용 - 대기열 크기: {}, 가득 찰 때 폐기: {}", config.getAsyncQueueSize(), config.isAsyncNeverBlock());
+        return this;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (asyncAppender == null) {
+            return;
+        }
+        // 대기열에 남은 로그를 모두 기록한 뒤 원래 appender 를 되돌린다
+        // (AsyncAppender 는 종료 시 감싼 appender 도 멈추므로 다시 시작한다)
+        rootLogger.detachAppender(asyncAppender);
+        asyncAppender.stop();
+        for (Appender<ILoggingEvent> appender : wrappedAppenders) {
+            if (!appender.isStarted()) {
+                appender.start();
+            }
+            rootLogger.addAppender(appender);
+        }
+        wrappedAppenders.clear();
+        asyncAppender = null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ezlevup.chatsocket.config;
+
+import com.ezlevup.chatsocket.handler.WireFormat;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// 순수 WebSocket 엔드포인트의 핸드셰이크: 서브프로토콜 선택과 permessage-deflate 협상 여부를 정한다
+// permessage-deflate 는 컨테이너가 연결마다 모든 프레임을 압축하므로 (크기 임계값 없음, 수신자 수만큼 압축)
+// 설정으로 끌 수 있게 하고, 자체 압축을 쓰는 chat.json-deflate.v1 연결에는 이중 압축을 막기 위해 협상하지 않는다
+class ChatHandshakeHandler extends DefaultHandshakeHandler {
+
+    static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private final boolean perMessageDeflate;
+
+    ChatHandshakeHandler(ChatProperties.Compression compression) {
+        this.perMessageDeflate = compression.isPerMessageDeflate();
+        // 클라이언트가 요청한 순서대로 첫 번째 지원 프로토콜을 선택한다
+        setSupportedProtocols(WireFormat.BINARY.getSubprotocol(), WireFormat.JSON_DEFLATE.getSubprotocol(),
+                WireFormat.JSON.getSubprotocol());
+    }
+
+    @Override
+    protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                 List<WebSocketExtension> requestedExtensions,
+                                                                 List<WebSocketExtension> supportedExtensions) {
+        List<WebSocketExtension> extensions = super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions);
+        if (perMessageDeflate && selectedFormat(request) != WireFormat.JSON_DEFLATE) {
+            return extensions;
+        }
+        return extensions.stream()
+                .filter(extension -> !PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()))
+                .toList();
+    }
+
+    // selectProtocol 과 같은 규칙 (요청 순서상 처음 지원되는 서브프로토콜)
+    private WireFormat selectedFormat(ServerHttpRequest request) {
+        List<String> supported = Arrays.asList(getSupportedProtocols());
+        for (String protocol : new WebSocketHttpHeaders(request.getHeaders()).getSecWebSocketProtocol()) {
+            String candidate = protocol.toLowerCase(Locale.ROOT);
+            if (supported.contains(candidate)) {
+                return WireFormat.fromSubprotocol(candidate);
+            }
+        }
+        return WireFormat.JSON;
+    }
+}
@@ -0,0 +1,704 @@
+package com.ezlevup.chatsocket.config;
+
+import com.ezlevup.chatsocket.cluster.BackplaneMode;
+import com.ezlevup.chatsocket.handler.HotPathLog;
+import com.ezlevup.chatsocket.handler.HotPathLogMode;
+import com.ezlevup.chatsocket.handler.OverflowStrategy;
+import com.ezlevup.chatsocket.handler.RateLimitAction;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@ConfigurationProperties(prefix = "chat")
+public class ChatProperties {
+
+    private final Session session = new Session();
+    private final Room room = new Room();
+    private final Lobby lobby = new Lobby();
+    private final Outbound outbound = new Outbound();
+    private final MessageLog messageLog = new MessageLog();
+    private final History history = new History();
+    private final Cluster cluster = new Cluster();
+    private final Logging logging = new Logging();
+    private final Metrics metrics = new Metrics();
+    private final RateLimit rateLimit = new RateLimit();
+    private final Compression compression = new Compression();
+
+    public Session getSession() {
+        return session;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public Lobby getLobby() {
+        return lobby;
+    }
+
+    public Outbound getOutbound() {
+        return outbound;
+    }
+
+    public MessageLog getMessageLog() {
+        return messageLog;
+    }
+
+    public History getHistory() {
+        return history;
+    }
+
+    public Cluster getCluster() {
+        return cluster;
+    }
+
+    public Logging getLogging() {
+        return logging;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public static class Session {
+        // 노드(JVM)당 최대 웹소켓 세션 수
+        private int maxSessions = 20000;
+        // 채팅방당 최대 참여 세션 수
+        private int maxSessionsPerRoom = 1000;
+        // 세션 레지스트리 stripe 수 (2의 거듭제곱으로 올림)
+        private int registryStripes = 64;
+
+        public int getMaxSessions() {
+            return maxSessions;
+        }
+
+        public void setMaxSessions(int maxSessions) {
+            this.maxSessions = maxSessions;
+        }
+
+        public int getMaxSessionsPerRoom() {
+            return maxSessionsPerRoom;
+        }
+
+        public void setMaxSessionsPerRoom(int maxSessionsPerRoom) {
+            this.maxSessionsPerRoom = maxSessionsPerRoom;
+        }
+
+        public int getRegistryStripes() {
+            return registryStripes;
+        }
+
+        public void setRegistryStripes(int registryStripes) {
+            this.registryStripes = registryStripes;
+        }
+    }
+
+    public static class Room {
+        // 마지막 참여자가 나간 뒤(또는 아무도 입장하지 않은 채) 방을 삭제하기까지 기다리는 시간
+        private Duration emptyGracePeriod = Duration.ofSeconds(60);
+        // 방 목록 스냅샷을 다시 만드는 최소 간격 (그 사이의 변경은 다음 스냅샷에 반영된다)
+        private Duration listRefreshInterval = Duration.ofSeconds(1);
+        // /chat/rooms 의 기본 페이지 크기와 최대 페이지 크기
+        private int listPageSize = 50;
+        private int listMaxPageSize = 500;
+        // 방을 나눠 맡는 단일 작성자 워커 스레드 수 (0 이면 수신 스레드에서 바로 처리)
+        private int workers = 0;
+        // 워커 하나에 쌓을 수 있는 대화/중계 메시지 수 (초과 시 거부, 입장/퇴장/삭제 명령은 한도와 관계없이 받는다)
+        private int workerQueueCapacity = 100_000;
+
+        public Duration getEmptyGracePeriod() {
+            return emptyGracePeriod;
+        }
+
+        public void setEmptyGracePeriod(Duration emptyGracePeriod) {
+            this.emptyGracePeriod = emptyGracePeriod;
+        }
+
+        public Duration getListRefreshInterval() {
+            return listRefreshInterval;
+        }
+
+        public void setListRefreshInterval(Duration listRefreshInterval) {
+            this.listRefreshInterval = listRefreshInterval;
+        }
+
+        public int getListPageSize() {
+            return listPageSize;
+        }
+
+        public void setListPageSize(int listPageSize) {
+            this.listPageSize = listPageSize;
+        }
+
+        public int getListMaxPageSize() {
+            return listMaxPageSize;
+        }
+
+        public void setListMaxPageSize(int listMaxPageSize) {
+            this.listMaxPageSize = listMaxPageSize;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getWorkerQueueCapacity() {
+            return workerQueueCapacity;
+        }
+
+        public void setWorkerQueueCapacity(int workerQueueCapacity) {
+            this.workerQueueCapacity = workerQueueCapacity;
+        }
+    }
+
+    public static class Lobby {
+        // 로비 구독 세션에 방 목록 변경분을 모아서 보내는 간격 (세션당 이 간격에 최대 한 프레임)
+        private Duration pushInterval = Duration.ofSeconds(1);
+        // 한 번에 바뀐 방이 이보다 많으면 변경분 대신 목록 스냅샷 첫 페이지를 다시 보낸다
+        private int maxDeltaRooms = 500;
+
+        public Duration getPushInterval() {
+            return pushInterval;
+        }
+
+        public void setPushInterval(Duration pushInterval) {
+            this.pushInterval = pushInterval;
+        }
+
+        public int getMaxDeltaRooms() {
+            return maxDeltaRooms;
+        }
+
+        public void setMaxDeltaRooms(int maxDeltaRooms) {
+            this.maxDeltaRooms = maxDeltaRooms;
+        }
+    }
+
+    public static class Outbound {
+        // 세션별 송신 대기열에 쌓을 수 있는 최대 메시지 수
+        private int maxMessages = 256;
+        // 세션별 송신 대기열에 쌓을 수 있는 최대 바이트 수
+        private long maxBytes = 512 * 1024;
+        private OverflowStrategy overflowStrategy = OverflowStrategy.DROP_OLDEST;
+        // 같은 세션으로 가는 메시지를 JSON 배열(바이너리 배치) 프레임 하나로 합친다
+        private boolean coalesce = false;
+        // 첫 메시지를 보내기 전에 뒤따르는 메시지를 기다리는 시간 (0 이면 기다리지 않고 쌓인 것만 합침)
+        private Duration coalesceWindow = Duration.ofMillis(10);
+        // 합친 프레임 하나의 최대 바이트 수 (창이 끝나기 전이라도 차면 바로 전송)
+        private long coalesceMaxBytes = 16 * 1024;
+
+        public int getMaxMessages() {
+            return maxMessages;
+        }
+
+        public void setMaxMessages(int maxMessages) {
+            this.maxMessages = maxMessages;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public OverflowStrategy getOverflowStrategy() {
+            return overflowStrategy;
+        }
+
+        public void setOverflowStrategy(OverflowStrategy overflowStrategy) {
+            this.overflowStrategy = overflowStrategy;
+        }
+
+        public boolean isCoalesce() {
+            return coalesce;
+        }
+
+        public void setCoalesce(boolean coalesce) {
+            this.coalesce = coalesce;
+        }
+
+        public Duration getCoalesceWindow() {
+            return coalesceWindow;
+        }
+
+        public void setCoalesceWindow(Duration coalesceWindow) {
+            this.coalesceWindow = coalesceWindow;
+        }
+
+        public long getCoalesceMaxBytes() {
+            return coalesceMaxBytes;
+        }
+
+        public void setCoalesceMaxBytes(long coalesceMaxBytes) {
+            this.coalesceMaxBytes = coalesceMaxBytes;
+        }
+    }
+
+    public static class MessageLog {
+        private boolean enabled = false;
+        // 방별 세그먼트 파일이 저장되는 디렉터리
+        private String directory = "data/message-log";
+        // 세그먼트 파일 하나의 크기 (메모리 매핑 단위)
+        private DataSize segmentSize = DataSize.ofMegabytes(4);
+        // 방별로 보관하는 최대 세그먼트 수 (초과 시 오래된 세그먼트 삭제)
+        private int maxSegmentsPerRoom = 8;
+        // 입장 시 재전송하는 최대 메시지 수 (재접속 재전송은 이 크기씩 나눠 전송)
+        private int replayLimit = 50;
+        // 한 번의 그룹 커밋에서 기록하는 최대 레코드 수
+        private int commitBatchSize = 1024;
+        // 이 시간 동안 기록이 없는 방의 매핑을 해제
+        private Duration idleTimeout = Duration.ofMinutes(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(DataSize segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        public int getMaxSegmentsPerRoom() {
+            return maxSegmentsPerRoom;
+        }
+
+        public void setMaxSegmentsPerRoom(int maxSegmentsPerRoom) {
+            this.maxSegmentsPerRoom = maxSegmentsPerRoom;
+        }
+
+        public int getReplayLimit() {
+            return replayLimit;
+        }
+
+        public void setReplayLimit(int replayLimit) {
+            this.replayLimit = replayLimit;
+        }
+
+        public int getCommitBatchSize() {
+            return commitBatchSize;
+        }
+
+        public void setCommitBatchSize(int commitBatchSize) {
+            this.commitBatchSize = commitBatchSize;
+        }
+
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+    }
+
+    public static class History {
+        // 재접속 이어받기용으로 방마다 메모리에 보관하는 최근 메시지 수 (2의 거듭제곱으로 올림)
+        private int capacity = 256;
+        // 새로 입장한 사용자에게 한 번에 보내는 최근 메시지 수
+        private int joinBacklog = 50;
+        // 모든 방의 최근 메시지가 사용할 수 있는 전체 메모리 (초과 시 오래 쉰 방부터 비움)
+        private DataSize maxMemory = DataSize.ofMegabytes(64);
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getJoinBacklog() {
+            return joinBacklog;
+        }
+
+        public void setJoinBacklog(int joinBacklog) {
+            this.joinBacklog = joinBacklog;
+        }
+
+        public DataSize getMaxMemory() {
+            return maxMemory;
+        }
+
+        public void setMaxMemory(DataSize maxMemory) {
+            this.maxMemory = maxMemory;
+        }
+    }
+
+    public static class Cluster {
+        private BackplaneMode mode = BackplaneMode.LOOPBACK;
+        // 클러스터 안에서 노드를 구분하는 ID (지정하지 않으면 시작할 때마다 새로 생성)
+        private String nodeId = UUID.randomUUID().toString().substring(0, 8);
+        // tcp 모드에서 다른 노드의 연결을 받는 주소 (외부 주소에 바인딩하려면 sharedSecret 필요)
+        private String bindHost = "127.0.0.1";
+        private int port = 7400;
+        // tcp 모드에서 연결할 다른 노드 목록 (host:port), 모든 노드가 서로를 지정해야 한다
+        private List<String> peers = new ArrayList<>();
+        // 피어 인증에 쓰는 공유 비밀 (모든 노드가 같은 값, 비어 있으면 인증하지 않음)
+        private String sharedSecret = "";
+        // 동시에 받을 수 있는 수신 연결 수 (초과 시 즉시 끊음)
+        private int maxInboundConnections = 32;
+        // 수신 PUBLISH 프레임의 최대 payload 크기 (초과 시 연결을 끊음)
+        private DataSize maxFrameSize = DataSize.ofMegabytes(1);
+        // 피어별 송신 대기열 크기 (초과 시 폐기)
+        private int sendQueueCapacity = 10000;
+        private Duration reconnectInterval = Duration.ofSeconds(2);
+
+        public BackplaneMode getMode() {
+            return mode;
+        }
+
+        public void setMode(BackplaneMode mode) {
+            this.mode = mode;
+        }
+
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        public void setNodeId(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        public String getBindHost() {
+            return bindHost;
+        }
+
+        public void setBindHost(String bindHost) {
+            this.bindHost = bindHost;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public List<String> getPeers() {
+            return peers;
+        }
+
+        public void setPeers(List<String> peers) {
+            this.peers = peers;
+        }
+
+        public String getSharedSecret() {
+            return sharedSecret;
+        }
+
+        public void setSharedSecret(String sharedSecret) {
+            this.sharedSecret = sharedSecret;
+        }
+
+        public int getMaxInboundConnections() {
+            return maxInboundConnections;
+        }
+
+        public void setMaxInboundConnections(int maxInboundConnections) {
+            this.maxInboundConnections = maxInboundConnections;
+        }
+
+        public DataSize getMaxFrameSize() {
+            return maxFrameSize;
+        }
+
+        public void setMaxFrameSize(DataSize maxFrameSize) {
+            this.maxFrameSize = maxFrameSize;
+        }
+
+        public int getSendQueueCapacity() {
+            return sendQueueCapacity;
+        }
+
+        public void setSendQueueCapacity(int sendQueueCapacity) {
+            this.sendQueueCapacity = sendQueueCapacity;
+        }
+
+        public Duration getReconnectInterval() {
+            return reconnectInterval;
+        }
+
+        public void setReconnectInterval(Duration reconnectInterval) {
+            this.reconnectInterval = reconnectInterval;
+        }
+    }
+
+    public static class Logging {
+        // 메시지 처리 경로(수신/대화/브로드캐스트) 로그 모드
+        private HotPathLogMode hotPath = HotPathLogMode.FULL;
+        // sampled 모드에서 분류별 초당 최대 로그 수
+        private int maxPerSecond = 20;
+        // 분류별 초당 최대 로그 수 (지정하지 않은 분류는 maxPerSecond)
+        private Map<HotPathLog.Category, Integer> categoryLimits = new EnumMap<>(HotPathLog.Category.class);
+        // 루트 로거의 appender 를 비동기 appender 로 감싼다
+        private boolean async = false;
+        private int asyncQueueSize = 8192;
+        // 대기열이 가득 차면 기다리지 않고 버린다 (true) / 요청 스레드가 기다린다 (false)
+        private boolean asyncNeverBlock = true;
+
+        public HotPathLogMode getHotPath() {
+            return hotPath;
+        }
+
+        public void setHotPath(HotPathLogMode hotPath) {
+            this.hotPath = hotPath;
+        }
+
+        public int getMaxPerSecond() {
+            return maxPerSecond;
+        }
+
+        public void setMaxPerSecond(int maxPerSecond) {
+            this.maxPerSecond = maxPerSecond;
+        }
+
+        public Map<HotPathLog.Category, Integer> getCategoryLimits() {
+            return categoryLimits;
+        }
+
+        public void setCategoryLimits(Map<HotPathLog.Category, Integer> categoryLimits) {
+            this.categoryLimits = categoryLimits;
+        }
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        public int getAsyncQueueSize() {
+            return asyncQueueSize;
+        }
+
+        public void setAsyncQueueSize(int asyncQueueSize) {
+            this.asyncQueueSize = asyncQueueSize;
+        }
+
+        public boolean isAsyncNeverBlock() {
+            return asyncNeverBlock;
+        }
+
+        public void setAsyncNeverBlock(boolean asyncNeverBlock) {
+            this.asyncNeverBlock = asyncNeverBlock;
+        }
+    }
+
+    public static class Metrics {
+        // 송신 버퍼 등록에 이 시간 이상 걸린 브로드캐스트는 방 ID 와 함께 경고 로그
+        private Duration slowBroadcastThreshold = Duration.ofMillis(50);
+        // 단계별 지연을 추적할 메시지 비율 (0 이면 추적하지 않음, 1 이면 모든 메시지)
+        private double traceSampleRate = 0.0;
+        // /chat/diagnostics/traces 로 조회할 수 있도록 보관하는 최근 추적 결과 수
+        private int traceRecentSize = 256;
+
+        public Duration getSlowBroadcastThreshold() {
+            return slowBroadcastThreshold;
+        }
+
+        public void setSlowBroadcastThreshold(Duration slowBroadcastThreshold) {
+            this.slowBroadcastThreshold = slowBroadcastThreshold;
+        }
+
+        public double getTraceSampleRate() {
+            return traceSampleRate;
+        }
+
+        public void setTraceSampleRate(double traceSampleRate) {
+            this.traceSampleRate = traceSampleRate;
+        }
+
+        public int getTraceRecentSize() {
+            return traceRecentSize;
+        }
+
+        public void setTraceRecentSize(int traceRecentSize) {
+            this.traceRecentSize = traceRecentSize;
+        }
+    }
+
+    public static class RateLimit {
+        private boolean enabled = false;
+        // 한도를 넘긴 메시지 처리 방법
+        private RateLimitAction action = RateLimitAction.REJECT;
+        // action=delay 일 때 한 메시지를 붙잡아 둘 수 있는 최대 시간
+        private Duration maxDelay = Duration.ofMillis(500);
+        // 연결 하나가 보내는 모든 프레임
+        private final Limit session = Limit.of(20, 40, DataSize.ofKilobytes(16), DataSize.ofKilobytes(32));
+        // 같은 사용자명으로 보내는 대화 메시지 (여러 연결 합산)
+        private final Limit sender = Limit.of(10, 20, DataSize.ofKilobytes(8), DataSize.ofKilobytes(16));
+        // 한 방으로 들어오는 대화 메시지 합계
+        private final Limit room = Limit.of(200, 400, DataSize.ofKilobytes(128), DataSize.ofKilobytes(256));
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public RateLimitAction getAction() {
+            return action;
+        }
+
+        public void setAction(RateLimitAction action) {
+            this.action = action;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+
+        public Limit getSession() {
+            return session;
+        }
+
+        public Limit getSender() {
+            return sender;
+        }
+
+        public Limit getRoom() {
+            return room;
+        }
+
+        public static class Limit {
+            // 0 이면 해당 항목은 제한하지 않음
+            private int messagesPerSecond;
+            // 한꺼번에 보낼 수 있는 최대 메시지 수
+            private int messageBurst;
+            private DataSize bytesPerSecond = DataSize.ofBytes(0);
+            // 한꺼번에 보낼 수 있는 최대 바이트 수 (최대 프레임 크기보다 커야 함)
+            private DataSize byteBurst = DataSize.ofBytes(0);
+
+            static Limit of(int messagesPerSecond, int messageBurst, DataSize bytesPerSecond, DataSize byteBurst) {
+                Limit limit = new Limit();
+                limit.messagesPerSecond = messagesPerSecond;
+                limit.messageBurst = messageBurst;
+                limit.bytesPerSecond = bytesPerSecond;
+                limit.byteBurst = byteBurst;
+                return limit;
+            }
+
+            public boolean isLimited() {
+                return messagesPerSecond > 0 || bytesPerSecond.toBytes() > 0;
+            }
+
+            public int getMessagesPerSecond() {
+                return messagesPerSecond;
+            }
+
+            public void setMessagesPerSecond(int messagesPerSecond) {
+                this.messagesPerSecond = messagesPerSecond;
+            }
+
+            public int getMessageBurst() {
+                return messageBurst;
+            }
+
+            public void setMessageBurst(int messageBurst) {
+                this.messageBurst = messageBurst;
+            }
+
+            public DataSize getBytesPerSecond() {
+                return bytesPerSecond;
+            }
+
+            public void setBytesPerSecond(DataSize bytesPerSecond) {
+                this.bytesPerSecond = bytesPerSecond;
+            }
+
+            public DataSize getByteBurst() {
+                return byteBurst;
+            }
+
+            public void setByteBurst(DataSize byteBurst) {
+                this.byteBurst = byteBurst;
+            }
+        }
+    }
+
+    public static class Compression {
+        // 순수 WebSocket 엔드포인트에서 permessage-deflate 확장 협상 허용 (컨테이너가 연결마다 모든 프레임을 압축)
+        private boolean perMessageDeflate = true;
+        // chat.json-deflate.v1 세션에는 이 크기 이상의 프레임만 압축해서 보낸다
+        private DataSize threshold = DataSize.ofBytes(128);
+        // DEFLATE 압축 수준 (1: 가장 빠름 ~ 9: 가장 작음)
+        private int level = 6;
+        // 채팅 JSON 필드명/시스템 문구로 만든 공유 사전 사용 (클라이언트도 같은 사전으로 풀어야 함)
+        private boolean dictionary = true;
+
+        public boolean isPerMessageDeflate() {
+            return perMessageDeflate;
+        }
+
+        public void setPerMessageDeflate(boolean perMessageDeflate) {
+            this.perMessageDeflate = perMessageDeflate;
+        }
+
+        public DataSize getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(DataSize threshold) {
+            this.threshold = threshold;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public void setLevel(int level) {
+            this.level = level;
+        }
+
+        public boolean isDictionary() {
+            return dictionary;
+        }
+
+        public void setDictionary(boolean dictionary) {
+            this.dictionary = dictionary;
+        }
+    }
+}
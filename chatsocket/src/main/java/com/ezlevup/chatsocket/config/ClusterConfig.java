@@ -0,0 +1,22 @@
+package com.ezlevup.chatsocket.config;
+
+import com.ezlevup.chatsocket.cluster.Backplane;
+import com.ezlevup.chatsocket.cluster.BackplaneMode;
+import com.ezlevup.chatsocket.cluster.LoopbackBackplane;
+import com.ezlevup.chatsocket.cluster.TcpMeshBackplane;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ClusterConfig {
+
+    // chat.cluster.mode 에 따라 백플레인 구현 선택 (기본값 loopback: 단일 노드)
+    @Bean(destroyMethod = "close")
+    public Backplane backplane(ChatProperties chatProperties) {
+        ChatProperties.Cluster cluster = chatProperties.getCluster();
+        if (cluster.getMode() == BackplaneMode.TCP) {
+            return new TcpMeshBackplane(cluster);
+        }
+        return new LoopbackBackplane(cluster.getNodeId());
+    }
+}
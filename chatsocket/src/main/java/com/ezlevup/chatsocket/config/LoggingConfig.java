@@ -0,0 +1,14 @@
+package com.ezlevup.chatsocket.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LoggingConfig {
+
+    // chat.logging.async=true 이면 스프링 로깅 초기화 이후 루트 appender 를 비동기로 전환
+    @Bean(destroyMethod = "close")
+    public AsyncLogging asyncLogging(ChatProperties chatProperties) {
+        return new AsyncLogging(chatProperties.getLogging()).install();
+    }
+}
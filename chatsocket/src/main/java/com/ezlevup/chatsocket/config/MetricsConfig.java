@@ -0,0 +1,79 @@
+package com.ezlevup.chatsocket.config;
+
+import com.ezlevup.chatsocket.handler.BroadcastEngine;
+import com.ezlevup.chatsocket.handler.LobbyFeed;
+import com.ezlevup.chatsocket.handler.MessageCounters;
+import com.ezlevup.chatsocket.handler.RoomWorkers;
+import com.ezlevup.chatsocket.handler.SessionRegistry;
+import com.ezlevup.chatsocket.model.ChatRoom;
+import com.ezlevup.chatsocket.model.ChatRoomRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // 세션/방 현황은 스크레이프 시점에만 계산한다 (메시지 처리 경로에는 비용 없음)
+    @Bean
+    public MeterBinder chatRoomMetrics(SessionRegistry sessionRegistry, ChatRoomRepository chatRoomRepository,
+                                       LobbyFeed lobbyFeed, RoomWorkers roomWorkers) {
+        return registry -> {
+            Gauge.builder("chat.sessions", sessionRegistry, SessionRegistry::getSessionCount)
+                    .description("이 노드에 연결된 웹소켓 세션 수")
+                    .register(registry);
+            Gauge.builder("chat.rooms", chatRoomRepository, ChatRoomRepository::getTotalRoomCount)
+                    .description("이 노드의 채팅방 수")
+                    .register(registry);
+            Gauge.builder("chat.rooms.largest.size", chatRoomRepository, MetricsConfig::largestRoomSize)
+                    .description("가장 큰 채팅방의 참여 세션 수")
+                    .register(registry);
+            Gauge.builder("chat.lobby.subscribers", lobbyFeed, LobbyFeed::getSubscriberCount)
+                    .description("방 목록 변경분을 구독 중인 세션 수")
+                    .register(registry);
+            Gauge.builder("chat.room.workers.queued", roomWorkers, RoomWorkers::getQueuedCommands)
+                    .description("방 워커 대기열에 쌓인 입장/퇴장/대화 명령 수")
+                    .register(registry);
+            FunctionCounter.builder("chat.room.workers.rejected", roomWorkers, RoomWorkers::getRejectedCommands)
+                    .description("대기열 한도 초과나 종료 후 제출로 실행되지 않은 방 워커 명령 수")
+                    .register(registry);
+            Gauge.builder("chat.history.memory", chatRoomRepository, repository -> repository.getHistoryBudget().getUsedBytes())
+                    .description("최근 메시지 버퍼가 사용 중인 메모리")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    // 기존 누적 카운터(/chat/diagnostics/counters)를 같은 값으로 노출한다
+    @Bean
+    public MeterBinder chatFrameMetrics(BroadcastEngine broadcastEngine) {
+        MessageCounters counters = broadcastEngine.getCounters();
+        return registry -> {
+            FunctionCounter.builder("chat.frames.received", counters, MessageCounters::getFramesReceived)
+                    .description("수신한 웹소켓 프레임 수")
+                    .register(registry);
+            FunctionCounter.builder("chat.frames.pings", counters, MessageCounters::getPingsReceived)
+                    .description("수신한 PING 프레임 수")
+                    .register(registry);
+            FunctionCounter.builder("chat.frames.invalid", counters, MessageCounters::getInvalidFrames)
+                    .description("디코딩에 실패한 프레임 수")
+                    .register(registry);
+            FunctionCounter.builder("chat.frames.sent", counters, MessageCounters::getFramesSent)
+                    .description("세션에 실제로 쓴 프레임 수")
+                    .register(registry);
+            FunctionCounter.builder("chat.frames.send.failures", counters, MessageCounters::getSendFailures)
+                    .description("전송 실패로 종료된 송신 횟수")
+                    .register(registry);
+        };
+    }
+
+    private static double largestRoomSize(ChatRoomRepository repository) {
+        int largest = 0;
+        for (ChatRoom room : repository.findAllRooms()) {
+            largest = Math.max(largest, room.getSessionCount());
+        }
+        return largest;
+    }
+}
@@ -1,7 +1,10 @@
 package com.ezlevup.chatsocket.config;
 
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
@@ -10,8 +13,15 @@ import java.util.concurrent.Executor;
 @Configuration
 public class PerformanceConfig implements WebSocketMessageBrokerConfigurer {
 
+    // spring.threads.virtual.enabled=true 이면 Tomcat 요청/웹소켓 처리 스레드와
+    // 아래 실행기 모두 가상 스레드를 사용하므로 스레드 수 상한이 사라진다
+
     @Bean(name = "chatTaskExecutor")
-    public Executor chatTaskExecutor() {
+    public Executor chatTaskExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualThreadExecutor("chat-async-", 30);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(50);
@@ -24,15 +34,31 @@ public class PerformanceConfig implements WebSocketMessageBrokerConfigurer {
     }
 
     @Bean(name = "broadcastTaskExecutor")
-    public Executor broadcastTaskExecutor() {
+    public Executor broadcastTaskExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // 세션당 drain 작업이 최대 하나이므로 동시 가상 스레드 수는 연결 수로 제한된다
+            return virtualThreadExecutor("broadcast-", 10);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
+        // 대기열에 상한이 없으면 코어 스레드 수까지만 늘어나므로 코어와 최대를 같게 두고 유휴 스레드는 회수한다
+        executor.setCorePoolSize(20);
         executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(100);
+        executor.setAllowCoreThreadTimeOut(true);
+        // 세션당 drain 작업이 최대 하나이므로 대기열 길이는 연결 수를 넘지 않는다
+        // (CallerRunsPolicy 를 쓰면 수신 스레드나 방 워커가 블로킹 송신을 떠안으므로 쓰지 않는다)
+        executor.setQueueCapacity(Integer.MAX_VALUE);
         executor.setThreadNamePrefix("broadcast-");
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(10);
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    private SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix, int awaitTerminationSeconds) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(awaitTerminationSeconds * 1000L);
+        return executor;
+    }
+}
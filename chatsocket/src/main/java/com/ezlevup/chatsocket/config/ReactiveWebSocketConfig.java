@@ -0,0 +1,64 @@
+package com.ezlevup.chatsocket.config;
+
+import com.ezlevup.chatsocket.handler.BinaryChatWebSocketHandler;
+import com.ezlevup.chatsocket.handler.ChatProtocolDispatcher;
+import com.ezlevup.chatsocket.handler.ChatWebSocketHandler;
+import com.ezlevup.chatsocket.handler.ReactiveChatWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.server.WebSocketService;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.reactive.socket.server.upgrade.ReactorNettyRequestUpgradeStrategy;
+import reactor.netty.http.server.WebsocketServerSpec;
+
+import java.util.Map;
+
+// reactive 프로필: Tomcat 대신 Reactor Netty 로 /ws/chat 을 제공한다 (연결당 스레드 대신 송신 버퍼만 유지)
+// SockJS 폴백은 없고, permessage-deflate 는 서브프로토콜과 관계없이 설정값이 모든 연결에 적용된다
+@Configuration
+@Profile("reactive")
+@EnableScheduling
+public class ReactiveWebSocketConfig implements WebFluxConfigurer {
+
+    @Autowired
+    private ChatProperties chatProperties;
+
+    // 클래스패스에 Tomcat 도 있으므로 리액티브 서버를 Netty 로 고정한다
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public ChatProtocolDispatcher chatProtocolDispatcher(ChatWebSocketHandler chatWebSocketHandler) {
+        return new ChatProtocolDispatcher(chatWebSocketHandler, new BinaryChatWebSocketHandler(chatWebSocketHandler));
+    }
+
+    @Bean
+    public ReactiveChatWebSocketHandler reactiveChatWebSocketHandler(ChatProtocolDispatcher chatProtocolDispatcher) {
+        return new ReactiveChatWebSocketHandler(chatProtocolDispatcher, chatProperties);
+    }
+
+    // 어노테이션 컨트롤러 매핑보다 먼저 검사한다
+    @Bean
+    public HandlerMapping chatWebSocketHandlerMapping(ReactiveChatWebSocketHandler reactiveChatWebSocketHandler) {
+        return new SimpleUrlHandlerMapping(Map.of("/ws/chat", reactiveChatWebSocketHandler), -1);
+    }
+
+    // 서블릿 컨테이너 설정과 같은 64KB 프레임 한도
+    // (조각난 메시지는 Spring 의 Reactor Netty 세션이 receive() 에서 같은 한도까지 하나로 합쳐 전달한다)
+    @Override
+    public WebSocketService getWebSocketService() {
+        boolean perMessageDeflate = chatProperties.getCompression().isPerMessageDeflate();
+        return new HandshakeWebSocketService(new ReactorNettyRequestUpgradeStrategy(() -> WebsocketServerSpec.builder()
+                .maxFramePayloadLength(64 * 1024)
+                .compress(perMessageDeflate)));
+    }
+}
@@ -1,19 +1,29 @@
 package com.ezlevup.chatsocket.config;
 
+import com.ezlevup.chatsocket.handler.BinaryChatWebSocketHandler;
+import com.ezlevup.chatsocket.handler.ChatProtocolDispatcher;
 import com.ezlevup.chatsocket.handler.ChatWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
 
+// 기본 서블릿(Tomcat) 전송. reactive 프로필에서는 ReactiveWebSocketConfig 가 대신한다
 @Configuration
+@Profile("!reactive")
 @EnableWebSocket
 @EnableScheduling
 public class WebSocketConfig implements WebSocketConfigurer {
 
+    @Autowired
+    private ChatProperties chatProperties;
+
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         registry.addHandler(chatWebSocketHandler(), "/ws/chat")
@@ -26,8 +36,9 @@ public class WebSocketConfig implements WebSocketConfigurer {
                 .setHttpMessageCacheSize(1000)
                 .setSessionCookieNeeded(false);
                 
-        // SockJS 없는 순수 WebSocket 핸들러도 추가
-        registry.addHandler(chatWebSocketHandler(), "/ws/chat")
+        // SockJS 없는 순수 WebSocket 핸들러도 추가 (서브프로토콜로 JSON/바이너리 형식 선택)
+        registry.addHandler(chatProtocolDispatcher(), "/ws/chat")
+                .setHandshakeHandler(chatHandshakeHandler())
                 .setAllowedOrigins("*")
                 .setAllowedOriginPatterns("*");
     }
@@ -37,6 +48,15 @@ public class WebSocketConfig implements WebSocketConfigurer {
         return new ChatWebSocketHandler();
     }
 
+    @Bean
+    public ChatProtocolDispatcher chatProtocolDispatcher() {
+        return new ChatProtocolDispatcher(chatWebSocketHandler(), new BinaryChatWebSocketHandler(chatWebSocketHandler()));
+    }
+
+    private DefaultHandshakeHandler chatHandshakeHandler() {
+        return new ChatHandshakeHandler(chatProperties.getCompression());
+    }
+
     @Bean
     public ServletServerContainerFactoryBean createWebSocketContainer() {
         ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
@@ -1,16 +1,19 @@
 package com.ezlevup.chatsocket.controller;
 
+import com.ezlevup.chatsocket.handler.FrameCompressor;
 import com.ezlevup.chatsocket.model.*;
+import com.ezlevup.chatsocket.service.RoomListService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/chat")
@@ -21,18 +24,44 @@ public class ChatController {
     @Autowired
     private ChatRoomRepository chatRoomRepository;
 
+    @Autowired
+    private RoomListService roomListService;
+
+    // 주기적으로 다시 만드는 목록 스냅샷에서 커서 위치부터 limit 개를 준다
+    // 스냅샷이 그대로면 If-None-Match 로 보낸 ETag 에 304 만 응답한다 (목록을 다시 직렬화하지 않음)
     @GetMapping("/rooms")
-    public ResponseEntity<RoomListResponse> getChatRooms() {
+    public ResponseEntity<RoomListResponse> getChatRooms(
+            @RequestParam(defaultValue = "occupancy") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<RoomInfo> rooms = chatRoomRepository.findAllRooms()
-                    .stream()
-                    .map(RoomInfo::fromChatRoom)
-                    .collect(Collectors.toList());
-            
-            RoomListResponse response = new RoomListResponse(rooms);
-            logger.info("채팅방 목록 조회: {}개", rooms.size());
-            
-            return ResponseEntity.ok(response);
+            RoomSort roomSort = RoomSort.fromParameter(sort);
+            if (roomSort == null) {
+                logger.warn("채팅방 목록 조회 실패: 알 수 없는 정렬 기준 {}", sort);
+                return ResponseEntity.badRequest().build();
+            }
+
+            RoomListSnapshot snapshot = roomListService.getSnapshot();
+            if (ifNoneMatch != null && ifNoneMatch.contains(snapshot.getETag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(snapshot.getETag())
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+
+            RoomListSnapshot.Page page = snapshot.page(roomSort, cursor, roomListService.pageSize(limit));
+            RoomListResponse response = new RoomListResponse(page.rooms(), page.nextCursor(),
+                    snapshot.size(), snapshot.getVersion());
+            logger.info("채팅방 목록 조회: {}개 (전체 {}개)", page.rooms().size(), snapshot.size());
+
+            return ResponseEntity.ok()
+                    .eTag(snapshot.getETag())
+                    .cacheControl(CacheControl.noCache())
+                    .body(response);
+        } catch (IllegalArgumentException e) {
+            logger.warn("채팅방 목록 조회 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("채팅방 목록 조회 실패: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -100,4 +129,12 @@ public class ChatController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    // chat.json-deflate.v1 클라이언트가 압축 프레임을 풀 때 쓰는 공유 사전 (raw DEFLATE preset dictionary)
+    @GetMapping("/compression/dictionary")
+    public ResponseEntity<byte[]> getCompressionDictionary() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(FrameCompressor.dictionary());
+    }
 }
\ No newline at end of file
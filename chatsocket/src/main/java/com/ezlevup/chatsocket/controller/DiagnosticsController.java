@@ -0,0 +1,82 @@
+package com.ezlevup.chatsocket.controller;
+
+import com.ezlevup.chatsocket.handler.BroadcastEngine;
+import com.ezlevup.chatsocket.handler.MessageTracer;
+import com.ezlevup.chatsocket.model.BroadcastTrace;
+import com.ezlevup.chatsocket.model.ChatRoomRepository;
+import com.ezlevup.chatsocket.model.SessionOutboundStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/chat/diagnostics")
+public class DiagnosticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiagnosticsController.class);
+
+    @Autowired
+    private BroadcastEngine broadcastEngine;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private MessageTracer messageTracer;
+
+    @GetMapping("/outbound")
+    public ResponseEntity<List<SessionOutboundStats>> getOutboundStats(
+            @RequestParam(required = false) String roomId,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            Stream<SessionOutboundStats> stats = broadcastEngine.getOutboundStats().stream();
+
+            if (roomId != null) {
+                if (!chatRoomRepository.existsById(roomId)) {
+                    return ResponseEntity.notFound().build();
+                }
+                stats = stats.filter(stat -> roomId.equals(stat.getRoomId()));
+            }
+
+            // 대기열이 깊거나 드롭이 많은 세션(느린 클라이언트)을 먼저 보여준다
+            List<SessionOutboundStats> result = stats
+                    .sorted(Comparator.comparingLong(SessionOutboundStats::getDroppedMessages)
+                            .thenComparingInt(SessionOutboundStats::getQueuedMessages)
+                            .reversed())
+                    .limit(Math.max(1, limit))
+                    .collect(Collectors.toList());
+
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            logger.error("송신 버퍼 통계 조회 실패: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // 수신/송신 프레임 수와 브로드캐스트 건수 (세션별 로그 대신 누적 카운터로 확인)
+    @GetMapping("/counters")
+    public ResponseEntity<Map<String, Long>> getMessageCounters() {
+        return ResponseEntity.ok(broadcastEngine.getCounters().snapshot());
+    }
+
+    // 샘플링된 최근 브로드캐스트 중 수신부터 마지막 수신자 전송까지 오래 걸린 순서 (추적을 끈 경우 404)
+    @GetMapping("/traces")
+    public ResponseEntity<List<BroadcastTrace>> getSlowestTraces(@RequestParam(defaultValue = "20") int limit) {
+        if (!messageTracer.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(messageTracer.getSlowestRecent(Math.max(1, limit)));
+    }
+}
@@ -2,6 +2,9 @@ package com.ezlevup.chatsocket.controller;
 
 import com.ezlevup.chatsocket.model.ChatRoom;
 import com.ezlevup.chatsocket.model.ChatRoomRepository;
+import com.ezlevup.chatsocket.model.RoomListSnapshot;
+import com.ezlevup.chatsocket.model.RoomSort;
+import com.ezlevup.chatsocket.service.RoomListService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,7 +12,6 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.servlet.ModelAndView;
 
 import java.util.Optional;
 
@@ -21,13 +23,18 @@ public class PageController {
     @Autowired
     private ChatRoomRepository chatRoomRepository;
 
+    @Autowired
+    private RoomListService roomListService;
+
+    // 목록 스냅샷의 첫 페이지 (인원 많은 순)만 렌더링한다
     @GetMapping("/")
     public String index(Model model) {
         try {
-            model.addAttribute("rooms", chatRoomRepository.findAllRooms());
-            model.addAttribute("totalRooms", chatRoomRepository.getTotalRoomCount());
+            RoomListSnapshot snapshot = roomListService.getSnapshot();
+            model.addAttribute("rooms", snapshot.page(RoomSort.OCCUPANCY, null, roomListService.pageSize(null)).rooms());
+            model.addAttribute("totalRooms", snapshot.size());
             
-            logger.info("메인 페이지 접근 - 총 채팅방 수: {}", chatRoomRepository.getTotalRoomCount());
+            logger.info("메인 페이지 접근 - 총 채팅방 수: {}", snapshot.size());
             
             return "index";
         } catch (Exception e) {
@@ -37,36 +44,34 @@ public class PageController {
         }
     }
 
+    // 서블릿/리액티브 전송 모두에서 렌더링되도록 ModelAndView 대신 Model 을 쓴다
     @GetMapping("/room/{roomId}")
-    public ModelAndView chatRoom(@PathVariable String roomId) {
+    public String chatRoom(@PathVariable String roomId, Model model) {
         try {
             Optional<ChatRoom> roomOpt = chatRoomRepository.findRoomById(roomId);
             
             if (roomOpt.isEmpty()) {
                 logger.warn("존재하지 않는 채팅방 페이지 접근: {}", roomId);
-                ModelAndView mav = new ModelAndView("error");
-                mav.addObject("error", "존재하지 않는 채팅방입니다.");
-                mav.addObject("errorCode", "404");
-                return mav;
+                model.addAttribute("error", "존재하지 않는 채팅방입니다.");
+                model.addAttribute("errorCode", "404");
+                return "error";
             }
             
             ChatRoom room = roomOpt.get();
             
-            ModelAndView mav = new ModelAndView("chatroom");
-            mav.addObject("room", room);
-            mav.addObject("roomId", roomId);
-            mav.addObject("roomName", room.getName());
-            mav.addObject("userCount", room.getSessionCount());
+            model.addAttribute("room", room);
+            model.addAttribute("roomId", roomId);
+            model.addAttribute("roomName", room.getName());
+            model.addAttribute("userCount", room.getSessionCount());
             
             logger.info("채팅방 페이지 접근: {} (사용자 수: {})", room.getName(), room.getSessionCount());
             
-            return mav;
+            return "chatroom";
         } catch (Exception e) {
             logger.error("채팅방 페이지 로드 실패: {}", e.getMessage());
-            ModelAndView mav = new ModelAndView("error");
-            mav.addObject("error", "채팅방을 불러오는데 실패했습니다.");
-            mav.addObject("errorCode", "500");
-            return mav;
+            model.addAttribute("error", "채팅방을 불러오는데 실패했습니다.");
+            model.addAttribute("errorCode", "500");
+            return "error";
         }
     }
 
@@ -0,0 +1,245 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.MessageType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+// chat.binary.v1 형식 인코더/디코더
+// frame   := kind(byte) body
+// MESSAGE := flags(byte) [type varint(ordinal)] [roomId str] [sender str] [message str]
+//            [timestamp varint(epoch millis)] [sequence varint] [lastSequence varint]
+// BATCH   := count(varint) { length(varint) MESSAGE 프레임 }
+// str     := length(varint) UTF-8 bytes, flags 비트가 꺼진 필드는 생략(null)
+public final class BinaryChatCodec {
+
+    static final byte KIND_MESSAGE = 1;
+    static final byte KIND_BATCH = 2;
+
+    private static final int HAS_TYPE = 1;
+    private static final int HAS_ROOM_ID = 1 << 1;
+    private static final int HAS_SENDER = 1 << 2;
+    private static final int HAS_MESSAGE = 1 << 3;
+    private static final int HAS_TIMESTAMP = 1 << 4;
+    private static final int HAS_SEQUENCE = 1 << 5;
+    private static final int HAS_LAST_SEQUENCE = 1 << 6;
+
+    private static final MessageType[] TYPES = MessageType.values();
+
+    private BinaryChatCodec() {
+    }
+
+    public static byte[] encode(ChatMessage message) {
+        byte[] roomId = utf8(message.getRoomId());
+        byte[] sender = utf8(message.getSender());
+        byte[] text = utf8(message.getMessage());
+        long timestamp = message.getTimestamp() != null ? toEpochMillis(message.getTimestamp()) : -1;
+
+        int flags = 0;
+        int size = 2;
+        if (message.getType() != null) {
+            flags |= HAS_TYPE;
+            size += varintSize(message.getType().ordinal());
+        }
+        if (roomId != null) {
+            flags |= HAS_ROOM_ID;
+            size += varintSize(roomId.length) + roomId.length;
+        }
+        if (sender != null) {
+            flags |= HAS_SENDER;
+            size += varintSize(sender.length) + sender.length;
+        }
+        if (text != null) {
+            flags |= HAS_MESSAGE;
+            size += varintSize(text.length) + text.length;
+        }
+        if (timestamp >= 0) {
+            flags |= HAS_TIMESTAMP;
+            size += varintSize(timestamp);
+        }
+        if (message.getSequence() != null) {
+            flags |= HAS_SEQUENCE;
+            size += varintSize(message.getSequence());
+        }
+        if (message.getLastSequence() != null) {
+            flags |= HAS_LAST_SEQUENCE;
+            size += varintSize(message.getLastSequence());
+        }
+
+        // 크기를 먼저 계산해 한 번만 할당한다
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(KIND_MESSAGE);
+        buffer.put((byte) flags);
+        if (message.getType() != null) {
+            writeVarint(buffer, message.getType().ordinal());
+        }
+        writeBytes(buffer, roomId);
+        writeBytes(buffer, sender);
+        writeBytes(buffer, text);
+        if (timestamp >= 0) {
+            writeVarint(buffer, timestamp);
+        }
+        if (message.getSequence() != null) {
+            writeVarint(buffer, message.getSequence());
+        }
+        if (message.getLastSequence() != null) {
+            writeVarint(buffer, message.getLastSequence());
+        }
+        return buffer.array();
+    }
+
+    public static byte[] encodeBatch(List<ChatMessage> messages) {
+        List<byte[]> frames = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            frames.add(encode(message));
+        }
+        return concatBatch(frames);
+    }
+
+    // 이미 인코딩된 단일 메시지 프레임들을 배치 프레임 하나로 묶는다 (재인코딩 없음)
+    static byte[] concatBatch(List<byte[]> frames) {
+        int size = 1 + varintSize(frames.size());
+        for (byte[] frame : frames) {
+            size += varintSize(frame.length) + frame.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(KIND_BATCH);
+        writeVarint(buffer, frames.size());
+        for (byte[] frame : frames) {
+            writeVarint(buffer, frame.length);
+            buffer.put(frame);
+        }
+        return buffer.array();
+    }
+
+    // 단일 메시지 또는 배치 프레임을 디코딩한다
+    public static List<ChatMessage> decodeAll(ByteBuffer payload) {
+        ByteBuffer buffer = payload.duplicate();
+        byte kind = buffer.get();
+        if (kind == KIND_MESSAGE) {
+            List<ChatMessage> single = new ArrayList<>(1);
+            single.add(decodeBody(buffer));
+            return single;
+        }
+        if (kind != KIND_BATCH) {
+            throw new IllegalArgumentException("알 수 없는 프레임 종류: " + kind);
+        }
+        int count = (int) readVarint(buffer);
+        List<ChatMessage> messages = new ArrayList<>(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            int length = (int) readVarint(buffer);
+            ByteBuffer frame = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            if (frame.get() != KIND_MESSAGE) {
+                throw new IllegalArgumentException("배치 안에는 단일 메시지만 올 수 있습니다.");
+            }
+            messages.add(decodeBody(frame));
+        }
+        return messages;
+    }
+
+    public static ChatMessage decode(ByteBuffer payload) {
+        ByteBuffer buffer = payload.duplicate();
+        byte kind = buffer.get();
+        if (kind != KIND_MESSAGE) {
+            throw new IllegalArgumentException("단일 메시지 프레임이 아닙니다: " + kind);
+        }
+        return decodeBody(buffer);
+    }
+
+    private static ChatMessage decodeBody(ByteBuffer buffer) {
+        int flags = buffer.get() & 0xFF;
+        ChatMessage message = new ChatMessage();
+        if ((flags & HAS_TYPE) != 0) {
+            int ordinal = (int) readVarint(buffer);
+            if (ordinal >= TYPES.length) {
+                throw new IllegalArgumentException("알 수 없는 메시지 타입: " + ordinal);
+            }
+            message.setType(TYPES[ordinal]);
+        }
+        if ((flags & HAS_ROOM_ID) != 0) {
+            message.setRoomId(readString(buffer));
+        }
+        if ((flags & HAS_SENDER) != 0) {
+            message.setSender(readString(buffer));
+        }
+        if ((flags & HAS_MESSAGE) != 0) {
+            message.setMessage(readString(buffer));
+        }
+        if ((flags & HAS_TIMESTAMP) != 0) {
+            message.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(readVarint(buffer)), ZoneId.systemDefault()));
+        }
+        if ((flags & HAS_SEQUENCE) != 0) {
+            message.setSequence(readVarint(buffer));
+        }
+        if ((flags & HAS_LAST_SEQUENCE) != 0) {
+            message.setLastSequence(readVarint(buffer));
+        }
+        return message;
+    }
+
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static void writeBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes != null) {
+            writeVarint(buffer, bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = (int) readVarint(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("문자열 길이가 프레임을 벗어납니다: " + length);
+        }
+        if (!buffer.hasArray()) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static void writeVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint 가 너무 깁니다.");
+    }
+}
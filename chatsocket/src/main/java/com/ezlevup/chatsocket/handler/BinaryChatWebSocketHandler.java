@@ -0,0 +1,79 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.model.ChatMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.nio.ByteBuffer;
+
+// chat.binary.v1 서브프로토콜로 접속한 세션의 바이너리 프레임 처리
+// 디코딩만 다르고 입장/대화/퇴장 처리와 세션 수명주기는 ChatWebSocketHandler 와 공유한다
+public class BinaryChatWebSocketHandler extends BinaryWebSocketHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryChatWebSocketHandler.class);
+
+    private final ChatWebSocketHandler chatWebSocketHandler;
+
+    public BinaryChatWebSocketHandler(ChatWebSocketHandler chatWebSocketHandler) {
+        this.chatWebSocketHandler = chatWebSocketHandler;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        chatWebSocketHandler.afterConnectionEstablished(session);
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        long receivedNanos = chatWebSocketHandler.getTracer().isEnabled() ? System.nanoTime() : 0;
+        ByteBuffer payload = message.getPayload();
+        MessageCounters counters = chatWebSocketHandler.getCounters();
+        counters.frameReceived();
+
+        // 메시지 크기 제한 (최대 1KB)
+        if (payload.remaining() > 1024) {
+            logger.warn("메시지 크기 초과 - 세션 ID: {}, 크기: {}bytes", session.getId(), payload.remaining());
+            chatWebSocketHandler.sendErrorMessage(session, "메시지가 너무 깁니다. (최대 1KB)");
+            return;
+        }
+        if (!chatWebSocketHandler.admitFrame(session, payload.remaining())) {
+            return;
+        }
+
+        // 빈 프레임은 PING 으로 취급
+        if (!payload.hasRemaining()) {
+            counters.pingReceived();
+            logger.debug("PING 메시지 수신 - 세션 ID: {}", session.getId());
+            return;
+        }
+
+        ChatMessage chatMessage;
+        long parsedNanos;
+        try {
+            long start = System.nanoTime();
+            chatMessage = BinaryChatCodec.decode(payload);
+            parsedNanos = System.nanoTime();
+            chatWebSocketHandler.getMetrics().recordParse(WireFormat.BINARY, parsedNanos - start);
+        } catch (RuntimeException e) {
+            counters.invalidFrame();
+            logger.error("바이너리 메시지 파싱 오류 - 세션 ID: {}, 오류: {}", session.getId(), e.getMessage());
+            chatWebSocketHandler.sendErrorMessage(session, "잘못된 메시지 형식입니다.");
+            return;
+        }
+        chatWebSocketHandler.handleChatMessage(session, chatMessage, receivedNanos, receivedNanos != 0 ? parsedNanos : 0);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+        chatWebSocketHandler.afterConnectionClosed(session, status);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+        chatWebSocketHandler.handleTransportError(session, exception);
+    }
+}
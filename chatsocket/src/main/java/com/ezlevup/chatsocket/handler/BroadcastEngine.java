@@ -0,0 +1,279 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.ChatRoom;
+import com.ezlevup.chatsocket.model.MessageType;
+import com.ezlevup.chatsocket.model.SessionOutboundStats;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+@Component
+public class BroadcastEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastEngine.class);
+
+    private final Executor broadcastTaskExecutor;
+    private final ChatProperties.Outbound outboundLimits;
+    private final SessionRegistry sessionRegistry;
+    private final MessageCounters counters = new MessageCounters();
+    private final ChatMetrics metrics;
+    // 메시지 합치기 창 타이머. 창이 끝나면 송신 작업만 broadcastTaskExecutor 에 넘긴다
+    private final ScheduledExecutorService coalesceTimer;
+    // chat.json-deflate.v1 세션으로 가는 큰 프레임 압축 (브로드캐스트 한 건당 한 번)
+    private final FrameCompressor compressor;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules();
+
+    public BroadcastEngine(Executor broadcastTaskExecutor,
+                           ChatProperties chatProperties,
+                           SessionRegistry sessionRegistry) {
+        this(broadcastTaskExecutor, chatProperties, sessionRegistry, new ChatMetrics());
+    }
+
+    @Autowired
+    public BroadcastEngine(@Qualifier("broadcastTaskExecutor") Executor broadcastTaskExecutor,
+                           ChatProperties chatProperties,
+                           SessionRegistry sessionRegistry,
+                           ChatMetrics metrics) {
+        this.broadcastTaskExecutor = broadcastTaskExecutor;
+        this.outboundLimits = chatProperties.getOutbound();
+        this.sessionRegistry = sessionRegistry;
+        this.metrics = metrics;
+        this.coalesceTimer = outboundLimits.isCoalesce() && !outboundLimits.getCoalesceWindow().isZero()
+                ? Executors.newSingleThreadScheduledExecutor(task -> {
+                    Thread thread = new Thread(task, "outbound-coalesce");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        this.compressor = new FrameCompressor(chatProperties.getCompression());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (coalesceTimer != null) {
+            coalesceTimer.shutdownNow();
+        }
+        compressor.close();
+    }
+
+    // 세션에 송신 버퍼를 붙여 레지스트리에 등록한다. 노드 세션 한도 초과 시 null
+    public SessionRecord register(WebSocketSession session) {
+        SessionOutbound outbound = new SessionOutbound(session, broadcastTaskExecutor, coalesceTimer, outboundLimits, counters, metrics);
+        return sessionRegistry.register(session, outbound);
+    }
+
+    public SessionRecord unregister(WebSocketSession session) {
+        SessionRecord record = sessionRegistry.unregister(session.getId());
+        if (record != null) {
+            record.getOutbound().close();
+        }
+        return record;
+    }
+
+    public TextMessage encode(ChatMessage message) {
+        // 입장/퇴장 알림은 미리 직렬화한 템플릿으로 만든다 (재접속 폭주 시 직렬화 부담 감소)
+        byte[] templated = SystemFrameEncoder.tryEncode(message);
+        if (templated != null) {
+            return new TextMessage(templated);
+        }
+        try {
+            // 바이트 기반 프레임은 송신 버퍼의 크기 계산 시 재인코딩이 필요 없다
+            return new TextMessage(objectMapper.writeValueAsBytes(message));
+        } catch (JsonProcessingException e) {
+            logger.error("메시지 직렬화 오류: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // 이미 인코딩된 메시지들을 JSON 배열 하나로 이어 붙인다 (재직렬화 없이 바이트 복사만 수행)
+    public TextMessage encodeBatch(List<byte[]> frames) {
+        return new TextMessage(FrameCoalescer.jsonArray(frames));
+    }
+
+    public int broadcast(ChatRoom room, ChatMessage message, WebSocketSession excludeSession) {
+        // 방 인원 수와 관계없이 직렬화는 한 번만 수행하고 같은 프레임을 공유한다
+        TextMessage frame = encode(message);
+        if (frame == null) {
+            return 0;
+        }
+        return broadcast(room, message, frame, excludeSession);
+    }
+
+    public int broadcast(ChatRoom room, ChatMessage message, TextMessage frame, WebSocketSession excludeSession) {
+        return broadcast(room, message, frame, excludeSession, null);
+    }
+
+    // trace 가 있으면 수신자별 전송 완료를 기록할 수 있도록 송신 버퍼에 프레임과 함께 등록한다
+    public int broadcast(ChatRoom room, ChatMessage message, TextMessage frame, WebSocketSession excludeSession,
+                         MessageTrace trace) {
+        long start = System.nanoTime();
+        // 바이너리 프레임은 바이너리 세션이 있을 때만 한 번 인코딩한다
+        byte[] binaryFrame = null;
+        // 압축 프레임도 압축 세션이 있을 때만 한 번 만든다 (null 이면 임계값 미만이라 원래 프레임 사용)
+        byte[] deflatedFrame = null;
+        boolean deflateAttempted = false;
+        int queuedCount = 0;
+        int rejectedCount = 0;
+        // 반복자를 만들지 않도록 인덱스로 순회한다
+        List<WebSocketSession> members = room.getMembers();
+        for (int i = 0, size = members.size(); i < size; i++) {
+            WebSocketSession session = members.get(i);
+            if (!session.isOpen()) {
+                continue;
+            }
+            // TALK 메시지의 경우에만 전송자 제외, 다른 메시지는 모두에게 전송
+            if (message.getType() == MessageType.TALK && session.equals(excludeSession)) {
+                continue;
+            }
+
+            SessionRecord record = sessionRegistry.find(session.getId());
+            if (record == null) {
+                continue;
+            }
+            WebSocketMessage<?> outbound = frame;
+            if (record.getWireFormat() == WireFormat.BINARY) {
+                if (binaryFrame == null) {
+                    binaryFrame = BinaryChatCodec.encode(message);
+                }
+                // ByteBuffer 위치는 전송 시 바뀌므로 바이트 배열만 공유하고 메시지는 세션마다 만든다
+                outbound = new BinaryMessage(binaryFrame);
+            } else if (record.getWireFormat() == WireFormat.JSON_DEFLATE) {
+                if (!deflateAttempted) {
+                    deflatedFrame = compress(frame);
+                    deflateAttempted = true;
+                }
+                if (deflatedFrame != null) {
+                    outbound = new BinaryMessage(deflatedFrame);
+                }
+            }
+            if (trace != null) {
+                trace.recipientQueued();
+            }
+            if (record.getOutbound().enqueue(outbound, trace)) {
+                queuedCount++;
+            } else {
+                rejectedCount++;
+                if (trace != null) {
+                    trace.recipientDropped();
+                }
+            }
+        }
+        if (trace != null) {
+            trace.enqueued(queuedCount);
+        }
+        metrics.outbound(message.getType(), queuedCount, rejectedCount);
+        metrics.recordFanOut(room.getRoomId(), System.nanoTime() - start, queuedCount);
+        return queuedCount;
+    }
+
+    // 세션의 협상된 형식(JSON/바이너리)으로 메시지 하나를 보낸다
+    public void send(WebSocketSession session, ChatMessage message) throws IOException {
+        SessionRecord record = sessionRegistry.find(session.getId());
+        if (record != null && record.getWireFormat() == WireFormat.BINARY) {
+            send(session, new BinaryMessage(BinaryChatCodec.encode(message)));
+            return;
+        }
+        TextMessage frame = encode(message);
+        if (frame != null) {
+            send(session, forWireFormat(record, frame));
+        }
+    }
+
+    // 고정 문구 에러 메시지. JSON 세션에는 초 단위로 캐시된 프레임을 보낸다
+    public void sendError(WebSocketSession session, String errorMessage) throws IOException {
+        SessionRecord record = sessionRegistry.find(session.getId());
+        if (record != null && record.getWireFormat() == WireFormat.BINARY) {
+            send(session, new BinaryMessage(BinaryChatCodec.encode(SystemFrameEncoder.error(errorMessage))));
+            return;
+        }
+        send(session, forWireFormat(record, SystemFrameEncoder.errorFrame(errorMessage)));
+    }
+
+    // 인코딩된 JSON 메시지들을 배치 프레임 하나로 보낸다 (바이너리 세션은 변환해서 전송)
+    public void sendBatch(WebSocketSession session, List<byte[]> jsonFrames) throws IOException {
+        SessionRecord record = sessionRegistry.find(session.getId());
+        if (record != null && record.getWireFormat() == WireFormat.BINARY) {
+            List<ChatMessage> messages = new ArrayList<>(jsonFrames.size());
+            for (byte[] jsonFrame : jsonFrames) {
+                messages.add(objectMapper.readValue(jsonFrame, ChatMessage.class));
+            }
+            send(session, new BinaryMessage(BinaryChatCodec.encodeBatch(messages)));
+            return;
+        }
+        send(session, forWireFormat(record, encodeBatch(jsonFrames)));
+    }
+
+    public void send(WebSocketSession session, WebSocketMessage<?> frame) throws IOException {
+        SessionRecord record = sessionRegistry.find(session.getId());
+        if (record != null) {
+            record.getOutbound().enqueue(frame);
+            return;
+        }
+        // 등록되지 않은 세션(연결 거부 등)은 송신 큐가 없으므로 직접 전송
+        session.sendMessage(frame);
+    }
+
+    // 압축 세션에는 임계값 이상의 JSON 프레임을 압축한 바이너리 프레임으로 보낸다
+    private WebSocketMessage<?> forWireFormat(SessionRecord record, TextMessage frame) {
+        if (record == null || record.getWireFormat() != WireFormat.JSON_DEFLATE) {
+            return frame;
+        }
+        byte[] deflated = compress(frame);
+        return deflated != null ? new BinaryMessage(deflated) : frame;
+    }
+
+    private byte[] compress(TextMessage frame) {
+        byte[] raw = frame.asBytes();
+        if (raw.length < compressor.getThreshold()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        byte[] deflated = compressor.compress(raw);
+        metrics.recordCompression(raw.length, deflated != null ? deflated.length : raw.length, System.nanoTime() - start);
+        return deflated;
+    }
+
+    public MessageCounters getCounters() {
+        return counters;
+    }
+
+    public ChatMetrics getMetrics() {
+        return metrics;
+    }
+
+    public List<SessionOutboundStats> getOutboundStats() {
+        List<SessionOutboundStats> stats = new ArrayList<>(sessionRegistry.getSessionCount());
+        sessionRegistry.forEach(record -> {
+            SessionOutbound outbound = record.getOutbound();
+            stats.add(new SessionOutboundStats(
+                    record.getSessionId(),
+                    record.getSender(),
+                    record.getRoomId(),
+                    outbound.getQueuedMessages(),
+                    outbound.getQueuedBytes(),
+                    outbound.getSentCount(),
+                    outbound.getDroppedCount()
+            ));
+        });
+        return stats;
+    }
+}
@@ -0,0 +1,166 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.model.MessageType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 메시지 처리 경로의 Micrometer 계측 (타입별 카운터, 파싱/브로드캐스트/송신 시간 분포)
+// 미터는 생성 시 한 번만 등록하고 핫 패스에서는 조회 없이 바로 기록한다
+@Component
+public class ChatMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMetrics.class);
+
+    private final Map<MessageType, Counter> inbound = new EnumMap<>(MessageType.class);
+    private final Map<MessageType, Counter> outbound = new EnumMap<>(MessageType.class);
+    private final Map<MessageType, Counter> dropped = new EnumMap<>(MessageType.class);
+    private final Map<DropReason, Counter> droppedFrames = new EnumMap<>(DropReason.class);
+    private final Map<WireFormat, Timer> parseTimers = new EnumMap<>(WireFormat.class);
+    private final Timer fanOutTimer;
+    private final DistributionSummary fanOutRecipients;
+    private final Timer sendTimer;
+    private final DistributionSummary coalescedMessages;
+    private final Timer compressTimer;
+    private final Counter compressRawBytes;
+    private final Counter compressedBytes;
+    private final Map<RateLimitScope, Map<RateLimitAction, Counter>> rateLimited = new EnumMap<>(RateLimitScope.class);
+    private final long slowBroadcastNanos;
+
+    // 테스트/벤치마크용: 메모리 레지스트리에 기록
+    public ChatMetrics() {
+        this(new SimpleMeterRegistry(), new ChatProperties());
+    }
+
+    @Autowired
+    public ChatMetrics(MeterRegistry registry, ChatProperties chatProperties) {
+        for (MessageType type : MessageType.values()) {
+            inbound.put(type, Counter.builder("chat.messages.inbound")
+                    .description("수신한 채팅 메시지 수")
+                    .tag("type", type.name())
+                    .register(registry));
+            outbound.put(type, Counter.builder("chat.messages.outbound")
+                    .description("송신 버퍼에 등록된 메시지 수 (수신자 단위)")
+                    .tag("type", type.name())
+                    .register(registry));
+            dropped.put(type, Counter.builder("chat.messages.dropped")
+                    .description("송신 버퍼가 거부한 메시지 수 (수신자 단위)")
+                    .tag("type", type.name())
+                    .register(registry));
+        }
+        for (DropReason reason : DropReason.values()) {
+            droppedFrames.put(reason, Counter.builder("chat.outbound.dropped")
+                    .description("송신 버퍼가 전달하지 못하고 버린 프레임 수 (수신자 단위, 밀려나거나 닫히거나 전송 실패한 프레임 포함)")
+                    .tag("reason", reason.name())
+                    .register(registry));
+        }
+        for (WireFormat format : WireFormat.values()) {
+            parseTimers.put(format, Timer.builder("chat.inbound.parse")
+                    .description("수신 프레임 디코딩 시간")
+                    .tag("format", format.name())
+                    .register(registry));
+        }
+        this.fanOutTimer = Timer.builder("chat.broadcast.fanout")
+                .description("브로드캐스트 한 건을 방 참여자 송신 버퍼에 등록하는 시간")
+                .register(registry);
+        this.fanOutRecipients = DistributionSummary.builder("chat.broadcast.recipients")
+                .description("브로드캐스트 한 건의 수신 세션 수")
+                .register(registry);
+        this.sendTimer = Timer.builder("chat.outbound.send")
+                .description("세션 하나에 프레임 하나를 쓰는 시간")
+                .register(registry);
+        this.coalescedMessages = DistributionSummary.builder("chat.outbound.coalesced")
+                .description("합치기 모드에서 프레임 하나에 담긴 메시지 수")
+                .register(registry);
+        this.compressTimer = Timer.builder("chat.outbound.compress")
+                .description("프레임 하나를 압축하는 시간 (브로드캐스트 한 건당 한 번)")
+                .register(registry);
+        this.compressRawBytes = Counter.builder("chat.outbound.compress.bytes")
+                .description("압축 전후 프레임 크기 합계")
+                .baseUnit("bytes")
+                .tag("stage", "raw")
+                .register(registry);
+        this.compressedBytes = Counter.builder("chat.outbound.compress.bytes")
+                .description("압축 전후 프레임 크기 합계")
+                .baseUnit("bytes")
+                .tag("stage", "compressed")
+                .register(registry);
+        for (RateLimitScope scope : RateLimitScope.values()) {
+            Map<RateLimitAction, Counter> byAction = new EnumMap<>(RateLimitAction.class);
+            for (RateLimitAction action : RateLimitAction.values()) {
+                byAction.put(action, Counter.builder("chat.ratelimit.limited")
+                        .description("전송 속도 제한에 걸린 메시지 수")
+                        .tag("scope", scope.name())
+                        .tag("action", action.name())
+                        .register(registry));
+            }
+            rateLimited.put(scope, byAction);
+        }
+        this.slowBroadcastNanos = chatProperties.getMetrics().getSlowBroadcastThreshold().toNanos();
+    }
+
+    public void inbound(MessageType type) {
+        if (type != null) {
+            inbound.get(type).increment();
+        }
+    }
+
+    public void recordParse(WireFormat format, long nanos) {
+        parseTimers.get(format).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void outbound(MessageType type, int queued, int rejected) {
+        if (type == null) {
+            return;
+        }
+        if (queued > 0) {
+            outbound.get(type).increment(queued);
+        }
+        if (rejected > 0) {
+            dropped.get(type).increment(rejected);
+        }
+    }
+
+    void droppedFrames(DropReason reason, int count) {
+        droppedFrames.get(reason).increment(count);
+    }
+
+    // 느린 방을 찾을 수 있도록 임계값을 넘긴 브로드캐스트는 방 ID 와 함께 남긴다
+    void recordFanOut(String roomId, long nanos, int recipients) {
+        fanOutTimer.record(nanos, TimeUnit.NANOSECONDS);
+        fanOutRecipients.record(recipients);
+        if (nanos > slowBroadcastNanos) {
+            logger.warn("느린 브로드캐스트 - 방: {}, 수신 세션 수: {}, 소요 시간: {}ms",
+                    roomId, recipients, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    void rateLimited(RateLimitScope scope, RateLimitAction action) {
+        rateLimited.get(scope).get(action).increment();
+    }
+
+    void recordCoalesced(int messages) {
+        coalescedMessages.record(messages);
+    }
+
+    void recordCompression(int rawBytes, int compressed, long nanos) {
+        compressTimer.record(nanos, TimeUnit.NANOSECONDS);
+        compressRawBytes.increment(rawBytes);
+        compressedBytes.increment(compressed);
+    }
+
+    void recordSend(long nanos) {
+        sendTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ezlevup.chatsocket.handler;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+// 핸드셰이크에서 협상된 서브프로토콜에 따라 JSON/바이너리 핸들러로 나눠 보낸다
+// 서브프로토콜을 지정하지 않은 기존 클라이언트는 JSON 으로 처리된다
+public class ChatProtocolDispatcher implements WebSocketHandler {
+
+    private final ChatWebSocketHandler jsonHandler;
+    private final BinaryChatWebSocketHandler binaryHandler;
+
+    public ChatProtocolDispatcher(ChatWebSocketHandler jsonHandler, BinaryChatWebSocketHandler binaryHandler) {
+        this.jsonHandler = jsonHandler;
+        this.binaryHandler = binaryHandler;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        select(session).afterConnectionEstablished(session);
+    }
+
+    @Override
+    public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+        select(session).handleMessage(session, message);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+        select(session).handleTransportError(session, exception);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        select(session).afterConnectionClosed(session, closeStatus);
+    }
+
+    @Override
+    public boolean supportsPartialMessages() {
+        return false;
+    }
+
+    private WebSocketHandler select(WebSocketSession session) {
+        return WireFormat.fromSubprotocol(session.getAcceptedProtocol()) == WireFormat.BINARY ? binaryHandler : jsonHandler;
+    }
+}
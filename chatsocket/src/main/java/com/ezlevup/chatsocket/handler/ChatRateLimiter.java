@@ -0,0 +1,162 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 세션/사용자/방 단위 전송 속도 제한 (초당 메시지 수와 초당 바이트 수)
+// 버킷 갱신은 CAS 한 번이라 메시지 처리 스레드끼리 잠금 경합이 없다
+@Component
+public class ChatRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatRateLimiter.class);
+
+    public enum Decision {
+        ALLOW,
+        REJECT,
+        DISCONNECT
+    }
+
+    private final boolean enabled;
+    private final RateLimitAction action;
+    private final long maxWaitNanos;
+    private final ChatProperties.RateLimit config;
+    private final ChatMetrics metrics;
+
+    private final ConcurrentHashMap<String, Buckets> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Buckets> senders = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Buckets> rooms = new ConcurrentHashMap<>();
+
+    public ChatRateLimiter(ChatProperties chatProperties) {
+        this(chatProperties, new ChatMetrics());
+    }
+
+    @Autowired
+    public ChatRateLimiter(ChatProperties chatProperties, ChatMetrics metrics) {
+        this.config = chatProperties.getRateLimit();
+        this.enabled = config.isEnabled();
+        this.action = config.getAction();
+        // DELAY 가 아니면 기다리지 않고 바로 판단한다
+        this.maxWaitNanos = action == RateLimitAction.DELAY ? config.getMaxDelay().toNanos() : 0;
+        this.metrics = metrics;
+    }
+
+    // 수신 프레임 하나 (파싱 전, 세션 단위)
+    public Decision admitFrame(String sessionId, int frameSize) {
+        if (!enabled) {
+            return Decision.ALLOW;
+        }
+        return admit(RateLimitScope.SESSION, sessions, config.getSession(), sessionId, frameSize);
+    }
+
+    // 방으로 브로드캐스트될 대화 메시지 하나 (사용자 단위, 방 단위)
+    public Decision admitChat(String sender, String roomId, int messageSize) {
+        if (!enabled) {
+            return Decision.ALLOW;
+        }
+        if (sender != null) {
+            Decision decision = admit(RateLimitScope.SENDER, senders, config.getSender(), sender, messageSize);
+            if (decision != Decision.ALLOW) {
+                return decision;
+            }
+        }
+        Decision decision = admit(RateLimitScope.ROOM, rooms, config.getRoom(), roomId, messageSize);
+        if (decision != Decision.ALLOW && sender != null) {
+            // 방 제한으로 버려지는 메시지가 보낸 사람의 한도를 쓰지 않도록 되돌린다
+            Buckets buckets = senders.get(sender);
+            if (buckets != null) {
+                buckets.refund(messageSize);
+            }
+        }
+        return decision;
+    }
+
+    public void release(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    // 가득 찬 버킷은 새로 만들어도 결과가 같으므로 주기적으로 비운다 (사용자/방 수만큼 쌓이지 않도록)
+    @Scheduled(fixedRate = 60000)
+    public void evictIdle() {
+        long now = System.nanoTime();
+        senders.values().removeIf(buckets -> buckets.isIdle(now));
+        rooms.values().removeIf(buckets -> buckets.isIdle(now));
+    }
+
+    int getTrackedKeyCount() {
+        return sessions.size() + senders.size() + rooms.size();
+    }
+
+    private Decision admit(RateLimitScope scope, ConcurrentHashMap<String, Buckets> table,
+                           ChatProperties.RateLimit.Limit limit, String key, int size) {
+        if (!limit.isLimited()) {
+            return Decision.ALLOW;
+        }
+        Buckets buckets = table.get(key);
+        if (buckets == null) {
+            buckets = table.computeIfAbsent(key, k -> new Buckets(limit));
+        }
+
+        long wait = buckets.acquire(size, System.nanoTime(), maxWaitNanos);
+        if (wait <= 0) {
+            return Decision.ALLOW;
+        }
+        if (wait <= maxWaitNanos) {
+            metrics.rateLimited(scope, RateLimitAction.DELAY);
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+                return Decision.ALLOW;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                buckets.refund(size);
+                return Decision.REJECT;
+            }
+        }
+
+        if (action == RateLimitAction.DISCONNECT) {
+            metrics.rateLimited(scope, RateLimitAction.DISCONNECT);
+            return Decision.DISCONNECT;
+        }
+        metrics.rateLimited(scope, RateLimitAction.REJECT);
+        logger.debug("전송 속도 제한 - 범위: {}, 키: {}", scope, key);
+        return Decision.REJECT;
+    }
+
+    // 메시지 수 버킷과 바이트 수 버킷을 함께 통과해야 한다 (한쪽이 거부하면 다른 쪽 예약은 되돌린다)
+    private static final class Buckets {
+        private final TokenBucket messages;
+        private final TokenBucket bytes;
+
+        private Buckets(ChatProperties.RateLimit.Limit limit) {
+            this.messages = new TokenBucket(limit.getMessagesPerSecond(), limit.getMessageBurst());
+            this.bytes = new TokenBucket(limit.getBytesPerSecond().toBytes(), limit.getByteBurst().toBytes());
+        }
+
+        private long acquire(int size, long now, long maxWaitNanos) {
+            long messageWait = messages.acquire(1, now, maxWaitNanos);
+            if (messageWait > maxWaitNanos) {
+                return messageWait;
+            }
+            long byteWait = bytes.acquire(size, now, maxWaitNanos);
+            if (byteWait > maxWaitNanos) {
+                messages.refund(1);
+            }
+            return Math.max(messageWait, byteWait);
+        }
+
+        private void refund(int size) {
+            messages.refund(1);
+            bytes.refund(size);
+        }
+
+        private boolean isIdle(long now) {
+            return messages.isIdle(now) && bytes.isIdle(now);
+        }
+    }
+}
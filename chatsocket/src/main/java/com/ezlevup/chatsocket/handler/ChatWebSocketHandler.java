@@ -1,10 +1,13 @@
 package com.ezlevup.chatsocket.handler;
 
+import com.ezlevup.chatsocket.cluster.Backplane;
+import com.ezlevup.chatsocket.config.ChatProperties;
 import com.ezlevup.chatsocket.model.ChatMessage;
 import com.ezlevup.chatsocket.model.ChatRoom;
 import com.ezlevup.chatsocket.model.ChatRoomRepository;
-import com.ezlevup.chatsocket.model.MessageType;
+import com.ezlevup.chatsocket.service.ChatMessageLog;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,39 +18,83 @@ import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class ChatWebSocketHandler extends TextWebSocketHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(ChatWebSocketHandler.class);
     
-    private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
-    private final ConcurrentHashMap<String, String> sessionRoomMap = new ConcurrentHashMap<>();
     private final ObjectMapper objectMapper = new ObjectMapper()
             .findAndRegisterModules();
     
     @Autowired
     private ChatRoomRepository chatRoomRepository;
 
+    @Autowired
+    private BroadcastEngine broadcastEngine;
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
+    @Autowired
+    private ChatProperties chatProperties;
+
+    @Autowired
+    private ChatMessageLog chatMessageLog;
+
+    @Autowired
+    private Backplane backplane;
+
+    @Autowired
+    private HotPathLog hotPathLog;
+
+    @Autowired
+    private ChatRateLimiter rateLimiter;
+
+    @Autowired
+    private LobbyFeed lobbyFeed;
+
+    @Autowired
+    private MessageTracer messageTracer;
+
+    @Autowired
+    private RoomWorkers roomWorkers;
+
+    @PostConstruct
+    public void startBackplane() {
+        // 다른 노드에서 발행된 메시지를 이 노드의 방 참여자에게 전달
+        backplane.start(this::handleBackplaneMessage);
+        // 방 삭제/만료/기록 비우기도 입장/퇴장과 같은 방 워커에서 처리한다
+        chatRoomRepository.setRoomExecutor(roomWorkers::execute);
+        // 빈 방이 유예 시간 뒤 삭제되면 다른 노드의 메시지 구독도 해제한다 (유예 중에는 기록을 계속 받는다)
+        chatRoomRepository.setRoomExpiryListener(roomId -> {
+            if (!chatRoomRepository.existsById(roomId)) {
+                backplane.unsubscribe(roomId);
+            }
+        });
+    }
+
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        // 세션 제한 확인 (최대 1000개 세션)
-        if (sessions.size() >= 1000) {
+        // 세션 제한 확인 (노드당 chat.session.max-sessions)
+        if (broadcastEngine.register(session) == null) {
             logger.warn("최대 세션 수 초과, 연결 거부: {}", session.getId());
             session.close(CloseStatus.SERVICE_OVERLOAD);
             return;
         }
         
-        sessions.add(session);
         logger.info("웹소켓 연결: {}", session.getId());
-        logger.info("현재 연결된 세션 수: {}", sessions.size());
+        logger.info("현재 연결된 세션 수: {}", sessionRegistry.getSessionCount());
     }
 
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        // 추적을 켠 경우에만 수신 시각을 잰다. 샘플링은 브로드캐스트가 확정된 뒤에 한다
+        long receivedNanos = messageTracer.isEnabled() ? System.nanoTime() : 0;
         String payload = message.getPayload();
         
         // 메시지 크기 제한 (최대 1KB)
@@ -57,62 +104,106 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             return;
         }
         
-        logger.info("받은 메시지: {}", payload.length() > 100 ? payload.substring(0, 100) + "..." : payload);
-        
-        // PING 메시지 처리
-        if (payload.contains("\"type\":\"PING\"")) {
-            logger.debug("PING 메시지 수신 - 세션 ID: {}", session.getId());
-            return; // PING 메시지는 무시
+        broadcastEngine.getCounters().frameReceived();
+        // 세션 전송 속도 제한은 파싱 전에 판단한다
+        if (!admitFrame(session, payload.length())) {
+            return;
+        }
+        if (hotPathLog.shouldLog(HotPathLog.Category.INBOUND)) {
+            logger.info("받은 메시지: {}", payload.length() > 100 ? payload.substring(0, 100) + "..." : payload);
         }
         
         try {
-            ChatMessage chatMessage = objectMapper.readValue(payload, ChatMessage.class);
-            
-            // 메시지 내용 검증
-            if (chatMessage.getMessage() != null && chatMessage.getMessage().length() > 500) {
-                sendErrorMessage(session, "메시지 내용이 너무 깁니다. (최대 500자)");
-                return;
+            // 필요한 필드만 한 번에 읽는 스트리밍 디코더 (PING 도 여기서 판별)
+            long start = System.nanoTime();
+            ChatMessage chatMessage = JsonChatDecoder.decode(payload);
+            long parsedNanos = System.nanoTime();
+            broadcastEngine.getMetrics().recordParse(WireFormat.JSON, parsedNanos - start);
+            if (chatMessage == JsonChatDecoder.PING) {
+                broadcastEngine.getCounters().pingReceived();
+                logger.debug("PING 메시지 수신 - 세션 ID: {}", session.getId());
+                return; // PING 메시지는 무시
             }
-            
-            handleMessageByType(session, chatMessage);
+            handleChatMessage(session, chatMessage, receivedNanos, receivedNanos != 0 ? parsedNanos : 0);
         } catch (Exception e) {
+            broadcastEngine.getCounters().invalidFrame();
             logger.error("메시지 파싱 오류 - 세션 ID: {}, 오류: {}", session.getId(), e.getMessage());
             sendErrorMessage(session, "잘못된 메시지 형식입니다.");
         }
     }
 
+    MessageCounters getCounters() {
+        return broadcastEngine.getCounters();
+    }
+
+    ChatMetrics getMetrics() {
+        return broadcastEngine.getMetrics();
+    }
+
+    MessageTracer getTracer() {
+        return messageTracer;
+    }
+
+    boolean admitFrame(WebSocketSession session, int frameSize) {
+        return admit(session, rateLimiter.admitFrame(session.getId(), frameSize));
+    }
+
+    // 텍스트/바이너리 프레임에서 디코딩된 메시지를 같은 경로로 처리
+    // receivedNanos/parsedNanos: 추적용 수신/파싱 완료 시각 (추적을 끄면 0)
+    void handleChatMessage(WebSocketSession session, ChatMessage chatMessage, long receivedNanos, long parsedNanos) {
+        broadcastEngine.getMetrics().inbound(chatMessage.getType());
+        // 메시지 내용 검증
+        if (chatMessage.getMessage() != null && chatMessage.getMessage().length() > 500) {
+            sendErrorMessage(session, "메시지 내용이 너무 깁니다. (최대 500자)");
+            return;
+        }
+        
+        handleMessageByType(session, chatMessage, receivedNanos, parsedNanos);
+    }
+
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
         handleUserLeave(session);
-        sessions.remove(session);
+        lobbyFeed.unsubscribe(session);
+        broadcastEngine.unregister(session);
+        rateLimiter.release(session.getId());
         logger.info("웹소켓 연결 종료: {}", session.getId());
-        logger.info("현재 연결된 세션 수: {}", sessions.size());
+        logger.info("현재 연결된 세션 수: {}", sessionRegistry.getSessionCount());
     }
 
     @Override
     public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
         logger.error("웹소켓 전송 오류 - 세션 ID: {}, 오류: {}", session.getId(), exception.getMessage());
         handleUserLeave(session);
-        sessions.remove(session);
+        lobbyFeed.unsubscribe(session);
+        broadcastEngine.unregister(session);
+        rateLimiter.release(session.getId());
     }
 
-    private void handleMessageByType(WebSocketSession session, ChatMessage chatMessage) {
+    private void handleMessageByType(WebSocketSession session, ChatMessage chatMessage, long receivedNanos, long parsedNanos) {
+        if (chatMessage.getType() == null) {
+            sendErrorMessage(session, "잘못된 메시지 형식입니다.");
+            return;
+        }
         switch (chatMessage.getType()) {
             case ENTER:
-                handleUserEnter(session, chatMessage);
+                handleUserEnter(session, chatMessage, receivedNanos, parsedNanos);
                 break;
             case TALK:
-                handleUserTalk(session, chatMessage);
+                handleUserTalk(session, chatMessage, receivedNanos, parsedNanos);
                 break;
             case QUIT:
                 handleUserQuit(session, chatMessage);
                 break;
+            case LOBBY:
+                handleLobby(session, chatMessage);
+                break;
             default:
                 logger.warn("알 수 없는 메시지 타입: {}", chatMessage.getType());
         }
     }
 
-    private void handleUserEnter(WebSocketSession session, ChatMessage chatMessage) {
+    private void handleUserEnter(WebSocketSession session, ChatMessage chatMessage, long receivedNanos, long parsedNanos) {
         String roomId = chatMessage.getRoomId();
         String sender = chatMessage.getSender();
         
@@ -121,61 +212,159 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             return;
         }
         
-        // 세션에 사용자 정보 저장
-        session.getAttributes().put("sender", sender);
+        SessionRecord record = sessionRegistry.find(session.getId());
+        if (record == null) {
+            return;
+        }
+        
+        // 다른 방에 이미 입장한 경우 기존 방에서 먼저 퇴장
+        if (record.getRoomId() != null && !record.getRoomId().equals(roomId)) {
+            handleUserLeave(session);
+        }
+        
+        // 세션 레코드에 사용자 정보와 방 소속을 먼저 저장한다
+        // (이어서 보낸 TALK 는 방을 맡은 워커 대기열에서 이 입장 처리 뒤에 실행된다)
+        record.setSender(sender);
+        record.setRoomId(roomId);
+        Long lastSequence = chatMessage.getLastSequence();
+        roomWorkers.execute(roomId, () -> joinRoom(session, record, roomId, sender, lastSequence, receivedNanos, parsedNanos));
+    }
+
+    // 방을 맡은 워커에서 실행: 입장, 놓친 메시지 재전송, 입장 알림
+    private void joinRoom(WebSocketSession session, SessionRecord record, String roomId, String sender,
+                          Long lastSequence, long receivedNanos, long parsedNanos) {
+        // 방 조회/생성과 입장을 한 번에 처리한다 (빈 방 만료 삭제와 겹치지 않음)
+        ChatRoom room = chatRoomRepository.joinRoom(roomId, "Room " + roomId.substring(0, Math.min(8, roomId.length())),
+                session, chatProperties.getSession().getMaxSessionsPerRoom());
+        if (room == null) {
+            record.clearRoomId(roomId);
+            logger.warn("채팅방 인원 초과, 입장 거부: {} -> 방: {}", sender, roomId);
+            sendErrorMessage(session, "채팅방 인원이 가득 찼습니다.");
+            return;
+        }
+        if (chatMessageLog.isEnabled()) {
+            // 방이 다시 만들어진 경우에도 로그에 기록된 순번 이후부터 이어서 부여
+            room.advanceSequence(chatMessageLog.lastSequence(roomId));
+        }
         
-        ChatRoom room = chatRoomRepository.getOrCreateRoom(roomId, "Room " + roomId.substring(0, Math.min(8, roomId.length())));
-        room.addSession(session);
-        sessionRoomMap.put(session.getId(), roomId);
+        // 이 노드에 참여자가 있는 방만 다른 노드의 메시지를 받는다
+        backplane.subscribe(roomId);
         
         logger.info("사용자 입장: {} -> 방: {}", sender, roomId);
         
-        ChatMessage enterMessage = new ChatMessage(MessageType.ENTER, roomId, sender, sender + "님이 입장하셨습니다.");
-        broadcastToRoom(roomId, enterMessage, null);
+        // 재접속한 사용자에게 놓친 메시지(또는 최근 메시지)를 먼저 전송
+        replayHistory(session, room, lastSequence);
+        
+        ChatMessage enterMessage = SystemFrameEncoder.enterNotice(roomId, sender);
+        broadcastToRoom(roomId, enterMessage, null, messageTracer.start(receivedNanos, parsedNanos));
     }
 
-    private void handleUserTalk(WebSocketSession session, ChatMessage chatMessage) {
-        String roomId = sessionRoomMap.get(session.getId());
+    private void handleUserTalk(WebSocketSession session, ChatMessage chatMessage, long receivedNanos, long parsedNanos) {
+        SessionRecord record = sessionRegistry.find(session.getId());
+        String roomId = record != null ? record.getRoomId() : null;
         if (roomId == null) {
             sendErrorMessage(session, "채팅방에 입장 후 메시지를 보내주세요.");
             return;
         }
+        // 사용자/방 단위 제한 (한 사용자가 방 전체의 브로드캐스트 용량을 차지하지 못하도록)
+        int messageSize = chatMessage.getMessage() != null ? chatMessage.getMessage().length() : 0;
+        if (!admit(session, rateLimiter.admitChat(record.getSender(), roomId, messageSize))) {
+            return;
+        }
         
         chatMessage.setRoomId(roomId);
-        logger.info("채팅 메시지: {} -> 방: {}, 내용: {}", chatMessage.getSender(), roomId, chatMessage.getMessage());
+        // 수신 시각이 아니라 서버가 브로드캐스트하는 시각을 기록
+        chatMessage.setTimestamp(LocalDateTime.now());
+        if (hotPathLog.shouldLog(HotPathLog.Category.CHAT)) {
+            logger.info("채팅 메시지: {} -> 방: {}, 내용: {}", chatMessage.getSender(), roomId, chatMessage.getMessage());
+        }
         
         // 모든 사용자에게 메시지 브로드캐스트 (자신 포함)
-        broadcastToRoom(roomId, chatMessage, null);
+        boolean accepted = roomWorkers.tryExecute(roomId, () -> {
+            // 워커에서는 앞서 보낸 입장/퇴장이 모두 반영되어 있다 (입장이 거부된 세션의 메시지는 보내지 않음)
+            if (chatRoomRepository.findRoomById(roomId).filter(room -> room.hasSession(session)).isEmpty()) {
+                return;
+            }
+            // 브로드캐스트가 확정된 메시지만 샘플링한다 (크기/파싱/속도 제한/입장 거부로 버려진 메시지는 추적하지 않음)
+            broadcastToRoom(roomId, chatMessage, null, messageTracer.start(receivedNanos, parsedNanos));
+        });
+        if (!accepted) {
+            sendErrorMessage(session, "서버가 혼잡해 메시지를 보내지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
     }
 
     private void handleUserQuit(WebSocketSession session, ChatMessage chatMessage) {
         handleUserLeave(session);
     }
 
+    // {"type":"LOBBY"} 로 방 목록 변경분을 구독하고, message 가 "unsubscribe" 이면 해지한다
+    private void handleLobby(WebSocketSession session, ChatMessage chatMessage) {
+        if ("unsubscribe".equals(chatMessage.getMessage())) {
+            lobbyFeed.unsubscribe(session);
+            return;
+        }
+        SessionRecord record = sessionRegistry.find(session.getId());
+        if (record == null) {
+            return;
+        }
+        // 로비 프레임은 JSON 으로만 만든다
+        if (record.getWireFormat() == WireFormat.BINARY) {
+            sendErrorMessage(session, "로비 구독은 JSON 연결에서만 지원합니다.");
+            return;
+        }
+        lobbyFeed.subscribe(session);
+        logger.info("로비 구독: {}", session.getId());
+    }
+
     private void handleUserLeave(WebSocketSession session) {
-        String roomId = sessionRoomMap.remove(session.getId());
+        SessionRecord record = sessionRegistry.find(session.getId());
+        if (record == null) {
+            return;
+        }
+        
+        String roomId = record.clearRoomId();
         if (roomId != null) {
-            Optional<ChatRoom> roomOpt = chatRoomRepository.findRoomById(roomId);
-            if (roomOpt.isPresent()) {
-                ChatRoom room = roomOpt.get();
-                room.removeSession(session);
-                
-                String sessionInfo = (String) session.getAttributes().get("sender");
-                String sender = sessionInfo != null ? sessionInfo : "사용자";
-                
-                logger.info("사용자 퇴장: {} -> 방: {}", sender, roomId);
-                
-                ChatMessage quitMessage = new ChatMessage(MessageType.QUIT, roomId, sender, sender + "님이 퇴장하셨습니다.");
-                broadcastToRoom(roomId, quitMessage, null);
-                
-                if (room.isEmpty()) {
-                    chatRoomRepository.deleteRoom(roomId);
-                }
+            String sender = record.getSender() != null ? record.getSender() : "사용자";
+            roomWorkers.execute(roomId, () -> leaveRoom(session, roomId, sender));
+        }
+    }
+
+    // 방을 맡은 워커에서 실행
+    private void leaveRoom(WebSocketSession session, String roomId, String sender) {
+        // 마지막 참여자가 나가도 방은 유예 시간 동안 남는다 (삭제는 ChatRoomCleanupService 의 만료 처리)
+        ChatRoom room = chatRoomRepository.leaveRoom(roomId, session);
+        if (room != null) {
+            logger.info("사용자 퇴장: {} -> 방: {}", sender, roomId);
+            
+            ChatMessage quitMessage = SystemFrameEncoder.quitNotice(roomId, sender);
+            broadcastToRoom(roomId, quitMessage, null, null);
+        }
+    }
+
+    private void broadcastToRoom(String roomId, ChatMessage message, WebSocketSession excludeSession, MessageTrace trace) {
+        // 같은 방 참여자가 있는 다른 노드로 먼저 발행 (순번은 노드마다 따로 부여하므로 부여 전 상태로 전송)
+        if (backplane.hasRemoteInterest(roomId)) {
+            try {
+                byte[] templated = SystemFrameEncoder.tryEncode(message);
+                backplane.publish(roomId, templated != null ? templated : objectMapper.writeValueAsBytes(message));
+            } catch (Exception e) {
+                logger.error("백플레인 발행 실패 - 방: {}, 오류: {}", roomId, e.getMessage());
             }
         }
+        deliverToRoom(roomId, message, excludeSession, trace);
     }
 
-    private void broadcastToRoom(String roomId, ChatMessage message, WebSocketSession excludeSession) {
+    private void handleBackplaneMessage(String roomId, byte[] payload) {
+        try {
+            ChatMessage message = objectMapper.readValue(payload, ChatMessage.class);
+            // 워커 대기열이 가득 차면 버린다 (거부 수는 chat.room.workers.rejected)
+            roomWorkers.tryExecute(roomId, () -> deliverToRoom(roomId, message, null, null));
+        } catch (Exception e) {
+            logger.error("백플레인 메시지 처리 실패 - 방: {}, 오류: {}", roomId, e.getMessage());
+        }
+    }
+
+    private void deliverToRoom(String roomId, ChatMessage message, WebSocketSession excludeSession, MessageTrace trace) {
         Optional<ChatRoom> roomOpt = chatRoomRepository.findRoomById(roomId);
         if (roomOpt.isEmpty()) {
             logger.warn("존재하지 않는 채팅방: {}", roomId);
@@ -183,50 +372,95 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
         }
         
         ChatRoom room = roomOpt.get();
-        logger.info("방 {} 에 브로드캐스트: {} - 세션 수: {}", roomId, message.getMessage(), room.getSessionCount());
         
-        String messageJson;
-        try {
-            messageJson = objectMapper.writeValueAsString(message);
-        } catch (Exception e) {
-            logger.error("메시지 직렬화 오류: {}", e.getMessage());
+        // 모든 브로드캐스트에 방 단위 순번을 부여해 클라이언트가 누락/중복을 감지할 수 있도록 한다
+        long sequence = room.nextSequence();
+        message.setSequence(sequence);
+        if (trace != null) {
+            trace.resolved(roomId, message.getType(), sequence);
+        }
+        TextMessage frame = broadcastEngine.encode(message);
+        if (frame == null) {
             return;
         }
         
-        int sentCount = 0;
-        for (WebSocketSession session : room.getSessions()) {
-            if (session.isOpen()) {
-                // TALK 메시지의 경우에만 전송자 제외, 다른 메시지는 모두에게 전송
-                if (message.getType() == MessageType.TALK && session.equals(excludeSession)) {
-                    continue;
+        // 세션 목록을 순회하기 전에 버퍼에 넣어야 입장 중인 세션이 이 메시지를 놓치지 않는다
+        room.recordMessage(sequence, frame.asBytes());
+        // 인코딩된 바이트를 그대로 로그에 기록 (디스크 반영은 비동기 그룹 커밋)
+        if (chatMessageLog.isEnabled()) {
+            chatMessageLog.append(roomId, sequence, frame.asBytes());
+        }
+        
+        // 실제 전송은 세션별 송신 큐에서 broadcastTaskExecutor 가 처리
+        int queuedCount = broadcastEngine.broadcast(room, message, frame, excludeSession, trace);
+        
+        broadcastEngine.getCounters().broadcast(queuedCount);
+        if (hotPathLog.shouldLog(HotPathLog.Category.BROADCAST)) {
+            logger.info("방 {} 브로드캐스트 완료 - 순번: {}, 전송 대기열 등록 세션 수: {}/{}", roomId, sequence, queuedCount, room.getSessionCount());
+        }
+    }
+
+    private void replayHistory(WebSocketSession session, ChatRoom room, Long lastSequence) {
+        try {
+            List<byte[]> history;
+            if (lastSequence != null) {
+                // 재접속: 최근 메시지 버퍼로 이어받을 수 있으면 버퍼에서, 아니면 메시지 로그에서
+                history = room.getMessagesAfter(lastSequence);
+                if (history == null) {
+                    // 버퍼를 벗어난 구간은 replay-limit 건씩 배치 프레임으로 나눠 끝까지 보낸다
+                    int replayed = chatMessageLog.replay(room.getRoomId(), lastSequence, page -> {
+                        try {
+                            broadcastEngine.sendBatch(session, page);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    if (replayed > 0) {
+                        logger.info("메시지 로그 재전송: {}건 -> 세션 ID: {}", replayed, session.getId());
+                    }
+                    return;
                 }
-                
-                try {
-                    session.sendMessage(new TextMessage(messageJson));
-                    sentCount++;
-                    logger.info("메시지 전송 성공 - 세션 ID: {}", session.getId());
-                } catch (IOException e) {
-                    logger.error("메시지 전송 실패 - 세션 ID: {}, 오류: {}", session.getId(), e.getMessage());
-                    room.removeSession(session);
-                    sessions.remove(session);
+            } else {
+                // 새 입장: 버퍼에 남은 최근 메시지, 버퍼가 비워진 방이면 메시지 로그에서
+                history = room.getRecentMessages(chatProperties.getHistory().getJoinBacklog());
+                if (history.isEmpty()) {
+                    history = chatMessageLog.replayRecent(room.getRoomId());
                 }
             }
+            if (history.isEmpty()) {
+                return;
+            }
+            // 메시지별로 보내지 않고 배치 프레임 하나로 전송 (바이너리 세션은 바이너리 배치로 변환)
+            broadcastEngine.sendBatch(session, history);
+            logger.info("메시지 기록 재전송: {}건 -> 세션 ID: {}", history.size(), session.getId());
+        } catch (Exception e) {
+            logger.error("메시지 기록 재전송 실패 - 세션 ID: {}, 오류: {}", session.getId(), e.getMessage());
         }
-        
-        logger.info("브로드캐스트 완료 - 전송된 세션 수: {}/{}", sentCount, room.getSessionCount());
     }
 
-    private void sendErrorMessage(WebSocketSession session, String errorMessage) {
+    private boolean admit(WebSocketSession session, ChatRateLimiter.Decision decision) {
+        switch (decision) {
+            case ALLOW:
+                return true;
+            case REJECT:
+                sendErrorMessage(session, "메시지를 너무 빠르게 보내고 있습니다. 잠시 후 다시 시도해주세요.");
+                return false;
+            default:
+                logger.warn("전송 속도 제한 초과로 연결 종료 - 세션 ID: {}", session.getId());
+                try {
+                    session.close(CloseStatus.POLICY_VIOLATION);
+                } catch (Exception e) {
+                    logger.debug("세션 종료 실패 - 세션 ID: {}, 오류: {}", session.getId(), e.getMessage());
+                }
+                return false;
+        }
+    }
+
+    void sendErrorMessage(WebSocketSession session, String errorMessage) {
         try {
-            ChatMessage error = new ChatMessage(MessageType.TALK, "system", "System", errorMessage);
-            String errorJson = objectMapper.writeValueAsString(error);
-            session.sendMessage(new TextMessage(errorJson));
+            broadcastEngine.sendError(session, errorMessage);
         } catch (Exception e) {
             logger.error("에러 메시지 전송 실패 - 세션 ID: {}, 오류: {}", session.getId(), e.getMessage());
         }
     }
-
-    public Set<WebSocketSession> getSessions() {
-        return sessions;
-    }
 }
\ No newline at end of file
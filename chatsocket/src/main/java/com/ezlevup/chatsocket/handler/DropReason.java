@@ -0,0 +1,13 @@
+package com.ezlevup.chatsocket.handler;
+
+// 송신 버퍼가 프레임을 전달하지 못하고 버린 이유 (chat.outbound.dropped 의 reason 태그)
+enum DropReason {
+    // 버퍼가 가득 차 새 프레임을 받지 않음 (DROP_NEWEST, 바이트 한도보다 큰 프레임, CLOSE 정책)
+    REJECTED,
+    // DROP_OLDEST 정책으로 대기 중이던 오래된 프레임을 밀어냄
+    EVICTED,
+    // 세션이 닫혀 대기 중이던 프레임을 버림
+    CLOSED,
+    // 전송 중 오류로 보내지 못함
+    FAILED
+}
@@ -0,0 +1,83 @@
+package com.ezlevup.chatsocket.handler;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// 같은 세션으로 가는 단일 메시지 프레임 여러 개를 프레임 하나로 합친다
+// JSON 은 배열 프레임, 바이너리는 배치 프레임 (입장 시 최근 메시지 전송과 같은 형식)
+final class FrameCoalescer {
+
+    private FrameCoalescer() {
+    }
+
+    // 단일 메시지 프레임만 합칠 수 있다 (이미 배열/배치인 프레임은 그대로 보낸다)
+    static boolean isCoalescable(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) {
+            String payload = text.getPayload();
+            return !payload.isEmpty() && payload.charAt(0) == '{';
+        }
+        if (message instanceof BinaryMessage binary) {
+            ByteBuffer payload = binary.getPayload();
+            return payload.hasRemaining() && payload.get(payload.position()) == BinaryChatCodec.KIND_MESSAGE;
+        }
+        return false;
+    }
+
+    // 텍스트는 텍스트끼리, 바이너리는 바이너리끼리만 합친다
+    static boolean canJoin(WebSocketMessage<?> first, WebSocketMessage<?> next) {
+        return (first instanceof TextMessage) == (next instanceof TextMessage) && isCoalescable(next);
+    }
+
+    static WebSocketMessage<?> coalesce(List<WebSocketMessage<?>> messages) {
+        if (messages.size() == 1) {
+            return messages.get(0);
+        }
+        List<byte[]> frames = new ArrayList<>(messages.size());
+        if (messages.get(0) instanceof TextMessage) {
+            for (WebSocketMessage<?> message : messages) {
+                frames.add(((TextMessage) message).asBytes());
+            }
+            return new TextMessage(jsonArray(frames));
+        }
+        for (WebSocketMessage<?> message : messages) {
+            frames.add(bytes(((BinaryMessage) message).getPayload()));
+        }
+        return new BinaryMessage(BinaryChatCodec.concatBatch(frames));
+    }
+
+    // 이미 인코딩된 JSON 메시지들을 배열 하나로 이어 붙인다 (재직렬화 없이 바이트 복사만 수행)
+    static byte[] jsonArray(List<byte[]> frames) {
+        int length = 2 + Math.max(0, frames.size() - 1);
+        for (byte[] frame : frames) {
+            length += frame.length;
+        }
+        byte[] batch = new byte[length];
+        int position = 0;
+        batch[position++] = '[';
+        for (int i = 0; i < frames.size(); i++) {
+            if (i > 0) {
+                batch[position++] = ',';
+            }
+            byte[] frame = frames.get(i);
+            System.arraycopy(frame, 0, batch, position, frame.length);
+            position += frame.length;
+        }
+        batch[position] = ']';
+        return batch;
+    }
+
+    private static byte[] bytes(ByteBuffer payload) {
+        if (payload.hasArray() && payload.arrayOffset() == 0 && payload.position() == 0
+                && payload.remaining() == payload.array().length) {
+            return payload.array();
+        }
+        byte[] copy = new byte[payload.remaining()];
+        payload.duplicate().get(copy);
+        return copy;
+    }
+}
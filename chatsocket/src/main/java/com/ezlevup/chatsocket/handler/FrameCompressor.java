@@ -0,0 +1,110 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// chat.json-deflate.v1 세션용 프레임 압축기
+// 임계값 이상의 JSON 프레임을 공유 사전과 함께 raw DEFLATE(RFC 1951)로 압축한다
+// 연결별 상태(context takeover)가 없으므로 브로드캐스트 한 건을 한 번만 압축해 모든 수신자가 같은 바이트를 공유한다
+public final class FrameCompressor {
+
+    // 채팅 JSON 에 반복되는 필드명, 타입, 시스템 문구. 자주 나오는 조각일수록 뒤에 둔다 (가까운 거리가 더 짧게 부호화됨)
+    // 클라이언트가 같은 바이트로 풀어야 하므로 내용을 바꾸면 하위 프로토콜 버전도 올려야 한다
+    private static final byte[] DICTIONARY = (
+            "\",\"lastSequence\":"
+            + "{\"type\":\"QUIT\",\"roomId\":\"\",\"sender\":\"\",\"message\":\"" + SystemFrameEncoder.QUIT_SUFFIX
+            + "{\"type\":\"ENTER\",\"roomId\":\"\",\"sender\":\"\",\"message\":\"" + SystemFrameEncoder.ENTER_SUFFIX
+            + "{\"type\":\"TALK\",\"roomId\":\"system\",\"sender\":\"System\",\"message\":\""
+            + "\",\"sequence\":"
+            + "[{\"type\":\"TALK\",\"roomId\":\"\",\"sender\":\"\",\"message\":\"\",\"timestamp\":\"20"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private final int threshold;
+    private final int level;
+    private final boolean useDictionary;
+    // Deflater 는 네이티브 메모리를 잡으므로 스레드마다 만들지 않고 (가상 스레드 포함) 빌려 쓴다
+    private final ConcurrentLinkedQueue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+
+    public FrameCompressor(ChatProperties.Compression config) {
+        this.threshold = (int) Math.min(Integer.MAX_VALUE, config.getThreshold().toBytes());
+        this.level = config.getLevel();
+        this.useDictionary = config.isDictionary();
+    }
+
+    // 임계값보다 작거나 압축해도 줄지 않으면 null (원래 텍스트 프레임을 보낸다)
+    // 저장 블록(첫 바이트 0x01)은 항상 원본보다 크므로 결과의 첫 바이트는 바이너리 메시지 프레임과 겹치지 않는다
+    public byte[] compress(byte[] json) {
+        if (json.length < threshold) {
+            return null;
+        }
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(level, true);
+        }
+        try {
+            if (useDictionary) {
+                deflater.setDictionary(DICTIONARY);
+            }
+            deflater.setInput(json);
+            deflater.finish();
+            byte[] buffer = new byte[json.length];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    return null;
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.reset();
+            deflaters.offer(deflater);
+        }
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public void close() {
+        Deflater deflater;
+        while ((deflater = deflaters.poll()) != null) {
+            deflater.end();
+        }
+    }
+
+    // 클라이언트가 압축 해제에 쓰는 사전 (/chat/compression/dictionary 로도 내려준다)
+    public static byte[] dictionary() {
+        return DICTIONARY.clone();
+    }
+
+    // 클라이언트 구현 참고 및 테스트용 압축 해제
+    public static byte[] inflate(byte[] compressed, boolean withDictionary) throws DataFormatException {
+        Inflater inflater = new Inflater(true);
+        try {
+            if (withDictionary) {
+                inflater.setDictionary(DICTIONARY);
+            }
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("압축 프레임이 잘렸습니다.");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
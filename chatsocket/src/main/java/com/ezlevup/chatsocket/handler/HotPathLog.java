@@ -0,0 +1,80 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 메시지 처리 경로(수신/대화/브로드캐스트)의 로그 출력 여부를 결정한다
+// 호출부는 shouldLog 가 true 일 때만 로그를 남기므로, 생략된 로그는 인자 포맷팅 비용도 들지 않는다
+@Component
+public class HotPathLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotPathLog.class);
+
+    public enum Category {
+        INBOUND,
+        CHAT,
+        BROADCAST
+    }
+
+    private final HotPathLogMode mode;
+    private final Map<Category, Limiter> limiters = new EnumMap<>(Category.class);
+
+    public HotPathLog(ChatProperties chatProperties) {
+        ChatProperties.Logging config = chatProperties.getLogging();
+        this.mode = config.getHotPath();
+        for (Category category : Category.values()) {
+            int limit = config.getCategoryLimits().getOrDefault(category, config.getMaxPerSecond());
+            limiters.put(category, new Limiter(category, limit));
+        }
+    }
+
+    public HotPathLogMode getMode() {
+        return mode;
+    }
+
+    public boolean shouldLog(Category category) {
+        return switch (mode) {
+            case FULL -> true;
+            case OFF -> false;
+            case SAMPLED -> limiters.get(category).tryAcquire();
+        };
+    }
+
+    // 1초 단위 고정 윈도 제한. 윈도가 바뀔 때 이전 윈도에서 생략된 건수를 한 줄로 남긴다
+    private static final class Limiter {
+        private final Category category;
+        private final int limit;
+        private final AtomicLong windowSecond = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Limiter(Category category, int limit) {
+            this.category = category;
+            this.limit = limit;
+        }
+
+        private boolean tryAcquire() {
+            long second = System.currentTimeMillis() / 1000;
+            long window = windowSecond.get();
+            if (window != second && windowSecond.compareAndSet(window, second)) {
+                count.set(0);
+                long skipped = suppressed.getAndSet(0);
+                if (skipped > 0) {
+                    logger.info("로그 생략 - 분류: {}, 건수: {}", category, skipped);
+                }
+            }
+            if (count.incrementAndGet() <= limit) {
+                return true;
+            }
+            suppressed.incrementAndGet();
+            return false;
+        }
+    }
+}
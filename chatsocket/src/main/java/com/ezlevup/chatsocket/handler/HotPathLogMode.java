@@ -0,0 +1,10 @@
+package com.ezlevup.chatsocket.handler;
+
+public enum HotPathLogMode {
+    // 메시지마다 로그를 남긴다 (개발/디버깅용)
+    FULL,
+    // 분류별로 초당 허용 건수만 남기고 나머지는 생략 건수만 기록
+    SAMPLED,
+    // 메시지 단위 로그를 남기지 않는다 (카운터만 집계)
+    OFF
+}
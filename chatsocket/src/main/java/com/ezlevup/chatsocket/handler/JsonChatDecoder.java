@@ -0,0 +1,139 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.MessageType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+// 수신 JSON 프레임 전용 스트리밍 디코더
+// - 트리나 데이터 바인딩 없이 토큰을 한 번 훑으면서 필요한 필드만 꺼낸다
+// - 입력은 스레드별 문자 버퍼에 복사해 파싱하고, 파서 내부 버퍼는 JsonFactory 의 BufferRecycler 를 재사용한다
+// - type 값은 문자열을 만들지 않고 토큰 버퍼에서 바로 비교하며, PING 은 별도 객체 없이 PING 상수로 돌려준다
+// - timestamp/sequence 등 서버가 채우는 필드는 읽지 않는다 (timestamp 는 null)
+public final class JsonChatDecoder {
+
+    // 하트비트 프레임을 나타내는 공유 인스턴스 (내용을 읽거나 수정하지 않는다)
+    public static final ChatMessage PING = new ChatMessage(null, null, null, null, null);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 클라이언트가 보내는 표준 하트비트 프레임은 파싱 없이 바로 판별
+    private static final String PING_FRAME = "{\"type\":\"PING\"}";
+
+    // 수신 프레임은 1KB 로 제한되므로 대부분 초기 크기 안에서 처리된다
+    private static final int SCRATCH_SIZE = 1024;
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[SCRATCH_SIZE]);
+
+    private static final char[] PING_NAME = "PING".toCharArray();
+    private static final MessageType[] TYPES = MessageType.values();
+    private static final char[][] TYPE_NAMES = new char[TYPES.length][];
+
+    static {
+        for (int i = 0; i < TYPES.length; i++) {
+            TYPE_NAMES[i] = TYPES[i].name().toCharArray();
+        }
+    }
+
+    private JsonChatDecoder() {
+    }
+
+    public static ChatMessage decode(String payload) throws IOException {
+        if (PING_FRAME.equals(payload)) {
+            return PING;
+        }
+        int length = payload.length();
+        char[] buffer = length <= SCRATCH_SIZE ? SCRATCH.get() : new char[length];
+        payload.getChars(0, length, buffer, 0);
+        try (JsonParser parser = JSON_FACTORY.createParser(buffer, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("JSON 객체가 아닙니다.");
+            }
+            ChatMessage message = new ChatMessage(null, null, null, null, null);
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "type" -> {
+                        if (readType(parser, value, message)) {
+                            return PING;
+                        }
+                    }
+                    case "roomId" -> message.setRoomId(readString(parser, value));
+                    case "sender" -> message.setSender(readString(parser, value));
+                    case "message" -> message.setMessage(readString(parser, value));
+                    case "lastSequence" -> message.setLastSequence(readLong(parser, value));
+                    default -> parser.skipChildren();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT) {
+                throw new IOException("잘못된 JSON 객체입니다.");
+            }
+            return message;
+        }
+    }
+
+    // PING 이면 true
+    private static boolean readType(JsonParser parser, JsonToken value, ChatMessage message) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        if (value != JsonToken.VALUE_STRING) {
+            throw new IOException("type 은 문자열이어야 합니다.");
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        if (matches(chars, offset, length, PING_NAME)) {
+            return true;
+        }
+        for (int i = 0; i < TYPE_NAMES.length; i++) {
+            if (matches(chars, offset, length, TYPE_NAMES[i])) {
+                message.setType(TYPES[i]);
+                return false;
+            }
+        }
+        throw new IOException("알 수 없는 메시지 타입: " + parser.getText());
+    }
+
+    private static String readString(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value.isStructStart()) {
+            throw new IOException("문자열 필드에 객체/배열이 올 수 없습니다: " + parser.currentName());
+        }
+        return parser.getValueAsString();
+    }
+
+    private static Long readLong(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("숫자 형식이 아닙니다: " + parser.currentName());
+            }
+        }
+        throw new IOException("숫자 필드 형식이 잘못되었습니다: " + parser.currentName());
+    }
+
+    private static boolean matches(char[] chars, int offset, int length, char[] expected) {
+        if (length != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
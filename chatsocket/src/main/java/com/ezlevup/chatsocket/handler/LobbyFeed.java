@@ -0,0 +1,183 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.model.ChatRoom;
+import com.ezlevup.chatsocket.model.ChatRoomRepository;
+import com.ezlevup.chatsocket.model.LobbyUpdate;
+import com.ezlevup.chatsocket.model.RoomInfo;
+import com.ezlevup.chatsocket.model.RoomListSnapshot;
+import com.ezlevup.chatsocket.model.RoomSort;
+import com.ezlevup.chatsocket.service.RoomListService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 로비 구독 세션에 방 목록 변경분을 push 한다 (/chat/rooms 폴링 대체)
+// 저장소 이벤트로 바뀐 방 ID 만 모아 두었다가 push-interval 마다 프레임 하나로 보낸다
+// 같은 방의 잦은 입장/퇴장은 한 항목으로 합쳐지고, 프레임은 한 번 직렬화해 모든 구독자가 공유한다
+@Component
+public class LobbyFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(LobbyFeed.class);
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final RoomListService roomListService;
+    private final BroadcastEngine broadcastEngine;
+    private final long pushIntervalMillis;
+    private final int maxDeltaRooms;
+    private final Set<String> changedRoomIds = ConcurrentHashMap.newKeySet();
+    private final Map<String, WebSocketSession> subscribers = new ConcurrentHashMap<>();
+    // 다음 push 때 목록 스냅샷을 받고 구독자가 되는 세션
+    private final Map<String, WebSocketSession> pendingSubscribers = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules();
+    private ScheduledExecutorService pushTimer;
+
+    public LobbyFeed(ChatRoomRepository chatRoomRepository,
+                     RoomListService roomListService,
+                     BroadcastEngine broadcastEngine,
+                     ChatProperties chatProperties) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.roomListService = roomListService;
+        this.broadcastEngine = broadcastEngine;
+        this.pushIntervalMillis = chatProperties.getLobby().getPushInterval().toMillis();
+        this.maxDeltaRooms = chatProperties.getLobby().getMaxDeltaRooms();
+    }
+
+    @PostConstruct
+    public void start() {
+        chatRoomRepository.setRoomChangeListener(this::roomChanged);
+        pushTimer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "lobby-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pushTimer.scheduleAtFixedRate(this::push, pushIntervalMillis, pushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (pushTimer != null) {
+            pushTimer.shutdownNow();
+        }
+    }
+
+    // 첫 프레임(목록 스냅샷)은 다음 push 때 보낸다. 그 뒤로는 변경분만 받는다
+    public void subscribe(WebSocketSession session) {
+        if (!subscribers.containsKey(session.getId())) {
+            pendingSubscribers.put(session.getId(), session);
+        }
+    }
+
+    public void unsubscribe(WebSocketSession session) {
+        pendingSubscribers.remove(session.getId());
+        subscribers.remove(session.getId());
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size() + pendingSubscribers.size();
+    }
+
+    // 방 단위 잠금 안에서 호출되므로 방 ID 만 기록한다. 구독자가 없으면 기록하지 않는다
+    void roomChanged(String roomId) {
+        if (!subscribers.isEmpty() || !pendingSubscribers.isEmpty()) {
+            changedRoomIds.add(roomId);
+        }
+    }
+
+    void push() {
+        try {
+            if (subscribers.isEmpty() && pendingSubscribers.isEmpty()) {
+                changedRoomIds.clear();
+                return;
+            }
+            List<String> changed = drainChanges();
+            if (!changed.isEmpty() && !subscribers.isEmpty()) {
+                // 너무 많이 바뀌었으면 방마다 변경분을 만드는 대신 목록 스냅샷으로 교체시킨다
+                TextMessage frame = changed.size() > maxDeltaRooms
+                        ? encode(snapshotUpdate(roomListService.getFreshSnapshot()))
+                        : encode(deltaUpdate(changed));
+                sendToAll(subscribers, frame);
+            }
+            if (!pendingSubscribers.isEmpty()) {
+                // 변경분을 꺼낸 뒤에 만든 스냅샷이므로 이후 변경분과 빠짐없이 이어진다
+                TextMessage frame = encode(snapshotUpdate(roomListService.getFreshSnapshot()));
+                Map<String, WebSocketSession> joined = new ConcurrentHashMap<>();
+                for (Iterator<WebSocketSession> it = pendingSubscribers.values().iterator(); it.hasNext(); ) {
+                    WebSocketSession session = it.next();
+                    it.remove();
+                    joined.put(session.getId(), session);
+                }
+                sendToAll(joined, frame);
+                subscribers.putAll(joined);
+            }
+        } catch (Exception e) {
+            logger.error("로비 변경분 전송 실패: {}", e.getMessage());
+        }
+    }
+
+    private List<String> drainChanges() {
+        List<String> changed = new ArrayList<>(changedRoomIds.size());
+        for (Iterator<String> it = changedRoomIds.iterator(); it.hasNext(); ) {
+            changed.add(it.next());
+            it.remove();
+        }
+        return changed;
+    }
+
+    private LobbyUpdate deltaUpdate(List<String> changed) {
+        long version = chatRoomRepository.getListVersion();
+        List<RoomInfo> rooms = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (String roomId : changed) {
+            Optional<ChatRoom> room = chatRoomRepository.findRoomById(roomId);
+            if (room.isPresent()) {
+                rooms.add(RoomInfo.fromChatRoom(room.get()));
+            } else {
+                removed.add(roomId);
+            }
+        }
+        return LobbyUpdate.delta(version, chatRoomRepository.getTotalRoomCount(), rooms, removed);
+    }
+
+    private LobbyUpdate snapshotUpdate(RoomListSnapshot snapshot) {
+        List<RoomInfo> rooms = snapshot.page(RoomSort.OCCUPANCY, null, roomListService.pageSize(null)).rooms();
+        return LobbyUpdate.snapshot(snapshot.getVersion(), snapshot.size(), rooms);
+    }
+
+    private TextMessage encode(LobbyUpdate update) throws JsonProcessingException {
+        return new TextMessage(objectMapper.writeValueAsBytes(update));
+    }
+
+    // 세션별 송신 큐에 넣는다 (느린 구독자는 다른 프레임과 같은 송신 버퍼 한도를 따른다)
+    private void sendToAll(Map<String, WebSocketSession> sessions, TextMessage frame) {
+        for (WebSocketSession session : sessions.values()) {
+            if (!session.isOpen()) {
+                unsubscribe(session);
+                continue;
+            }
+            try {
+                broadcastEngine.send(session, frame);
+            } catch (Exception e) {
+                logger.debug("로비 프레임 전송 실패 - 세션 ID: {}, 오류: {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ezlevup.chatsocket.handler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// 메시지 처리 경로의 누적 카운터 (수신자별 로그 대신 집계)
+// LongAdder 를 사용해 여러 송신 스레드가 동시에 올려도 경합하지 않는다
+public class MessageCounters {
+
+    private final LongAdder framesReceived = new LongAdder();
+    private final LongAdder pingsReceived = new LongAdder();
+    private final LongAdder invalidFrames = new LongAdder();
+    private final LongAdder broadcasts = new LongAdder();
+    private final LongAdder deliveriesQueued = new LongAdder();
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+
+    public void frameReceived() {
+        framesReceived.increment();
+    }
+
+    public void pingReceived() {
+        pingsReceived.increment();
+    }
+
+    public void invalidFrame() {
+        invalidFrames.increment();
+    }
+
+    public void broadcast(int queuedSessions) {
+        broadcasts.increment();
+        deliveriesQueued.add(queuedSessions);
+    }
+
+    void frameSent() {
+        framesSent.increment();
+    }
+
+    void sendFailed() {
+        sendFailures.increment();
+    }
+
+    public long getFramesReceived() {
+        return framesReceived.sum();
+    }
+
+    public long getPingsReceived() {
+        return pingsReceived.sum();
+    }
+
+    public long getInvalidFrames() {
+        return invalidFrames.sum();
+    }
+
+    public long getBroadcasts() {
+        return broadcasts.sum();
+    }
+
+    public long getDeliveriesQueued() {
+        return deliveriesQueued.sum();
+    }
+
+    public long getFramesSent() {
+        return framesSent.sum();
+    }
+
+    public long getSendFailures() {
+        return sendFailures.sum();
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        snapshot.put("framesReceived", getFramesReceived());
+        snapshot.put("pingsReceived", getPingsReceived());
+        snapshot.put("invalidFrames", getInvalidFrames());
+        snapshot.put("broadcasts", getBroadcasts());
+        snapshot.put("deliveriesQueued", getDeliveriesQueued());
+        snapshot.put("framesSent", getFramesSent());
+        snapshot.put("sendFailures", getSendFailures());
+        return snapshot;
+    }
+}
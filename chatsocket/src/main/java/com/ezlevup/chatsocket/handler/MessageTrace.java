@@ -0,0 +1,139 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.model.MessageType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 샘플링된 메시지 하나의 단계별 시각 (수신 → 파싱 → 방 조회 → 송신 버퍼 등록 → 수신자별 전송 완료)
+// 송신 버퍼(SessionOutbound)가 샘플링된 프레임의 trace 를 프레임 옆에 따로 보관하므로
+// 샘플링되지 않은 메시지는 null 확인 외의 비용이 없다
+public final class MessageTrace {
+
+    private final MessageTracer tracer;
+    private final long receivedAtMillis;
+    private final long receivedNanos;
+    private final long parsedNanos;
+    private long resolvedNanos;
+    private long enqueuedNanos;
+    private String roomId;
+    private MessageType type;
+    private long sequence;
+    private int recipients;
+    // 브로드캐스트 스레드 몫 1 + 전송을 기다리는 수신자 수. 0 이 되면 완료
+    private final AtomicInteger pending = new AtomicInteger(1);
+    private final AtomicInteger dropped = new AtomicInteger();
+    // 수신자별 전송 결과 (this 로 동기화)
+    private long lastWrittenNanos;
+    private long maxWriteNanos;
+    private long slowestRecipientNanos;
+    private String slowestRecipient;
+
+    // parsedNanos 는 파싱 완료 시각 (파싱을 거치지 않았으면 0)
+    MessageTrace(MessageTracer tracer, long receivedNanos, long parsedNanos) {
+        this.tracer = tracer;
+        this.receivedAtMillis = System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - receivedNanos);
+        this.receivedNanos = receivedNanos;
+        this.parsedNanos = parsedNanos;
+    }
+
+    void resolved(String roomId, MessageType type, long sequence) {
+        this.roomId = roomId;
+        this.type = type;
+        this.sequence = sequence;
+        this.resolvedNanos = System.nanoTime();
+    }
+
+    // 송신 버퍼 등록 직전에 호출한다 (등록 즉시 전송이 끝나도 완료 판정이 앞서지 않도록)
+    void recipientQueued() {
+        pending.incrementAndGet();
+    }
+
+    void recipientDropped() {
+        dropped.incrementAndGet();
+        release();
+    }
+
+    void enqueued(int queuedCount) {
+        this.recipients = queuedCount;
+        this.enqueuedNanos = System.nanoTime();
+        release();
+    }
+
+    void written(String sessionId, long writeStartNanos, long writeEndNanos) {
+        tracer.recordWrite(writeStartNanos - resolvedNanos, writeEndNanos - writeStartNanos);
+        synchronized (this) {
+            lastWrittenNanos = Math.max(lastWrittenNanos, writeEndNanos);
+            maxWriteNanos = Math.max(maxWriteNanos, writeEndNanos - writeStartNanos);
+            if (writeEndNanos - resolvedNanos > slowestRecipientNanos) {
+                slowestRecipientNanos = writeEndNanos - resolvedNanos;
+                slowestRecipient = sessionId;
+            }
+        }
+        release();
+    }
+
+    // 송신 버퍼에서 버려진 경우 (버퍼 초과, 세션 종료, 전송 실패)
+    void discarded() {
+        dropped.incrementAndGet();
+        release();
+    }
+
+    private void release() {
+        if (pending.decrementAndGet() == 0) {
+            tracer.complete(this);
+        }
+    }
+
+    long getReceivedAtMillis() {
+        return receivedAtMillis;
+    }
+
+    String getRoomId() {
+        return roomId;
+    }
+
+    MessageType getType() {
+        return type;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    int getRecipients() {
+        return recipients;
+    }
+
+    int getDropped() {
+        return dropped.get();
+    }
+
+    long parseNanos() {
+        return parsedNanos > 0 ? parsedNanos - receivedNanos : 0;
+    }
+
+    long resolveNanos() {
+        return parsedNanos > 0 ? resolvedNanos - parsedNanos : resolvedNanos - receivedNanos;
+    }
+
+    long fanOutNanos() {
+        return enqueuedNanos - resolvedNanos;
+    }
+
+    synchronized long totalNanos() {
+        return Math.max(lastWrittenNanos, enqueuedNanos) - receivedNanos;
+    }
+
+    synchronized long maxWriteNanos() {
+        return maxWriteNanos;
+    }
+
+    synchronized long slowestRecipientNanos() {
+        return slowestRecipientNanos;
+    }
+
+    synchronized String slowestRecipient() {
+        return slowestRecipient;
+    }
+}
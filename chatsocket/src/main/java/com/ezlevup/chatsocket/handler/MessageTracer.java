@@ -0,0 +1,120 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.model.BroadcastTrace;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 메시지 단위 단계별 지연 추적 (chat.metrics.trace-sample-rate 비율만 추적, 0 이면 끔)
+// 단계별 시간은 chat.trace.stage 타이머에, 완료된 추적은 최근 trace-recent-size 건만 보관한다
+@Component
+public class MessageTracer {
+
+    private final double sampleRate;
+    private final Timer parseTimer;
+    private final Timer resolveTimer;
+    private final Timer fanOutTimer;
+    private final Timer queueTimer;
+    private final Timer writeTimer;
+    private final Timer totalTimer;
+    // 완료된 추적의 원형 버퍼 (샘플링된 메시지만 들어오므로 잠금으로 충분하다)
+    private final BroadcastTrace[] recent;
+    private int recentNext;
+
+    // 테스트/벤치마크용: 메모리 레지스트리에 기록
+    public MessageTracer() {
+        this(new SimpleMeterRegistry(), new ChatProperties());
+    }
+
+    @Autowired
+    public MessageTracer(MeterRegistry registry, ChatProperties chatProperties) {
+        ChatProperties.Metrics config = chatProperties.getMetrics();
+        this.sampleRate = config.getTraceSampleRate();
+        this.parseTimer = stageTimer(registry, "parse", "수신부터 파싱 완료까지");
+        this.resolveTimer = stageTimer(registry, "resolve", "파싱 완료부터 방 조회(순번 부여)까지");
+        this.fanOutTimer = stageTimer(registry, "fanout", "방 참여자 전체의 송신 버퍼 등록");
+        this.queueTimer = stageTimer(registry, "queue", "방 조회부터 수신자별 전송 시작까지 (수신자 단위)");
+        this.writeTimer = stageTimer(registry, "write", "수신자 세션 하나에 쓰는 시간 (수신자 단위)");
+        this.totalTimer = stageTimer(registry, "total", "수신부터 마지막 수신자 전송 완료까지");
+        this.recent = new BroadcastTrace[Math.max(1, config.getTraceRecentSize())];
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String stage, String description) {
+        return Timer.builder("chat.trace.stage")
+                .description("샘플링된 메시지의 단계별 시간: " + description)
+                .tag("stage", stage)
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return sampleRate > 0;
+    }
+
+    // 브로드캐스트가 확정된 메시지에 대해 호출한다 (크기/파싱/속도 제한에서 버려진 메시지는 샘플링 대상이 아니다)
+    // receivedNanos 가 0(수신 시각을 재지 않음)이거나 샘플링되지 않으면 null
+    public MessageTrace start(long receivedNanos, long parsedNanos) {
+        if (receivedNanos == 0 || sampleRate <= 0
+                || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return null;
+        }
+        return new MessageTrace(this, receivedNanos, parsedNanos);
+    }
+
+    void recordWrite(long queueNanos, long writeNanos) {
+        queueTimer.record(Math.max(0, queueNanos), TimeUnit.NANOSECONDS);
+        writeTimer.record(writeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void complete(MessageTrace trace) {
+        parseTimer.record(trace.parseNanos(), TimeUnit.NANOSECONDS);
+        resolveTimer.record(trace.resolveNanos(), TimeUnit.NANOSECONDS);
+        fanOutTimer.record(trace.fanOutNanos(), TimeUnit.NANOSECONDS);
+        totalTimer.record(trace.totalNanos(), TimeUnit.NANOSECONDS);
+        BroadcastTrace result = new BroadcastTrace(
+                trace.getRoomId(),
+                trace.getType(),
+                trace.getSequence(),
+                trace.getReceivedAtMillis(),
+                trace.getRecipients(),
+                trace.getDropped(),
+                micros(trace.parseNanos()),
+                micros(trace.resolveNanos()),
+                micros(trace.fanOutNanos()),
+                micros(trace.totalNanos()),
+                trace.slowestRecipient(),
+                micros(trace.slowestRecipientNanos()),
+                micros(trace.maxWriteNanos())
+        );
+        synchronized (recent) {
+            recent[recentNext] = result;
+            recentNext = (recentNext + 1) % recent.length;
+        }
+    }
+
+    // 최근 완료된 추적 중 전체 시간이 긴 순서
+    public List<BroadcastTrace> getSlowestRecent(int limit) {
+        List<BroadcastTrace> traces = new ArrayList<>(recent.length);
+        synchronized (recent) {
+            for (BroadcastTrace trace : recent) {
+                if (trace != null) {
+                    traces.add(trace);
+                }
+            }
+        }
+        traces.sort(Comparator.comparingLong(BroadcastTrace::getTotalMicros).reversed());
+        return traces.size() > limit ? new ArrayList<>(traces.subList(0, Math.max(0, limit))) : traces;
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+    }
+}
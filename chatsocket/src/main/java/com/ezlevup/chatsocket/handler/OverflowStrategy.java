@@ -0,0 +1,7 @@
+package com.ezlevup.chatsocket.handler;
+
+public enum OverflowStrategy {
+    DROP_OLDEST,
+    DROP_NEWEST,
+    CLOSE
+}
@@ -0,0 +1,10 @@
+package com.ezlevup.chatsocket.handler;
+
+public enum RateLimitAction {
+    // 메시지를 버리고 에러 메시지로 알린다
+    REJECT,
+    // 토큰이 채워질 때까지 처리 스레드를 잠시 멈춘다 (최대 대기 시간 초과 시 REJECT)
+    DELAY,
+    // 연결을 종료한다
+    DISCONNECT
+}
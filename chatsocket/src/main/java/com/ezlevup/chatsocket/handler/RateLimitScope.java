@@ -0,0 +1,10 @@
+package com.ezlevup.chatsocket.handler;
+
+public enum RateLimitScope {
+    // 연결 하나가 보내는 모든 프레임 (파싱 전에 판단)
+    SESSION,
+    // 같은 사용자명으로 보내는 대화 메시지 (여러 연결 합산)
+    SENDER,
+    // 한 방으로 들어오는 대화 메시지 (브로드캐스트 비용 보호)
+    ROOM
+}
@@ -0,0 +1,131 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+
+// reactive 프로필의 /ws/chat 엔드포인트: Reactor Netty 이벤트 루프가 연결을 처리하고
+// 세션을 감싸 기존 디스패처(JSON/바이너리 핸들러, 방/저장소 모델)를 그대로 사용한다
+public class ReactiveChatWebSocketHandler implements WebSocketHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveChatWebSocketHandler.class);
+
+    // 서블릿 컨테이너의 asyncSendTimeout 과 같은 값
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ChatProtocolDispatcher dispatcher;
+    private final int maxPendingFrames;
+    // 속도 제한 DELAY 는 처리 스레드를 재우므로 이벤트 루프 대신 별도 스레드에서 처리한다
+    private final boolean offloadInbound;
+
+    public ReactiveChatWebSocketHandler(ChatProtocolDispatcher dispatcher, ChatProperties chatProperties) {
+        this.dispatcher = dispatcher;
+        this.maxPendingFrames = chatProperties.getOutbound().getMaxMessages();
+        ChatProperties.RateLimit rateLimit = chatProperties.getRateLimit();
+        this.offloadInbound = rateLimit.isEnabled() && rateLimit.getAction() == RateLimitAction.DELAY;
+    }
+
+    // 클라이언트가 요청한 순서대로 첫 번째 지원 프로토콜을 선택한다 (서블릿 핸드셰이크와 같은 목록)
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(WireFormat.BINARY.getSubprotocol(), WireFormat.JSON_DEFLATE.getSubprotocol(),
+                WireFormat.JSON.getSubprotocol());
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        ReactiveSessionAdapter adapter = new ReactiveSessionAdapter(session, maxPendingFrames, SEND_TIMEOUT);
+
+        // 페이로드 버퍼는 이 단계가 끝나면 해제되므로 먼저 기존 메시지 타입으로 복사한다
+        Flux<org.springframework.web.socket.WebSocketMessage<?>> inbound = session.receive()
+                .mapNotNull(ReactiveChatWebSocketHandler::toServletMessage);
+        if (offloadInbound) {
+            inbound = inbound.publishOn(Schedulers.boundedElastic());
+        }
+        Mono<Void> input = inbound.doOnNext(message -> dispatch(adapter, message)).then();
+        Mono<Void> output = session.send(adapter.outbound());
+
+        // 어느 한쪽이 끝나면 (클라이언트 종료, 서버 측 close) 다른 쪽도 취소된다
+        return Mono.fromRunnable(() -> established(adapter))
+                .then(Mono.zip(input, output).then())
+                .doOnError(error -> transportError(adapter, error))
+                .doFinally(signal -> closed(adapter, signal));
+    }
+
+    private static org.springframework.web.socket.WebSocketMessage<?> toServletMessage(
+            org.springframework.web.reactive.socket.WebSocketMessage message) {
+        switch (message.getType()) {
+            case TEXT:
+                return new TextMessage(toBytes(message.getPayload()));
+            case BINARY:
+                return new BinaryMessage(toBytes(message.getPayload()));
+            default:
+                // ping 은 Netty 가 자동으로 응답하고 pong 은 처리할 내용이 없다
+                return null;
+        }
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        return bytes;
+    }
+
+    private void established(ReactiveSessionAdapter adapter) {
+        try {
+            dispatcher.afterConnectionEstablished(adapter);
+        } catch (Exception e) {
+            logger.error("연결 처리 실패 - 세션 ID: {}, 오류: {}", adapter.getId(), e.getMessage());
+            closeQuietly(adapter, CloseStatus.SERVER_ERROR);
+        }
+    }
+
+    // 서블릿 경로와 같이 처리 중 예외가 나면 SERVER_ERROR 로 연결을 닫는다
+    private void dispatch(ReactiveSessionAdapter adapter, org.springframework.web.socket.WebSocketMessage<?> message) {
+        try {
+            dispatcher.handleMessage(adapter, message);
+        } catch (Exception e) {
+            logger.error("메시지 처리 실패 - 세션 ID: {}, 오류: {}", adapter.getId(), e.getMessage());
+            closeQuietly(adapter, CloseStatus.SERVER_ERROR);
+        }
+    }
+
+    private void transportError(ReactiveSessionAdapter adapter, Throwable error) {
+        try {
+            dispatcher.handleTransportError(adapter, error);
+        } catch (Exception e) {
+            logger.debug("전송 오류 처리 실패 - 세션 ID: {}, 오류: {}", adapter.getId(), e.getMessage());
+        }
+    }
+
+    private void closed(ReactiveSessionAdapter adapter, SignalType signal) {
+        adapter.terminated();
+        CloseStatus status = signal == SignalType.ON_ERROR ? CloseStatus.SERVER_ERROR : CloseStatus.NORMAL;
+        try {
+            dispatcher.afterConnectionClosed(adapter, status);
+        } catch (Exception e) {
+            logger.error("연결 종료 처리 실패 - 세션 ID: {}, 오류: {}", adapter.getId(), e.getMessage());
+        }
+    }
+
+    private void closeQuietly(ReactiveSessionAdapter adapter, CloseStatus status) {
+        try {
+            adapter.close(status);
+        } catch (Exception e) {
+            logger.debug("세션 종료 실패 - 세션 ID: {}, 오류: {}", adapter.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.ezlevup.chatsocket.handler;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// 리액티브(Reactor Netty) 세션을 기존 핸들러가 쓰는 WebSocketSession 으로 감싼다
+// 보낸 프레임은 세션별 싱크에 쌓였다가 Netty 가 쓸 수 있을 때 가져가므로 연결마다 스레드를 잡지 않는다
+class ReactiveSessionAdapter implements WebSocketSession {
+
+    private final org.springframework.web.reactive.socket.WebSocketSession delegate;
+    private final Sinks.Many<org.springframework.web.reactive.socket.WebSocketMessage> outbound =
+            Sinks.many().unicast().onBackpressureBuffer();
+    // 싱크에 쌓였지만 아직 Netty 로 넘어가지 않은 프레임 수 한도
+    // 가득 차면 송신 스레드가 sendTimeout 까지 기다리고 (이벤트 루프 스레드는 기다리지 않음), 그래도 자리가 없으면
+    // IOException 으로 실패해 SessionOutbound 가 남은 프레임을 폐기하고 세션을 닫는다 (느린 소비자 차단 정책)
+    private final Semaphore credits;
+    private final long sendTimeoutNanos;
+    private volatile boolean open = true;
+    private int textMessageSizeLimit;
+    private int binaryMessageSizeLimit;
+
+    ReactiveSessionAdapter(org.springframework.web.reactive.socket.WebSocketSession delegate,
+                           int maxPendingFrames, Duration sendTimeout) {
+        this.delegate = delegate;
+        this.credits = new Semaphore(Math.max(1, maxPendingFrames));
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+    }
+
+    // Netty 가 구독하는 송신 스트림 (프레임을 넘겨받을 때마다 한도를 돌려준다)
+    Flux<org.springframework.web.reactive.socket.WebSocketMessage> outbound() {
+        return outbound.asFlux().doOnNext(message -> credits.release());
+    }
+
+    // 연결이 끝난 뒤 호출: 이후 전송은 IOException 으로 실패한다
+    void terminated() {
+        open = false;
+        synchronized (outbound) {
+            outbound.tryEmitComplete();
+        }
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (!isOpen()) {
+            throw new IOException("닫힌 세션입니다: " + getId());
+        }
+        if (!acquire()) {
+            throw new IOException("송신 대기 시간 초과: " + getId());
+        }
+        Sinks.EmitResult result;
+        synchronized (outbound) {
+            result = outbound.tryEmitNext(toReactive(message));
+        }
+        if (result.isFailure()) {
+            credits.release();
+            throw new IOException("송신 실패 (" + result + "): " + getId());
+        }
+    }
+
+    private boolean acquire() throws IOException {
+        if (credits.tryAcquire()) {
+            return true;
+        }
+        // 이벤트 루프 스레드는 막으면 같은 연결의 송신도 멈추므로 기다리지 않는다
+        if (Schedulers.isInNonBlockingThread()) {
+            return false;
+        }
+        try {
+            return credits.tryAcquire(sendTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("송신 대기 중 인터럽트: " + getId(), e);
+        }
+    }
+
+    // 바이트 기반 TextMessage 는 문자열로 되돌리지 않고 그대로 감싼다
+    private org.springframework.web.reactive.socket.WebSocketMessage toReactive(WebSocketMessage<?> message) {
+        org.springframework.web.reactive.socket.WebSocketMessage.Type type;
+        if (message instanceof TextMessage text) {
+            return new org.springframework.web.reactive.socket.WebSocketMessage(
+                    org.springframework.web.reactive.socket.WebSocketMessage.Type.TEXT,
+                    delegate.bufferFactory().wrap(text.asBytes()));
+        } else if (message instanceof BinaryMessage) {
+            type = org.springframework.web.reactive.socket.WebSocketMessage.Type.BINARY;
+        } else if (message instanceof PingMessage) {
+            type = org.springframework.web.reactive.socket.WebSocketMessage.Type.PING;
+        } else if (message instanceof PongMessage) {
+            type = org.springframework.web.reactive.socket.WebSocketMessage.Type.PONG;
+        } else {
+            throw new IllegalArgumentException("지원하지 않는 메시지 유형: " + message.getClass().getName());
+        }
+        // 같은 프레임을 여러 세션에 보내므로 원본 버퍼의 위치를 건드리지 않는다
+        ByteBuffer payload = (ByteBuffer) message.getPayload();
+        return new org.springframework.web.reactive.socket.WebSocketMessage(type,
+                delegate.bufferFactory().wrap(payload.duplicate()));
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public URI getUri() {
+        return delegate.getHandshakeInfo().getUri();
+    }
+
+    @Override
+    public HttpHeaders getHandshakeHeaders() {
+        return delegate.getHandshakeInfo().getHeaders();
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return delegate.getAttributes();
+    }
+
+    @Override
+    public Principal getPrincipal() {
+        // 인증을 쓰지 않으므로 핸드셰이크의 Principal 을 기다리지 않는다
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return delegate.getHandshakeInfo().getRemoteAddress();
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        return delegate.getHandshakeInfo().getSubProtocol();
+    }
+
+    // 프레임 크기 한도는 서버 설정(WebsocketServerSpec)이 적용하므로 값만 보관한다
+    @Override
+    public void setTextMessageSizeLimit(int messageSizeLimit) {
+        this.textMessageSizeLimit = messageSizeLimit;
+    }
+
+    @Override
+    public int getTextMessageSizeLimit() {
+        return textMessageSizeLimit;
+    }
+
+    @Override
+    public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        this.binaryMessageSizeLimit = messageSizeLimit;
+    }
+
+    @Override
+    public int getBinaryMessageSizeLimit() {
+        return binaryMessageSizeLimit;
+    }
+
+    @Override
+    public List<WebSocketExtension> getExtensions() {
+        return List.of();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open && delegate.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        close(CloseStatus.NORMAL);
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        open = false;
+        // 닫기 프레임 전송 후 수신 스트림이 끝나면 핸들러가 연결 종료를 처리한다
+        delegate.close(new org.springframework.web.reactive.socket.CloseStatus(status.getCode(), status.getReason()))
+                .subscribe();
+    }
+
+    @Override
+    public String toString() {
+        return "ReactiveSessionAdapter[id=" + getId() + ", uri=" + getUri() + "]";
+    }
+}
@@ -0,0 +1,187 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// 방 ID 해시로 방을 고정된 워커 스레드에 나눠 맡긴다
+// 한 방의 입장/퇴장/대화와 삭제/만료/기록 비우기는 항상 같은 워커에서 순서대로 실행되므로
+// 순번 부여와 송신 대기열 등록 순서가 일치해 방 단위 전달 순서가 보장되고, 방 상태 잠금은 경합 없이 워커 하나만 잡는다
+// 잠금은 남겨 둔다: chat.room.workers=0 이면 워커 없이 여러 호출 스레드가 같은 방을 바로 바꾸고,
+// 방 목록 조회(REST/로비)는 다른 스레드에서 참여자 스냅샷과 인원 수를 읽는다
+// 대화/중계 메시지(tryExecute)는 워커별 대기열 한도를 넘으면 거부하고, 입장/퇴장/삭제(execute)는 한도 없이 받는다
+// 종료 뒤에 들어온 명령은 실행되지 않으므로 거부 수로 집계하고 로그를 남긴다
+@Component
+public class RoomWorkers {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomWorkers.class);
+
+    private final Worker[] workers;
+    private final int queueCapacity;
+    private final AtomicLong rejectedCommands = new AtomicLong();
+
+    // 테스트/벤치마크용: 워커 없이 호출 스레드에서 처리
+    public RoomWorkers() {
+        this(new ChatProperties());
+    }
+
+    @Autowired
+    public RoomWorkers(ChatProperties chatProperties) {
+        int count = Math.max(0, chatProperties.getRoom().getWorkers());
+        this.queueCapacity = Math.max(1, chatProperties.getRoom().getWorkerQueueCapacity());
+        this.workers = new Worker[count];
+        for (int i = 0; i < count; i++) {
+            workers[i] = new Worker("room-worker-" + i);
+            workers[i].start();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Worker worker : workers) {
+            worker.stopAfterDrain();
+        }
+        for (Worker worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return workers.length > 0;
+    }
+
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    // 방을 맡은 워커의 대기열 끝에 명령을 넣는다 (같은 스레드가 넣은 명령은 넣은 순서대로 실행된다)
+    // 대기열 한도와 관계없이 받는다: 입장/퇴장/삭제처럼 버리면 방 상태가 어긋나는 명령용
+    public void execute(String roomId, Runnable command) {
+        if (workers.length == 0) {
+            command.run();
+            return;
+        }
+        if (!workers[indexOf(roomId)].submit(command, Integer.MAX_VALUE)) {
+            rejected(roomId);
+        }
+    }
+
+    // 대화/중계 메시지용: 워커 대기열이 한도에 차 있거나 종료된 뒤면 넣지 않고 false
+    public boolean tryExecute(String roomId, Runnable command) {
+        if (workers.length == 0) {
+            command.run();
+            return true;
+        }
+        if (workers[indexOf(roomId)].submit(command, queueCapacity)) {
+            return true;
+        }
+        rejected(roomId);
+        return false;
+    }
+
+    private void rejected(String roomId) {
+        long rejected = rejectedCommands.incrementAndGet();
+        if (rejected % 1000 == 1) {
+            logger.warn("방 워커 명령 거부 (대기열 한도 초과 또는 종료 후) - 방: {}, 누적 거부: {}", roomId, rejected);
+        }
+    }
+
+    // 대기열 한도 초과나 종료 후 제출로 실행되지 않은 명령 수
+    public long getRejectedCommands() {
+        return rejectedCommands.get();
+    }
+
+    int indexOf(String roomId) {
+        // String.hashCode 의 하위 비트 편중을 줄인다 (HashMap 과 같은 방식)
+        int hash = roomId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), workers.length);
+    }
+
+    // 모든 워커 대기열에 쌓인 명령 수
+    public int getQueuedCommands() {
+        int queued = 0;
+        for (Worker worker : workers) {
+            queued += worker.queued.get();
+        }
+        return queued;
+    }
+
+    // 여러 생산자(수신 스레드, 백플레인)가 넣고 워커 하나만 꺼내는 잠금 없는 대기열
+    private static final class Worker extends Thread {
+
+        private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private volatile boolean parked;
+        private volatile boolean running = true;
+
+        Worker(String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        boolean submit(Runnable command, int capacity) {
+            if (!running) {
+                return false;
+            }
+            if (queued.incrementAndGet() > capacity) {
+                queued.decrementAndGet();
+                return false;
+            }
+            queue.offer(command);
+            // 종료와 겹친 경우: 워커가 이미 빠져나갔다면 대기열에 남은 명령을 되돌린다 (꺼내 갔다면 실행된다)
+            if (!running && queue.remove(command)) {
+                queued.decrementAndGet();
+                return false;
+            }
+            // offer 뒤에 parked 를 읽고, 워커는 parked 를 쓴 뒤 대기열을 다시 확인하므로 깨우기를 놓치지 않는다
+            if (parked) {
+                LockSupport.unpark(this);
+            }
+            return true;
+        }
+
+        void stopAfterDrain() {
+            running = false;
+            LockSupport.unpark(this);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable command = queue.poll();
+                if (command == null) {
+                    if (!running) {
+                        return;
+                    }
+                    parked = true;
+                    if (queue.isEmpty() && running) {
+                        LockSupport.park(this);
+                    }
+                    parked = false;
+                    continue;
+                }
+                queued.decrementAndGet();
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    // 한 명령의 실패가 같은 워커의 다른 방 처리를 멈추지 않도록 한다
+                    logger.error("방 워커 명령 실패 - 워커: {}, 오류: {}", getName(), e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 세션별 제한 송신 버퍼: 한 번에 하나의 drain 작업만 세션에 쓰도록 보장한다
+class SessionOutbound implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionOutbound.class);
+
+    // 한 번의 drain 에서 보내는 최대 메시지 수 (다른 세션과의 공정성 확보)
+    private static final int MAX_MESSAGES_PER_DRAIN = 64;
+
+    // drain 작업 상태: 대기 중인 작업 없음 / 합치기 창이 끝나기를 기다리는 중 / 실행기에 등록됨
+    private static final int IDLE = 0;
+    private static final int ARMED = 1;
+    private static final int RUNNING = 2;
+
+    private final WebSocketSession session;
+    private final Executor executor;
+    private final int maxMessages;
+    private final long maxBytes;
+    private final OverflowStrategy overflowStrategy;
+    private final MessageCounters counters;
+    private final ChatMetrics metrics;
+    private final boolean coalesce;
+    private final long coalesceMaxBytes;
+    private final long coalesceWindowNanos;
+    // 합치기 창 타이머 (창이 0 이거나 합치기를 쓰지 않으면 null)
+    private final ScheduledExecutorService coalesceTimer;
+
+    private final ArrayDeque<WebSocketMessage<?>> queue = new ArrayDeque<>();
+    private long queuedBytes;
+    // 대기 중인 프레임 중 샘플링된 메시지의 trace (프레임 객체 기준, queue 잠금으로 보호)
+    // 샘플링된 메시지가 처음 들어올 때 만든다
+    private IdentityHashMap<WebSocketMessage<?>, MessageTrace> traces;
+    // 지금 전송 중인 프레임들의 trace (drain 작업 하나만 사용)
+    private List<MessageTrace> inFlightTraces;
+    private final AtomicInteger drainState = new AtomicInteger(IDLE);
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private volatile boolean closed;
+
+    SessionOutbound(WebSocketSession session, Executor executor, ChatProperties.Outbound limits) {
+        this(session, executor, null, limits, new MessageCounters(), new ChatMetrics());
+    }
+
+    SessionOutbound(WebSocketSession session, Executor executor, ScheduledExecutorService coalesceTimer,
+                    ChatProperties.Outbound limits, MessageCounters counters, ChatMetrics metrics) {
+        this.session = session;
+        this.executor = executor;
+        this.maxMessages = limits.getMaxMessages();
+        this.maxBytes = limits.getMaxBytes();
+        this.overflowStrategy = limits.getOverflowStrategy();
+        this.counters = counters;
+        this.metrics = metrics;
+        this.coalesce = limits.isCoalesce();
+        this.coalesceMaxBytes = limits.getCoalesceMaxBytes();
+        this.coalesceWindowNanos = limits.getCoalesceWindow().toNanos();
+        this.coalesceTimer = coalesce && coalesceWindowNanos > 0 ? coalesceTimer : null;
+    }
+
+    boolean enqueue(WebSocketMessage<?> message) {
+        return enqueue(message, null);
+    }
+
+    // trace 가 있으면 전송 완료/버림을 기록할 수 있도록 프레임과 함께 보관한다
+    boolean enqueue(WebSocketMessage<?> message, MessageTrace trace) {
+        int size = message.getPayloadLength();
+        boolean overflowClose = false;
+        long bytesAfter;
+
+        synchronized (queue) {
+            if (closed) {
+                dropped(DropReason.CLOSED, 1);
+                return false;
+            }
+            if (!fits(size)) {
+                switch (overflowStrategy) {
+                    case DROP_NEWEST:
+                        dropped(DropReason.REJECTED, 1);
+                        return false;
+                    case DROP_OLDEST:
+                        while (!queue.isEmpty() && !fits(size)) {
+                            WebSocketMessage<?> oldest = queue.pollFirst();
+                            queuedBytes -= oldest.getPayloadLength();
+                            dropped(DropReason.EVICTED, 1);
+                            discardTrace(oldest);
+                        }
+                        if (!fits(size)) {
+                            // 단일 메시지가 바이트 한도보다 큰 경우
+                            dropped(DropReason.REJECTED, 1);
+                            return false;
+                        }
+                        break;
+                    case CLOSE:
+                        overflowClose = true;
+                        break;
+                }
+            }
+            if (!overflowClose) {
+                queue.offerLast(message);
+                queuedBytes += size;
+                if (trace != null) {
+                    if (traces == null) {
+                        traces = new IdentityHashMap<>();
+                    }
+                    traces.put(message, trace);
+                }
+            }
+            bytesAfter = queuedBytes;
+        }
+
+        if (overflowClose) {
+            logger.warn("송신 버퍼 초과로 세션 종료 - 세션 ID: {}, 대기 메시지 수: {}", session.getId(), getQueuedMessages());
+            dropped(DropReason.REJECTED, 1);
+            close();
+            closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+            return false;
+        }
+
+        scheduleDrain(bytesAfter);
+        return true;
+    }
+
+    void close() {
+        synchronized (queue) {
+            closed = true;
+            dropped(DropReason.CLOSED, queue.size());
+            if (traces != null) {
+                traces.values().forEach(MessageTrace::discarded);
+                traces.clear();
+            }
+            queue.clear();
+            queuedBytes = 0;
+        }
+    }
+
+    WebSocketSession getSession() {
+        return session;
+    }
+
+    int getQueuedMessages() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    long getQueuedBytes() {
+        synchronized (queue) {
+            return queuedBytes;
+        }
+    }
+
+    long getSentCount() {
+        return sentCount.get();
+    }
+
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public void run() {
+        // 전송 중인 메시지 (실패 시 버려진 것으로 기록)
+        WebSocketMessage<?> polled = null;
+        List<WebSocketMessage<?>> batch = null;
+        try {
+            int sent = 0;
+            while (sent < MAX_MESSAGES_PER_DRAIN && (polled = poll()) != null) {
+                WebSocketMessage<?> message = polled;
+                batch = null;
+                int count = 1;
+                if (coalesce && FrameCoalescer.isCoalescable(message)) {
+                    // 대기열에 이어서 쌓인 단일 메시지들을 프레임 하나로 합친다
+                    batch = pollFollowing(message, MAX_MESSAGES_PER_DRAIN - sent);
+                    count = batch.size();
+                    message = FrameCoalescer.coalesce(batch);
+                    metrics.recordCoalesced(count);
+                }
+                if (!session.isOpen()) {
+                    dropped(DropReason.CLOSED, count);
+                    discardInFlight();
+                    polled = null;
+                    close();
+                    break;
+                }
+                long start = System.nanoTime();
+                session.sendMessage(message);
+                long end = System.nanoTime();
+                metrics.recordSend(end - start);
+                writtenInFlight(start, end);
+                polled = null;
+                sent += count;
+                sentCount.addAndGet(count);
+                // 수신자별 로그 대신 카운터만 올린다
+                counters.frameSent();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (polled != null) {
+                dropped(DropReason.FAILED, batch != null ? batch.size() : 1);
+            }
+            discardInFlight();
+            counters.sendFailed();
+            logger.error("메시지 전송 실패 - 세션 ID: {}, 오류: {}", session.getId(), e.getMessage());
+            close();
+            closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            drainState.set(IDLE);
+            // 남은 메시지는 이미 기다렸으므로 합치기 창 없이 바로 이어서 보낸다
+            if (!closed && getQueuedMessages() > 0 && drainState.compareAndSet(IDLE, RUNNING)) {
+                submitDrain();
+            }
+        }
+    }
+
+    // 세션별 누적 수와 함께 전체 메트릭에도 남긴다 (DROP_OLDEST 로 밀려난 프레임은 enqueue 결과에 드러나지 않는다)
+    private void dropped(DropReason reason, int count) {
+        if (count > 0) {
+            droppedCount.addAndGet(count);
+            metrics.droppedFrames(reason, count);
+        }
+    }
+
+    // queue 잠금 안에서 호출: 버퍼에서 빠진 프레임의 trace 를 버려진 것으로 기록한다
+    private void discardTrace(WebSocketMessage<?> message) {
+        if (traces != null) {
+            MessageTrace trace = traces.remove(message);
+            if (trace != null) {
+                trace.discarded();
+            }
+        }
+    }
+
+    // queue 잠금 안에서 호출: 전송하려고 꺼낸 프레임의 trace 를 전송 중 목록으로 옮긴다
+    private void takeTrace(WebSocketMessage<?> message) {
+        if (traces != null && !traces.isEmpty()) {
+            MessageTrace trace = traces.remove(message);
+            if (trace != null) {
+                if (inFlightTraces == null) {
+                    inFlightTraces = new ArrayList<>();
+                }
+                inFlightTraces.add(trace);
+            }
+        }
+    }
+
+    private void writtenInFlight(long writeStartNanos, long writeEndNanos) {
+        if (inFlightTraces != null && !inFlightTraces.isEmpty()) {
+            for (MessageTrace trace : inFlightTraces) {
+                trace.written(session.getId(), writeStartNanos, writeEndNanos);
+            }
+            inFlightTraces.clear();
+        }
+    }
+
+    private void discardInFlight() {
+        if (inFlightTraces != null && !inFlightTraces.isEmpty()) {
+            inFlightTraces.forEach(MessageTrace::discarded);
+            inFlightTraces.clear();
+        }
+    }
+
+    private boolean fits(int size) {
+        return queue.size() < maxMessages && queuedBytes + size <= maxBytes;
+    }
+
+    private WebSocketMessage<?> poll() {
+        synchronized (queue) {
+            if (closed) {
+                return null;
+            }
+            WebSocketMessage<?> message = queue.pollFirst();
+            if (message != null) {
+                queuedBytes -= message.getPayloadLength();
+                takeTrace(message);
+            }
+            return message;
+        }
+    }
+
+    // first 뒤에 이어진, 합칠 수 있는 메시지들을 바이트 예산 안에서 꺼낸다 (first 포함)
+    private List<WebSocketMessage<?>> pollFollowing(WebSocketMessage<?> first, int limit) {
+        List<WebSocketMessage<?>> batch = new ArrayList<>();
+        batch.add(first);
+        long batchBytes = first.getPayloadLength();
+        synchronized (queue) {
+            WebSocketMessage<?> next;
+            while (batch.size() < limit && (next = queue.peekFirst()) != null
+                    && batchBytes + next.getPayloadLength() <= coalesceMaxBytes
+                    && FrameCoalescer.canJoin(first, next)) {
+                queue.pollFirst();
+                queuedBytes -= next.getPayloadLength();
+                batchBytes += next.getPayloadLength();
+                batch.add(next);
+                takeTrace(next);
+            }
+        }
+        return batch;
+    }
+
+    private void scheduleDrain(long queuedBytesNow) {
+        if (coalesceTimer == null) {
+            if (drainState.compareAndSet(IDLE, RUNNING)) {
+                submitDrain();
+            }
+            return;
+        }
+        // 첫 메시지가 들어오면 합치기 창만큼 기다렸다가 보낸다
+        if (drainState.compareAndSet(IDLE, ARMED)) {
+            try {
+                coalesceTimer.schedule(this::windowElapsed, coalesceWindowNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                windowElapsed();
+            }
+            return;
+        }
+        // 창이 끝나기 전에 바이트 예산이 차면 바로 보낸다
+        if (queuedBytesNow >= coalesceMaxBytes && drainState.compareAndSet(ARMED, RUNNING)) {
+            submitDrain();
+        }
+    }
+
+    private void windowElapsed() {
+        if (drainState.compareAndSet(ARMED, RUNNING)) {
+            submitDrain();
+        }
+    }
+
+    private void submitDrain() {
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException e) {
+            // 송신 작업을 다시 맡길 곳이 없으므로 대기 중인 프레임은 전달될 수 없다: 폐기로 집계하고 세션을 닫는다
+            logger.warn("송신 작업 등록 거부로 세션 종료 - 세션 ID: {}, 대기 메시지 수: {}", session.getId(), getQueuedMessages());
+            close();
+            drainState.set(IDLE);
+            closeQuietly(CloseStatus.SERVICE_OVERLOAD);
+        }
+    }
+
+    private void closeQuietly(CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            logger.debug("세션 종료 실패 - 세션 ID: {}, 오류: {}", session.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ezlevup.chatsocket.handler;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// 연결 하나당 하나의 레코드: 세션, 송신 버퍼, 방 소속, 사용자 정보를 함께 보관한다
+public class SessionRecord {
+
+    private final WebSocketSession session;
+    private final SessionOutbound outbound;
+    private final long connectedAt;
+    private final WireFormat wireFormat;
+    private final AtomicReference<String> roomId = new AtomicReference<>();
+    private volatile String sender;
+
+    SessionRecord(WebSocketSession session, SessionOutbound outbound) {
+        this.session = session;
+        this.outbound = outbound;
+        this.connectedAt = System.currentTimeMillis();
+        this.wireFormat = WireFormat.fromSubprotocol(session.getAcceptedProtocol());
+    }
+
+    public WebSocketSession getSession() {
+        return session;
+    }
+
+    SessionOutbound getOutbound() {
+        return outbound;
+    }
+
+    public String getSessionId() {
+        return session.getId();
+    }
+
+    public long getConnectedAt() {
+        return connectedAt;
+    }
+
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    public String getRoomId() {
+        return roomId.get();
+    }
+
+    public void setRoomId(String roomId) {
+        this.roomId.set(roomId);
+    }
+
+    // 방 소속을 해제하고 이전 방 ID 를 반환한다 (중복 퇴장 처리 방지)
+    public String clearRoomId() {
+        return roomId.getAndSet(null);
+    }
+
+    // 아직 expected 방에 소속되어 있을 때만 해제한다 (입장이 거부된 방 정리용)
+    public boolean clearRoomId(String expected) {
+        return roomId.compareAndSet(expected, null);
+    }
+
+    public String getSender() {
+        return sender;
+    }
+
+    public void setSender(String sender) {
+        this.sender = sender;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// 세션 ID 해시로 나눈 N개의 stripe 에 연결 레코드를 보관한다
+@Component
+public class SessionRegistry {
+
+    private final ConcurrentHashMap<String, SessionRecord>[] stripes;
+    private final int stripeMask;
+    private final int maxSessions;
+    private final AtomicInteger sessionCount = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    public SessionRegistry(ChatProperties chatProperties) {
+        ChatProperties.Session config = chatProperties.getSession();
+        int stripeCount = 1;
+        while (stripeCount < config.getRegistryStripes()) {
+            stripeCount <<= 1;
+        }
+        this.stripes = new ConcurrentHashMap[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.stripeMask = stripeCount - 1;
+        this.maxSessions = config.getMaxSessions();
+    }
+
+    // 노드 세션 한도를 초과하면 null 을 반환한다
+    SessionRecord register(WebSocketSession session, SessionOutbound outbound) {
+        if (!tryAcquireSlot()) {
+            return null;
+        }
+        SessionRecord record = new SessionRecord(session, outbound);
+        SessionRecord previous = stripeFor(session.getId()).putIfAbsent(session.getId(), record);
+        if (previous != null) {
+            sessionCount.decrementAndGet();
+            return previous;
+        }
+        return record;
+    }
+
+    public SessionRecord find(String sessionId) {
+        return stripeFor(sessionId).get(sessionId);
+    }
+
+    public SessionRecord unregister(String sessionId) {
+        SessionRecord record = stripeFor(sessionId).remove(sessionId);
+        if (record != null) {
+            sessionCount.decrementAndGet();
+        }
+        return record;
+    }
+
+    public void forEach(Consumer<SessionRecord> action) {
+        for (ConcurrentHashMap<String, SessionRecord> stripe : stripes) {
+            stripe.values().forEach(action);
+        }
+    }
+
+    public int getSessionCount() {
+        return sessionCount.get();
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    private boolean tryAcquireSlot() {
+        while (true) {
+            int current = sessionCount.get();
+            if (current >= maxSessions) {
+                return false;
+            }
+            if (sessionCount.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private ConcurrentHashMap<String, SessionRecord> stripeFor(String sessionId) {
+        int hash = sessionId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+}
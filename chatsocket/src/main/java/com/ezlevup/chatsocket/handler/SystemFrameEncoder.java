@@ -0,0 +1,223 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.MessageType;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.web.socket.TextMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 입장/퇴장 알림과 에러 메시지처럼 형태가 고정된 시스템 메시지의 JSON 템플릿 인코더
+// 미리 직렬화해 둔 바이트 조각 사이에 방 ID, 사용자명, 시각, 순번만 끼워 넣는다
+// 결과는 ObjectMapper 직렬화와 바이트 단위로 같다 (필드 순서, 시각 형식, null 순번 생략)
+public final class SystemFrameEncoder {
+
+    static final String ENTER_SUFFIX = "님이 입장하셨습니다.";
+    static final String QUIT_SUFFIX = "님이 퇴장하셨습니다.";
+    static final String SYSTEM_ROOM_ID = "system";
+    static final String SYSTEM_SENDER = "System";
+
+    // 에러 문구는 코드에 고정된 소수이므로 이 정도면 모두 담긴다
+    private static final int MAX_CACHED_ERRORS = 64;
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final JsonStringEncoder ESCAPER = JsonStringEncoder.getInstance();
+
+    private static final byte[] ENTER_HEAD = utf8("{\"type\":\"ENTER\",\"roomId\":\"");
+    private static final byte[] QUIT_HEAD = utf8("{\"type\":\"QUIT\",\"roomId\":\"");
+    private static final byte[] SENDER_FIELD = utf8("\",\"sender\":\"");
+    private static final byte[] MESSAGE_FIELD = utf8("\",\"message\":\"");
+    private static final byte[] ENTER_TAIL = utf8(ENTER_SUFFIX + "\",\"timestamp\":\"");
+    private static final byte[] QUIT_TAIL = utf8(QUIT_SUFFIX + "\",\"timestamp\":\"");
+    private static final byte[] SEQUENCE_FIELD = utf8("\",\"sequence\":");
+    private static final byte[] ERROR_HEAD = utf8("{\"type\":\"TALK\",\"roomId\":\"system\",\"sender\":\"System\",\"message\":\"");
+    private static final byte[] TIMESTAMP_FIELD = utf8("\",\"timestamp\":\"");
+    private static final byte[] QUOTED_END = utf8("\"}");
+
+    // 같은 초 안의 메시지는 형식화된 시각 바이트를 공유한다
+    private static volatile CachedTimestamp cachedTimestamp = new CachedTimestamp(Long.MIN_VALUE, new byte[0]);
+    // 에러 문구 -> 현재 초의 완성된 프레임
+    private static final ConcurrentHashMap<String, CachedFrame> errorFrames = new ConcurrentHashMap<>();
+
+    private SystemFrameEncoder() {
+    }
+
+    public static ChatMessage enterNotice(String roomId, String sender) {
+        return new ChatMessage(MessageType.ENTER, roomId, sender, sender + ENTER_SUFFIX);
+    }
+
+    public static ChatMessage quitNotice(String roomId, String sender) {
+        return new ChatMessage(MessageType.QUIT, roomId, sender, sender + QUIT_SUFFIX);
+    }
+
+    public static ChatMessage error(String errorMessage) {
+        return new ChatMessage(MessageType.TALK, SYSTEM_ROOM_ID, SYSTEM_SENDER, errorMessage);
+    }
+
+    // 입장/퇴장 알림이면 템플릿으로 인코딩한 바이트, 아니면 null (일반 직렬화 사용)
+    public static byte[] tryEncode(ChatMessage message) {
+        byte[] tail;
+        byte[] head;
+        if (message.getType() == MessageType.ENTER && isNotice(message, ENTER_SUFFIX)) {
+            head = ENTER_HEAD;
+            tail = ENTER_TAIL;
+        } else if (message.getType() == MessageType.QUIT && isNotice(message, QUIT_SUFFIX)) {
+            head = QUIT_HEAD;
+            tail = QUIT_TAIL;
+        } else {
+            return null;
+        }
+
+        String roomId = message.getRoomId();
+        String sender = message.getSender();
+        int roomIdLength = plainUtf8Length(roomId);
+        int senderLength = plainUtf8Length(sender);
+        if (roomIdLength < 0 || senderLength < 0) {
+            // 이스케이프가 필요한 드문 경우는 일반 직렬화
+            return null;
+        }
+        byte[] timestamp = timestampBytes(message.getTimestamp());
+        Long sequence = message.getSequence();
+
+        // 최종 크기를 먼저 계산해 결과 배열 하나만 할당한다
+        int size = head.length + roomIdLength + SENDER_FIELD.length + senderLength + MESSAGE_FIELD.length
+                + senderLength + tail.length + timestamp.length
+                + (sequence != null ? SEQUENCE_FIELD.length + digits(sequence) + 1 : QUOTED_END.length);
+        byte[] frame = new byte[size];
+        int position = put(frame, 0, head);
+        position = putUtf8(frame, position, roomId);
+        position = put(frame, position, SENDER_FIELD);
+        position = putUtf8(frame, position, sender);
+        position = put(frame, position, MESSAGE_FIELD);
+        position = putUtf8(frame, position, sender);
+        position = put(frame, position, tail);
+        position = put(frame, position, timestamp);
+        if (sequence != null) {
+            position = put(frame, position, SEQUENCE_FIELD);
+            position = putDigits(frame, position, sequence);
+            frame[position] = '}';
+        } else {
+            put(frame, position, QUOTED_END);
+        }
+        return frame;
+    }
+
+    // 에러 메시지 프레임. 같은 문구는 같은 초 동안 완성된 프레임을 그대로 재사용한다
+    public static TextMessage errorFrame(String errorMessage) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        CachedFrame cached = errorFrames.get(errorMessage);
+        if (cached != null && cached.second().equals(now)) {
+            return cached.frame();
+        }
+
+        byte[] text = ESCAPER.quoteAsUTF8(errorMessage);
+        byte[] timestamp = timestampBytes(now);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(ERROR_HEAD.length + text.length
+                + TIMESTAMP_FIELD.length + timestamp.length + QUOTED_END.length);
+        out.writeBytes(ERROR_HEAD);
+        out.writeBytes(text);
+        out.writeBytes(TIMESTAMP_FIELD);
+        out.writeBytes(timestamp);
+        out.writeBytes(QUOTED_END);
+        TextMessage frame = new TextMessage(out.toByteArray());
+        if (cached != null || errorFrames.size() < MAX_CACHED_ERRORS) {
+            errorFrames.put(errorMessage, new CachedFrame(now, frame));
+        }
+        return frame;
+    }
+
+    private static boolean isNotice(ChatMessage message, String suffix) {
+        String sender = message.getSender();
+        String text = message.getMessage();
+        return message.getRoomId() != null && sender != null && text != null
+                && message.getTimestamp() != null && message.getLastSequence() == null
+                && text.length() == sender.length() + suffix.length()
+                && text.startsWith(sender) && text.endsWith(suffix);
+    }
+
+    private static byte[] timestampBytes(LocalDateTime timestamp) {
+        // 초 단위 키는 할당 없이 계산한다
+        long second = timestamp.toLocalDate().toEpochDay() * 86_400 + timestamp.toLocalTime().toSecondOfDay();
+        CachedTimestamp cached = cachedTimestamp;
+        if (cached.second() == second) {
+            return cached.bytes();
+        }
+        byte[] bytes = utf8(TIMESTAMP_FORMAT.format(timestamp));
+        cachedTimestamp = new CachedTimestamp(second, bytes);
+        return bytes;
+    }
+
+    // 이스케이프 없이 그대로 쓸 수 있는 문자열이면 UTF-8 길이, 아니면 -1
+    private static int plainUtf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\' || Character.isSurrogate(c)) {
+                return -1;
+            }
+            length += c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+        }
+        return length;
+    }
+
+    private static int putUtf8(byte[] target, int position, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                target[position++] = (byte) c;
+            } else if (c < 0x800) {
+                target[position++] = (byte) (0xC0 | (c >> 6));
+                target[position++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                target[position++] = (byte) (0xE0 | (c >> 12));
+                target[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                target[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+
+    private static int put(byte[] target, int position, byte[] bytes) {
+        System.arraycopy(bytes, 0, target, position, bytes.length);
+        return position + bytes.length;
+    }
+
+    private static int digits(long value) {
+        if (value < 0) {
+            return Long.toString(value).length();
+        }
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private static int putDigits(byte[] target, int position, long value) {
+        if (value < 0) {
+            return put(target, position, utf8(Long.toString(value)));
+        }
+        int end = position + digits(value);
+        for (int i = end - 1; i >= position; i--) {
+            target[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record CachedTimestamp(long second, byte[] bytes) {
+    }
+
+    private record CachedFrame(LocalDateTime second, TextMessage frame) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.ezlevup.chatsocket.handler;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 잠금 없는 토큰 버킷 (GCRA 방식: 다음 토큰이 생기는 이론상 시각 하나만 CAS 로 갱신)
+// ratePerSecond 로 채워지고 burst 만큼 한꺼번에 쓸 수 있다. ratePerSecond <= 0 이면 제한 없음
+final class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long ratePerSecond;
+    private final long burstNanos;
+    // 지금까지 사용한 토큰이 모두 다시 채워지는 시각
+    private final AtomicLong fullAt;
+
+    TokenBucket(long ratePerSecond, long burst) {
+        this.ratePerSecond = ratePerSecond;
+        this.burstNanos = ratePerSecond > 0 ? costNanos(Math.max(1, burst), ratePerSecond) : 0;
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    // tokens 를 사용한다. 바로 쓸 수 있으면 0, maxWaitNanos 안에 쓸 수 있으면 예약하고 기다릴 시간,
+    // 그보다 오래 기다려야 하면 예약하지 않고 필요한 대기 시간(> maxWaitNanos)을 반환한다
+    long acquire(long tokens, long now, long maxWaitNanos) {
+        if (ratePerSecond <= 0) {
+            return 0;
+        }
+        long cost = costNanos(tokens, ratePerSecond);
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost;
+            long wait = next - now - burstNanos;
+            if (wait > maxWaitNanos) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return Math.max(0, wait);
+            }
+        }
+    }
+
+    // acquire 로 예약한 tokens 를 되돌린다 (함께 확인하는 다른 버킷이 거부해 메시지를 버릴 때)
+    void refund(long tokens) {
+        if (ratePerSecond > 0) {
+            fullAt.addAndGet(-costNanos(tokens, ratePerSecond));
+        }
+    }
+
+    // 토큰이 가득 찬 상태면 버려도 제한 결과가 달라지지 않는다
+    boolean isIdle(long now) {
+        return fullAt.get() - now <= 0;
+    }
+
+    private static long costNanos(long tokens, long ratePerSecond) {
+        return tokens * NANOS_PER_SECOND / ratePerSecond;
+    }
+}
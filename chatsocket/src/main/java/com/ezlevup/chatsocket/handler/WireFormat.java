@@ -0,0 +1,30 @@
+package com.ezlevup.chatsocket.handler;
+
+// 웹소켓 하위 프로토콜로 협상하는 메시지 형식. 요청하지 않으면 JSON
+// JSON_DEFLATE 는 JSON 과 같되, 임계값 이상의 프레임을 공유 사전으로 압축한 바이너리 프레임으로 받는다
+public enum WireFormat {
+    JSON("chat.json.v1"),
+    BINARY("chat.binary.v1"),
+    JSON_DEFLATE("chat.json-deflate.v1");
+
+    private static final WireFormat[] VALUES = values();
+
+    private final String subprotocol;
+
+    WireFormat(String subprotocol) {
+        this.subprotocol = subprotocol;
+    }
+
+    public String getSubprotocol() {
+        return subprotocol;
+    }
+
+    public static WireFormat fromSubprotocol(String acceptedProtocol) {
+        for (WireFormat format : VALUES) {
+            if (format.subprotocol.equals(acceptedProtocol)) {
+                return format;
+            }
+        }
+        return JSON;
+    }
+}
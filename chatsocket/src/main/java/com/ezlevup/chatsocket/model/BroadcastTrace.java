@@ -0,0 +1,124 @@
+package com.ezlevup.chatsocket.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// 완료된 브로드캐스트 추적 결과 (시간은 마이크로초)
+public class BroadcastTrace {
+
+    @JsonProperty("roomId")
+    private String roomId;
+
+    @JsonProperty("type")
+    private MessageType type;
+
+    @JsonProperty("sequence")
+    private long sequence;
+
+    @JsonProperty("receivedAt")
+    private long receivedAt;
+
+    @JsonProperty("recipients")
+    private int recipients;
+
+    // 송신 버퍼에서 거부되거나 버려진 수신자 수
+    @JsonProperty("dropped")
+    private int dropped;
+
+    @JsonProperty("parseMicros")
+    private long parseMicros;
+
+    // 방 조회 (입장 메시지는 입장 처리와 최근 메시지 전송 포함)
+    @JsonProperty("resolveMicros")
+    private long resolveMicros;
+
+    // 모든 수신자의 송신 버퍼 등록
+    @JsonProperty("fanOutMicros")
+    private long fanOutMicros;
+
+    // 수신부터 마지막 수신자 전송 완료까지
+    @JsonProperty("totalMicros")
+    private long totalMicros;
+
+    // 가장 늦게 받은 수신자와 방 조회 이후 그 수신자에게 쓰기까지 걸린 시간
+    @JsonProperty("slowestRecipient")
+    private String slowestRecipient;
+
+    @JsonProperty("slowestRecipientMicros")
+    private long slowestRecipientMicros;
+
+    // 세션 하나에 쓰는 시간 중 최대값
+    @JsonProperty("maxWriteMicros")
+    private long maxWriteMicros;
+
+    public BroadcastTrace() {}
+
+    public BroadcastTrace(String roomId, MessageType type, long sequence, long receivedAt, int recipients, int dropped,
+                          long parseMicros, long resolveMicros, long fanOutMicros, long totalMicros,
+                          String slowestRecipient, long slowestRecipientMicros, long maxWriteMicros) {
+        this.roomId = roomId;
+        this.type = type;
+        this.sequence = sequence;
+        this.receivedAt = receivedAt;
+        this.recipients = recipients;
+        this.dropped = dropped;
+        this.parseMicros = parseMicros;
+        this.resolveMicros = resolveMicros;
+        this.fanOutMicros = fanOutMicros;
+        this.totalMicros = totalMicros;
+        this.slowestRecipient = slowestRecipient;
+        this.slowestRecipientMicros = slowestRecipientMicros;
+        this.maxWriteMicros = maxWriteMicros;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public MessageType getType() {
+        return type;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getReceivedAt() {
+        return receivedAt;
+    }
+
+    public int getRecipients() {
+        return recipients;
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    public long getParseMicros() {
+        return parseMicros;
+    }
+
+    public long getResolveMicros() {
+        return resolveMicros;
+    }
+
+    public long getFanOutMicros() {
+        return fanOutMicros;
+    }
+
+    public long getTotalMicros() {
+        return totalMicros;
+    }
+
+    public String getSlowestRecipient() {
+        return slowestRecipient;
+    }
+
+    public long getSlowestRecipientMicros() {
+        return slowestRecipientMicros;
+    }
+
+    public long getMaxWriteMicros() {
+        return maxWriteMicros;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ezlevup.chatsocket.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -15,6 +16,14 @@ public class ChatMessage {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime timestamp;
 
+    // 서버가 방 단위로 부여하는 메시지 순번
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long sequence;
+
+    // 재접속 시 클라이언트가 ENTER 에 담아 보내는 마지막 수신 순번
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long lastSequence;
+
     public ChatMessage() {
         this.timestamp = LocalDateTime.now();
     }
@@ -27,6 +36,14 @@ public class ChatMessage {
         this.timestamp = LocalDateTime.now();
     }
 
+    public ChatMessage(MessageType type, String roomId, String sender, String message, LocalDateTime timestamp) {
+        this.type = type;
+        this.roomId = roomId;
+        this.sender = sender;
+        this.message = message;
+        this.timestamp = timestamp;
+    }
+
     public MessageType getType() {
         return type;
     }
@@ -67,6 +84,22 @@ public class ChatMessage {
         this.timestamp = timestamp;
     }
 
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(Long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -76,12 +109,14 @@ public class ChatMessage {
                Objects.equals(roomId, that.roomId) && 
                Objects.equals(sender, that.sender) && 
                Objects.equals(message, that.message) && 
-               Objects.equals(timestamp, that.timestamp);
+               Objects.equals(timestamp, that.timestamp) &&
+               Objects.equals(sequence, that.sequence) &&
+               Objects.equals(lastSequence, that.lastSequence);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, roomId, sender, message, timestamp);
+        return Objects.hash(type, roomId, sender, message, timestamp, sequence, lastSequence);
     }
 
     @Override
@@ -92,6 +127,8 @@ public class ChatMessage {
                 ", sender='" + sender + '\'' +
                 ", message='" + message + '\'' +
                 ", timestamp=" + timestamp +
+                ", sequence=" + sequence +
+                ", lastSequence=" + lastSequence +
                 '}';
     }
 }
\ No newline at end of file
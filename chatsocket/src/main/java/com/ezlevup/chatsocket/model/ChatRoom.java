@@ -2,21 +2,39 @@ package com.ezlevup.chatsocket.model;
 
 import org.springframework.web.socket.WebSocketSession;
 
-import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ChatRoom {
     
+    public static final int DEFAULT_HISTORY_CAPACITY = 256;
+    
     private String roomId;
     private String name;
-    private Set<WebSocketSession> sessions;
+    // 참여 여부 확인용 세트. 추가/삭제는 members 교체와 함께 membersLock 안에서만 한다
+    // (방 워커를 쓰면 한 방의 입장/퇴장은 워커 하나에서만 일어나므로 잠금 경합이 없다)
+    private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+    // 브로드캐스트가 순회하는 참여자 스냅샷: 입장/퇴장 때마다 새 불변 리스트(List.of)로 바꾼다
+    // (메시지가 입장/퇴장보다 훨씬 잦으므로 순회는 잠금과 할당 없이 스냅샷만 읽고, 외부에서 고칠 수 없다)
+    private volatile List<WebSocketSession> members = List.of();
+    private final Object membersLock = new Object();
+    // 방 단위 메시지 순번 (브로드캐스트마다 1씩 증가)
+    private final AtomicLong lastSequence = new AtomicLong();
+    private final RecentMessageBuffer recentMessages;
+    private volatile long lastActivityMillis;
+    private volatile boolean retired;
+    // 마지막 참여자가 나간(또는 빈 방으로 만들어진) 시각, 참여자가 있으면 0. 저장소가 방 단위 잠금 안에서 갱신한다
+    private volatile long emptySinceMillis;
 
     private ChatRoom(Builder builder) {
         this.roomId = builder.roomId;
         this.name = builder.name;
-        this.sessions = Collections.synchronizedSet(ConcurrentHashMap.newKeySet());
+        this.recentMessages = new RecentMessageBuffer(builder.historyCapacity, builder.historyBudget);
+        this.lastActivityMillis = System.currentTimeMillis();
+        this.emptySinceMillis = lastActivityMillis;
     }
 
     public static Builder builder() {
@@ -24,23 +42,122 @@ public class ChatRoom {
     }
 
     public void addSession(WebSocketSession session) {
-        sessions.add(session);
+        addSession(session, Integer.MAX_VALUE);
+    }
+
+    // 방 인원 한도 내에서만 세션을 추가한다 (확인과 추가를 원자적으로 수행)
+    public boolean addSession(WebSocketSession session, int maxSessions) {
+        synchronized (membersLock) {
+            if (sessions.contains(session)) {
+                return true;
+            }
+            List<WebSocketSession> current = members;
+            if (current.size() >= maxSessions) {
+                return false;
+            }
+            sessions.add(session);
+            WebSocketSession[] next = current.toArray(new WebSocketSession[current.size() + 1]);
+            next[current.size()] = session;
+            members = List.of(next);
+            return true;
+        }
+    }
+
+    public boolean removeSession(WebSocketSession session) {
+        synchronized (membersLock) {
+            if (!sessions.remove(session)) {
+                return false;
+            }
+            List<WebSocketSession> current = members;
+            WebSocketSession[] next = new WebSocketSession[current.size() - 1];
+            int index = 0;
+            for (WebSocketSession member : current) {
+                if (!member.equals(session)) {
+                    next[index++] = member;
+                }
+            }
+            members = List.of(next);
+            return true;
+        }
     }
 
-    public void removeSession(WebSocketSession session) {
-        sessions.remove(session);
+    public boolean hasSession(WebSocketSession session) {
+        return sessions.contains(session);
     }
 
     public boolean isEmpty() {
-        return sessions.isEmpty();
+        return members.isEmpty();
     }
 
     public int getSessionCount() {
-        return sessions.size();
+        return members.size();
+    }
+
+    // 현재 참여자 스냅샷 (수정할 수 없는 리스트, 호출마다 복사하지 않는다). 순회 중 입장/퇴장은 다음 스냅샷에 반영된다
+    public List<WebSocketSession> getMembers() {
+        return members;
+    }
+
+    public long nextSequence() {
+        return lastSequence.incrementAndGet();
+    }
+
+    public long getLastSequence() {
+        return lastSequence.get();
+    }
+
+    // 메시지 로그 등에서 복구한 순번 이후부터 이어서 부여되도록 한다 (감소하지 않음)
+    public void advanceSequence(long sequence) {
+        lastSequence.accumulateAndGet(sequence, Math::max);
+    }
+
+    public void recordMessage(long sequence, byte[] frame) {
+        lastActivityMillis = System.currentTimeMillis();
+        recentMessages.put(sequence, frame);
+        // 삭제된 방에 늦게 기록된 메시지가 메모리 예산을 계속 차지하지 않도록 한다
+        if (retired) {
+            clearHistory();
+        }
+    }
+
+    // afterSequence 이후의 메시지. 최근 메시지 버퍼로 이어받을 수 없는 구간이면 null
+    public List<byte[]> getMessagesAfter(long afterSequence) {
+        return recentMessages.readAfter(afterSequence, lastSequence.get());
     }
 
-    public Set<WebSocketSession> getSessions() {
-        return Collections.unmodifiableSet(sessions);
+    // 새로 입장한 사용자에게 보낼 최근 메시지 (버퍼에 남아 있는 만큼만)
+    public List<byte[]> getRecentMessages(int limit) {
+        return recentMessages.readRecent(limit, lastSequence.get());
+    }
+
+    public void clearHistory() {
+        recentMessages.clear(lastSequence.get());
+    }
+
+    // 저장소에서 삭제될 때 호출: 기록을 비우고 이후 기록도 보관하지 않는다
+    public void retire() {
+        retired = true;
+        clearHistory();
+    }
+
+    public long getHistoryBytes() {
+        return recentMessages.getRetainedBytes();
+    }
+
+    long getEmptySinceMillis() {
+        return emptySinceMillis;
+    }
+
+    void setEmptySinceMillis(long emptySinceMillis) {
+        this.emptySinceMillis = emptySinceMillis;
+    }
+
+    public boolean isRetired() {
+        return retired;
+    }
+
+    public long getLastActivityMillis() {
+        return lastActivityMillis;
     }
 
     public String getRoomId() {
@@ -73,13 +190,15 @@ public class ChatRoom {
         return "ChatRoom{" +
                 "roomId='" + roomId + '\'' +
                 ", name='" + name + '\'' +
-                ", sessionCount=" + sessions.size() +
+                ", sessionCount=" + members.size() +
                 '}';
     }
 
     public static class Builder {
         private String roomId;
         private String name;
+        private int historyCapacity = DEFAULT_HISTORY_CAPACITY;
+        private HistoryMemoryBudget historyBudget = HistoryMemoryBudget.unlimited();
 
         public Builder roomId(String roomId) {
             this.roomId = roomId;
@@ -91,6 +210,16 @@ public class ChatRoom {
             return this;
         }
 
+        public Builder historyCapacity(int historyCapacity) {
+            this.historyCapacity = historyCapacity;
+            return this;
+        }
+
+        public Builder historyBudget(HistoryMemoryBudget historyBudget) {
+            this.historyBudget = historyBudget;
+            return this;
+        }
+
         public ChatRoom build() {
             Objects.requireNonNull(roomId, "Room ID cannot be null");
             Objects.requireNonNull(name, "Room name cannot be null");
@@ -1,29 +1,71 @@
 package com.ezlevup.chatsocket.model;
 
+import com.ezlevup.chatsocket.config.ChatProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.web.socket.WebSocketSession;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Repository
 public class ChatRoomRepository {
     
     private static final Logger logger = LoggerFactory.getLogger(ChatRoomRepository.class);
     
+    // 빈 방 만료 확인 주기 (ChatRoomCleanupService 가 이 주기로 expireEmptyRooms 를 호출한다)
+    static final long EXPIRY_TICK_MILLIS = 1000;
+
     private final ConcurrentHashMap<String, ChatRoom> chatRooms = new ConcurrentHashMap<>();
+    private final int historyCapacity;
+    private final HistoryMemoryBudget historyBudget;
+    private final long emptyGracePeriodMillis;
+    private final RoomExpiryWheel expiryWheel;
+    // 방 목록 변경 버전: 방 생성/삭제와 입장/퇴장마다 증가한다 (목록 스냅샷을 다시 만들지 판단하는 데 쓴다)
+    private final AtomicLong listVersion = new AtomicLong();
+    private volatile Consumer<String> roomExpiryListener = roomId -> { };
+    // 방 생성/삭제, 인원 변경 시 방 ID 로 호출된다 (방 단위 잠금 안에서 호출되므로 가볍게 처리해야 한다)
+    private volatile Consumer<String> roomChangeListener = roomId -> { };
+    // 방 상태를 바꾸는 삭제/만료 작업을 그 방을 맡은 스레드에서 실행한다 (방 ID, 작업). 기본은 호출 스레드
+    private volatile BiConsumer<String, Runnable> roomExecutor = (roomId, task) -> task.run();
+
+    public ChatRoomRepository() {
+        this(new ChatProperties());
+    }
+
+    @Autowired
+    public ChatRoomRepository(ChatProperties chatProperties) {
+        this.historyCapacity = chatProperties.getHistory().getCapacity();
+        this.historyBudget = new HistoryMemoryBudget(chatProperties.getHistory().getMaxMemory().toBytes());
+        this.emptyGracePeriodMillis = chatProperties.getRoom().getEmptyGracePeriod().toMillis();
+        this.expiryWheel = new RoomExpiryWheel(EXPIRY_TICK_MILLIS, System.currentTimeMillis());
+    }
 
     public ChatRoom createChatRoom(String name) {
         String roomId = UUID.randomUUID().toString();
         ChatRoom chatRoom = ChatRoom.builder()
                 .roomId(roomId)
                 .name(name)
+                .historyCapacity(historyCapacity)
+                .historyBudget(historyBudget)
                 .build();
         
         chatRooms.put(roomId, chatRoom);
+        changed(roomId);
+        // 아무도 입장하지 않으면 유예 시간 뒤 삭제된다
+        expiryWheel.schedule(roomId, chatRoom.getEmptySinceMillis() + emptyGracePeriodMillis);
         logger.info("채팅방 생성: {} (ID: {})", name, roomId);
         
         return chatRoom;
@@ -38,21 +80,117 @@ public class ChatRoomRepository {
     }
 
     public void deleteRoom(String roomId) {
-        ChatRoom removedRoom = chatRooms.remove(roomId);
-        if (removedRoom != null) {
-            logger.info("채팅방 삭제: {} (ID: {})", removedRoom.getName(), roomId);
-        }
+        roomExecutor.accept(roomId, () -> {
+            ChatRoom removedRoom = chatRooms.remove(roomId);
+            if (removedRoom != null) {
+                removedRoom.retire();
+                changed(roomId);
+                logger.info("채팅방 삭제: {} (ID: {})", removedRoom.getName(), roomId);
+            }
+        });
     }
 
+    // 유예 시간과 관계없이 지금 비어 있는 방을 모두 삭제하는 전체 순회 (관리용, 주기 정리는 expireEmptyRooms)
     public void deleteEmptyRooms() {
-        chatRooms.entrySet().removeIf(entry -> {
-            ChatRoom room = entry.getValue();
+        for (String roomId : chatRooms.keySet()) {
+            roomExecutor.accept(roomId, () -> deleteIf(roomId, ChatRoom::isEmpty));
+        }
+    }
+
+    // 방을 찾거나 만들어 세션을 추가한다. 방 인원이 가득 찼으면 null
+    // 만료 삭제와 같은 방 단위 잠금(compute) 안에서 처리하므로 막 삭제된 방에 입장하는 일이 없다
+    public ChatRoom joinRoom(String roomId, String name, WebSocketSession session, int maxSessions) {
+        ChatRoom[] joined = new ChatRoom[1];
+        chatRooms.compute(roomId, (id, room) -> {
+            ChatRoom target = room != null ? room : newRoom(id, name);
+            if (target.addSession(session, maxSessions)) {
+                target.setEmptySinceMillis(0);
+                changed(id);
+                joined[0] = target;
+            }
+            return target;
+        });
+        return joined[0];
+    }
+
+    // 세션을 방에서 뺀다. 마지막 참여자였으면 바로 삭제하지 않고 유예 시간 뒤 만료를 예약한다
+    // (재접속한 사용자는 같은 방과 최근 메시지를 그대로 이어받는다). 세션이 참여자가 아니었으면 null
+    public ChatRoom leaveRoom(String roomId, WebSocketSession session) {
+        ChatRoom[] left = new ChatRoom[1];
+        chatRooms.computeIfPresent(roomId, (id, room) -> {
+            if (!room.removeSession(session)) {
+                return room;
+            }
+            changed(id);
             if (room.isEmpty()) {
-                logger.info("빈 채팅방 삭제: {} (ID: {})", room.getName(), room.getRoomId());
-                return true;
+                long now = System.currentTimeMillis();
+                room.setEmptySinceMillis(now);
+                expiryWheel.schedule(id, now + emptyGracePeriodMillis);
             }
-            return false;
+            left[0] = room;
+            return room;
         });
+        return left[0];
+    }
+
+    // 만료 기한이 된 방만 확인해 유예 시간 내내 비어 있었으면 삭제한다 (비용은 전체 방 수가 아니라 비워진 방 수에 비례)
+    public int expireEmptyRooms() {
+        return expireEmptyRooms(System.currentTimeMillis());
+    }
+
+    // 방 확인과 삭제는 방을 맡은 스레드에서 실행되므로, 반환값은 이 호출이 끝나기 전에 삭제된 방 수다
+    // (방 워커로 넘긴 삭제는 워커에서 끝나며 listener 로만 알린다)
+    public int expireEmptyRooms(long nowMillis) {
+        AtomicInteger expired = new AtomicInteger();
+        expiryWheel.advance(nowMillis, roomId -> roomExecutor.accept(roomId, () -> {
+            // 그 사이 누가 입장했거나 다시 비워져 더 늦은 예약이 있으면 그대로 둔다
+            if (deleteIf(roomId, room -> room.isEmpty() && room.getEmptySinceMillis() != 0
+                    && room.getEmptySinceMillis() + emptyGracePeriodMillis <= nowMillis)) {
+                expired.incrementAndGet();
+            }
+        }));
+        return expired.get();
+    }
+
+    private boolean deleteIf(String roomId, Predicate<ChatRoom> condition) {
+        boolean[] removed = new boolean[1];
+        chatRooms.computeIfPresent(roomId, (id, room) -> {
+            if (!condition.test(room)) {
+                return room;
+            }
+            room.retire();
+            changed(id);
+            removed[0] = true;
+            logger.info("빈 채팅방 삭제: {} (ID: {})", room.getName(), id);
+            return null;
+        });
+        if (removed[0]) {
+            roomExpiryListener.accept(roomId);
+        }
+        return removed[0];
+    }
+
+    // 방이 비어서 삭제된 뒤 호출된다 (방 ID)
+    public void setRoomExpiryListener(Consumer<String> roomExpiryListener) {
+        this.roomExpiryListener = roomExpiryListener;
+    }
+
+    // 입장/퇴장을 처리하는 방 워커에 삭제/만료/기록 비우기도 맡긴다 (방 워커를 쓰지 않으면 호출 스레드에서 실행)
+    public void setRoomExecutor(BiConsumer<String, Runnable> roomExecutor) {
+        this.roomExecutor = roomExecutor;
+    }
+
+    // 방 생성/삭제, 인원 변경 시 방 ID 로 호출된다 (로비 변경분 push)
+    public void setRoomChangeListener(Consumer<String> roomChangeListener) {
+        this.roomChangeListener = roomChangeListener;
+    }
+
+    public long getListVersion() {
+        return listVersion.get();
+    }
+
+    int getPendingExpiryCount() {
+        return expiryWheel.getScheduledCount();
     }
 
     public boolean existsById(String roomId) {
@@ -64,19 +202,63 @@ public class ChatRoomRepository {
     }
 
     public ChatRoom getOrCreateRoom(String roomId, String name) {
-        return chatRooms.computeIfAbsent(roomId, id -> {
-            ChatRoom chatRoom = ChatRoom.builder()
-                    .roomId(id)
-                    .name(name != null ? name : "Room " + id.substring(0, 8))
-                    .build();
-            logger.info("채팅방 생성 (기존 ID 사용): {} (ID: {})", chatRoom.getName(), id);
-            return chatRoom;
-        });
+        return chatRooms.computeIfAbsent(roomId, id -> newRoom(id, name));
+    }
+
+    private ChatRoom newRoom(String roomId, String name) {
+        ChatRoom chatRoom = ChatRoom.builder()
+                .roomId(roomId)
+                .name(name != null ? name : "Room " + roomId.substring(0, Math.min(8, roomId.length())))
+                .historyCapacity(historyCapacity)
+                .historyBudget(historyBudget)
+                .build();
+        expiryWheel.schedule(roomId, chatRoom.getEmptySinceMillis() + emptyGracePeriodMillis);
+        changed(roomId);
+        logger.info("채팅방 생성 (기존 ID 사용): {} (ID: {})", chatRoom.getName(), roomId);
+        return chatRoom;
+    }
+
+    private void changed(String roomId) {
+        listVersion.incrementAndGet();
+        roomChangeListener.accept(roomId);
     }
 
     public void clear() {
-        int count = chatRooms.size();
+        List<String> roomIds = new ArrayList<>(chatRooms.keySet());
+        chatRooms.values().forEach(ChatRoom::retire);
         chatRooms.clear();
-        logger.info("모든 채팅방 삭제: {}개", count);
+        roomIds.forEach(this::changed);
+        logger.info("모든 채팅방 삭제: {}개", roomIds.size());
+    }
+
+    public HistoryMemoryBudget getHistoryBudget() {
+        return historyBudget;
+    }
+
+    // 최근 메시지 메모리 예산을 넘었으면 가장 오래 활동이 없던 방의 기록부터 목표 사용량까지 비운다 (비운 방 수)
+    // 전체 방 정렬이 필요하므로 메시지 처리 스레드가 아니라 정리 스케줄러(ChatRoomCleanupService)에서 호출한다
+    public int evictIdleHistory() {
+        if (!historyBudget.isExceeded()) {
+            return 0;
+        }
+        List<ChatRoom> rooms = new ArrayList<>(chatRooms.values());
+        rooms.sort(Comparator.comparingLong(ChatRoom::getLastActivityMillis));
+
+        // 비우기는 방을 맡은 워커에서 나중에 끝날 수 있으므로 비울 양을 미리 셈해 필요한 방만 고른다
+        long remaining = historyBudget.getUsedBytes();
+        int evictedRooms = 0;
+        for (ChatRoom room : rooms) {
+            if (remaining <= historyBudget.getTargetBytes()) {
+                break;
+            }
+            long historyBytes = room.getHistoryBytes();
+            if (historyBytes > 0) {
+                roomExecutor.accept(room.getRoomId(), room::clearHistory);
+                remaining -= historyBytes;
+                evictedRooms++;
+            }
+        }
+        logger.info("최근 메시지 메모리 한도 초과 - 기록을 비운 방 수: {}, 사용량: {}bytes", evictedRooms, historyBudget.getUsedBytes());
+        return evictedRooms;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.ezlevup.chatsocket.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 모든 방의 최근 메시지 버퍼가 공유하는 메모리 예산
+// 기록 경로에서는 사용량만 더하고, 한도 초과 시 오래 쉰 방부터 비우는 일은 정리 스케줄러가 맡는다
+public class HistoryMemoryBudget {
+
+    private final long maxBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    public HistoryMemoryBudget(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public static HistoryMemoryBudget unlimited() {
+        return new HistoryMemoryBudget(Long.MAX_VALUE);
+    }
+
+    void add(long deltaBytes) {
+        usedBytes.addAndGet(deltaBytes);
+    }
+
+    public boolean isExceeded() {
+        return usedBytes.get() > maxBytes;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    // 정리 후 목표 사용량 (한도의 75%) - 한도 근처에서 매번 정리가 일어나지 않도록 여유를 둔다
+    public long getTargetBytes() {
+        return maxBytes - maxBytes / 4;
+    }
+}
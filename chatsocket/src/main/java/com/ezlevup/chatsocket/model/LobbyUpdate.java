@@ -0,0 +1,71 @@
+package com.ezlevup.chatsocket.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+// 로비 구독 세션으로 보내는 방 목록 프레임
+// snapshot 이 true 면 rooms 로 목록을 교체하고, false 면 rooms 는 추가/갱신, removed 는 삭제할 방 ID 이다
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class LobbyUpdate {
+
+    @JsonProperty("type")
+    private final MessageType type = MessageType.LOBBY;
+
+    @JsonProperty("snapshot")
+    private final boolean snapshot;
+
+    // 방 목록 변경 버전 (/chat/rooms 응답의 version 과 같은 값)
+    @JsonProperty("version")
+    private final long version;
+
+    @JsonProperty("totalRooms")
+    private final int totalRooms;
+
+    @JsonProperty("rooms")
+    private final List<RoomInfo> rooms;
+
+    @JsonProperty("removed")
+    private final List<String> removed;
+
+    private LobbyUpdate(boolean snapshot, long version, int totalRooms, List<RoomInfo> rooms, List<String> removed) {
+        this.snapshot = snapshot;
+        this.version = version;
+        this.totalRooms = totalRooms;
+        this.rooms = rooms;
+        this.removed = removed;
+    }
+
+    public static LobbyUpdate snapshot(long version, int totalRooms, List<RoomInfo> rooms) {
+        return new LobbyUpdate(true, version, totalRooms, rooms, List.of());
+    }
+
+    public static LobbyUpdate delta(long version, int totalRooms, List<RoomInfo> rooms, List<String> removed) {
+        return new LobbyUpdate(false, version, totalRooms, rooms, removed);
+    }
+
+    public MessageType getType() {
+        return type;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getTotalRooms() {
+        return totalRooms;
+    }
+
+    public List<RoomInfo> getRooms() {
+        return rooms;
+    }
+
+    public List<String> getRemoved() {
+        return removed;
+    }
+}
@@ -3,5 +3,7 @@ package com.ezlevup.chatsocket.model;
 public enum MessageType {
     ENTER,
     TALK,
-    QUIT
+    QUIT,
+    // 로비(방 목록) 구독/해지 요청과 서버가 보내는 방 목록 변경분
+    LOBBY
 }
\ No newline at end of file
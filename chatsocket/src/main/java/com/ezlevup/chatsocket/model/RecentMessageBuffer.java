@@ -0,0 +1,122 @@
+package com.ezlevup.chatsocket.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// 방별 최근 메시지 링 버퍼. 슬롯은 순번으로 결정되므로 여러 스레드가 락 없이 기록할 수 있다
+// 인코딩된 프레임 바이트를 그대로 보관하므로 메시지당 추가 할당은 슬롯 항목 하나뿐이다
+public class RecentMessageBuffer {
+
+    // 슬롯 항목과 배열 헤더 등 프레임 바이트 외의 대략적인 메모리 사용량
+    static final int ENTRY_OVERHEAD_BYTES = 48;
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final HistoryMemoryBudget budget;
+    // 이 버퍼에 처음 기록된 순번 (그 이전 구간은 버퍼로 이어받을 수 없다)
+    private final AtomicLong firstSequence = new AtomicLong(Long.MAX_VALUE);
+    // 메모리 예산 초과로 비운 마지막 순번
+    private final AtomicLong evictedSequence = new AtomicLong();
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    public RecentMessageBuffer(int capacity) {
+        this(capacity, HistoryMemoryBudget.unlimited());
+    }
+
+    public RecentMessageBuffer(int capacity, HistoryMemoryBudget budget) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.budget = budget;
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    public void put(long sequence, byte[] frame) {
+        firstSequence.accumulateAndGet(sequence, Math::min);
+        int index = (int) (sequence & mask);
+        Entry entry = new Entry(sequence, frame);
+        while (true) {
+            Entry current = slots.get(index);
+            // 늦게 도착한 오래된 메시지가 더 최신 메시지를 덮어쓰지 않도록 한다
+            if (current != null && current.sequence >= sequence) {
+                return;
+            }
+            if (slots.compareAndSet(index, current, entry)) {
+                release(current);
+                account(entry.size());
+                return;
+            }
+        }
+    }
+
+    // afterSequence 이후 headSequence 까지의 메시지. 버퍼가 그 구간을 모두 담고 있지 않으면 null
+    public List<byte[]> readAfter(long afterSequence, long headSequence) {
+        long from = afterSequence + 1;
+        if (from > headSequence) {
+            return new ArrayList<>();
+        }
+        if (from < oldestRetained(headSequence)) {
+            return null;
+        }
+        return collect(from, headSequence);
+    }
+
+    // headSequence 까지의 최근 메시지를 최대 limit 개. 버퍼에 남아 있는 만큼만 반환한다
+    public List<byte[]> readRecent(int limit, long headSequence) {
+        long from = Math.max(headSequence - limit + 1, oldestRetained(headSequence));
+        if (from > headSequence) {
+            return new ArrayList<>();
+        }
+        return collect(from, headSequence);
+    }
+
+    // 버퍼를 비우고 headSequence 이하 구간은 더 이상 이어받을 수 없는 것으로 표시
+    public void clear(long headSequence) {
+        evictedSequence.accumulateAndGet(headSequence, Math::max);
+        for (int i = 0; i < slots.length(); i++) {
+            release(slots.getAndSet(i, null));
+        }
+    }
+
+    private long oldestRetained(long headSequence) {
+        return Math.max(Math.max(firstSequence.get(), evictedSequence.get() + 1), headSequence - slots.length() + 1);
+    }
+
+    private List<byte[]> collect(long from, long to) {
+        List<byte[]> frames = new ArrayList<>((int) (to - from + 1));
+        for (long sequence = from; sequence <= to; sequence++) {
+            Entry entry = slots.get((int) (sequence & mask));
+            // 순번만 할당되고 아직 기록되지 않은 메시지는 실시간 브로드캐스트로 전달된다
+            if (entry != null && entry.sequence == sequence) {
+                frames.add(entry.frame);
+            }
+        }
+        return frames;
+    }
+
+    private void release(Entry entry) {
+        if (entry != null) {
+            account(-entry.size());
+        }
+    }
+
+    private void account(long deltaBytes) {
+        retainedBytes.addAndGet(deltaBytes);
+        budget.add(deltaBytes);
+    }
+
+    private record Entry(long sequence, byte[] frame) {
+        long size() {
+            return frame.length + ENTRY_OVERHEAD_BYTES;
+        }
+    }
+}
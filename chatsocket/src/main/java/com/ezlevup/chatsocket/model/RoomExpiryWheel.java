@@ -0,0 +1,70 @@
+package com.ezlevup.chatsocket.model;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+// 빈 방 만료 예약용 해시 타이머 휠
+// 예약은 칸 하나에 넣는 O(1) 이고, 틱마다 지나간 칸에 예약된 방만 확인한다 (전체 방 순회 없음)
+// 한 바퀴보다 먼 기한은 칸에 남아 있다가 기한이 된 바퀴에 꺼내진다
+final class RoomExpiryWheel {
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private final long tickMillis;
+    private final Queue<Entry>[] slots;
+    // 다음에 확인할 틱. advance 하는 스레드만 증가시킨다
+    private volatile long nextTick;
+
+    @SuppressWarnings("unchecked")
+    RoomExpiryWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.nextTick = nowMillis / tickMillis;
+    }
+
+    // 이미 지나간 칸에 넣으면 한 바퀴 뒤에 꺼내지므로 다음 틱 이후로 맞춘다
+    // (advance 와 동시에 실행되면 드물게 한 바퀴 늦어질 수 있지만, 늦게 지워질 뿐 잘못 지워지지는 않는다)
+    void schedule(String roomId, long deadlineMillis) {
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), nextTick);
+        slots[(int) (tick & MASK)].offer(new Entry(roomId, tick));
+    }
+
+    // nowMillis 까지 지나간 칸들에서 기한이 된 방 ID 를 꺼낸다
+    synchronized void advance(long nowMillis, Consumer<String> due) {
+        long nowTick = nowMillis / tickMillis;
+        // 오래 멈춰 있었더라도 한 바퀴만 돌면 모든 칸을 확인한다
+        long from = Math.max(nextTick, nowTick - MASK);
+        for (long tick = from; tick <= nowTick; tick++) {
+            Queue<Entry> slot = slots[(int) (tick & MASK)];
+            // 다음 바퀴 예약은 다시 넣으므로 지금 들어 있는 개수만 확인한다
+            for (int remaining = slot.size(); remaining > 0; remaining--) {
+                Entry entry = slot.poll();
+                if (entry == null) {
+                    break;
+                }
+                if (entry.tick <= nowTick) {
+                    due.accept(entry.roomId);
+                } else {
+                    slot.offer(entry);
+                }
+            }
+        }
+        nextTick = Math.max(nextTick, nowTick + 1);
+    }
+
+    int getScheduledCount() {
+        int count = 0;
+        for (Queue<Entry> slot : slots) {
+            count += slot.size();
+        }
+        return count;
+    }
+
+    private record Entry(String roomId, long tick) {
+    }
+}
@@ -9,10 +9,29 @@ public class RoomListResponse {
     @JsonProperty("rooms")
     private List<RoomInfo> rooms;
 
+    // 다음 페이지 요청에 넘길 커서 (마지막 페이지면 null)
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
+    // 전체 방 수와 목록 스냅샷 버전 (ETag 와 같은 스냅샷)
+    @JsonProperty("totalRooms")
+    private int totalRooms;
+
+    @JsonProperty("version")
+    private long version;
+
     public RoomListResponse() {}
 
     public RoomListResponse(List<RoomInfo> rooms) {
         this.rooms = rooms;
+        this.totalRooms = rooms.size();
+    }
+
+    public RoomListResponse(List<RoomInfo> rooms, String nextCursor, int totalRooms, long version) {
+        this.rooms = rooms;
+        this.nextCursor = nextCursor;
+        this.totalRooms = totalRooms;
+        this.version = version;
     }
 
     public List<RoomInfo> getRooms() {
@@ -23,10 +42,37 @@ public class RoomListResponse {
         this.rooms = rooms;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getTotalRooms() {
+        return totalRooms;
+    }
+
+    public void setTotalRooms(int totalRooms) {
+        this.totalRooms = totalRooms;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "RoomListResponse{" +
                 "rooms=" + rooms +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", totalRooms=" + totalRooms +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
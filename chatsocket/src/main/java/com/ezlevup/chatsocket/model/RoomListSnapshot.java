@@ -0,0 +1,91 @@
+package com.ezlevup.chatsocket.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+// 로비용 채팅방 목록의 불변 스냅샷
+// 만들 때 방마다 RoomInfo 를 한 번만 만들고 정렬 기준별로 미리 정렬해 두므로, 요청은 커서 위치를 이진 탐색해 잘라 주기만 한다
+public final class RoomListSnapshot {
+
+    private final long version;
+    private final String etag;
+    private final long builtAtMillis;
+    private final RoomInfo[] byOccupancy;
+    private final RoomInfo[] byName;
+
+    public RoomListSnapshot(long version, String etag, long builtAtMillis, Collection<ChatRoom> rooms) {
+        this.version = version;
+        this.etag = etag;
+        this.builtAtMillis = builtAtMillis;
+        this.byOccupancy = rooms.stream().map(RoomInfo::fromChatRoom).toArray(RoomInfo[]::new);
+        Arrays.sort(byOccupancy, RoomSort.OCCUPANCY.comparator());
+        this.byName = byOccupancy.clone();
+        Arrays.sort(byName, RoomSort.NAME.comparator());
+    }
+
+    // cursor 는 이전 페이지의 nextCursor (첫 페이지는 null)
+    // 커서에는 마지막 방의 정렬 키가 들어 있어, 스냅샷이 바뀌어도 그 다음 위치부터 이어서 준다
+    public Page page(RoomSort sort, String cursor, int limit) {
+        RoomInfo[] sorted = sort == RoomSort.NAME ? byName : byOccupancy;
+        int from = 0;
+        if (cursor != null && !cursor.isEmpty()) {
+            int index = Arrays.binarySearch(sorted, decodeCursor(sort, cursor), sort.comparator());
+            from = index >= 0 ? index + 1 : -(index + 1);
+        }
+        int to = (int) Math.min(sorted.length, (long) from + limit);
+        List<RoomInfo> rooms = List.of(Arrays.copyOfRange(sorted, from, to));
+        String nextCursor = to < sorted.length && to > from ? encodeCursor(sort, sorted[to - 1]) : null;
+        return new Page(rooms, nextCursor);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getETag() {
+        return etag;
+    }
+
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+
+    public int size() {
+        return byOccupancy.length;
+    }
+
+    // 커서: 정렬 코드 + 방 ID 길이 + ':' + 방 ID + 정렬 키 (인원 수 또는 이름) 를 URL-safe Base64 로 인코딩
+    static String encodeCursor(RoomSort sort, RoomInfo last) {
+        String key = sort == RoomSort.NAME ? last.getName() : Integer.toString(last.getUserCount());
+        String raw = String.valueOf(sortCode(sort)) + last.getRoomId().length() + ":" + last.getRoomId() + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static RoomInfo decodeCursor(RoomSort sort, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int colon = raw.indexOf(':');
+            if (colon < 2 || raw.charAt(0) != sortCode(sort)) {
+                throw new IllegalArgumentException("정렬 기준과 맞지 않는 커서입니다.");
+            }
+            int idLength = Integer.parseInt(raw.substring(1, colon));
+            String roomId = raw.substring(colon + 1, colon + 1 + idLength);
+            String key = raw.substring(colon + 1 + idLength);
+            return sort == RoomSort.NAME
+                    ? new RoomInfo(roomId, key, 0)
+                    : new RoomInfo(roomId, "", Integer.parseInt(key));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+    }
+
+    private static char sortCode(RoomSort sort) {
+        return sort == RoomSort.NAME ? 'n' : 'o';
+    }
+
+    public record Page(List<RoomInfo> rooms, String nextCursor) {
+    }
+}
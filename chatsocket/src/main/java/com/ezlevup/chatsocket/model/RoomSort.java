@@ -0,0 +1,35 @@
+package com.ezlevup.chatsocket.model;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+// 채팅방 목록 정렬 기준. 방 ID 를 마지막 기준으로 두어 순서가 항상 하나로 정해진다 (커서가 위치를 잃지 않음)
+public enum RoomSort {
+    // 인원 많은 순
+    OCCUPANCY(Comparator.comparingInt(RoomInfo::getUserCount).reversed().thenComparing(RoomInfo::getRoomId)),
+    // 이름 순
+    NAME(Comparator.comparing(RoomInfo::getName).thenComparing(RoomInfo::getRoomId));
+
+    private final Comparator<RoomInfo> comparator;
+
+    RoomSort(Comparator<RoomInfo> comparator) {
+        this.comparator = comparator;
+    }
+
+    public Comparator<RoomInfo> comparator() {
+        return comparator;
+    }
+
+    // 요청 파라미터 값 (occupancy, name). 알 수 없는 값이면 null
+    public static RoomSort fromParameter(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (RoomSort sort : values()) {
+            if (sort.name().equals(value.trim().toUpperCase(Locale.ROOT))) {
+                return sort;
+            }
+        }
+        return null;
+    }
+}
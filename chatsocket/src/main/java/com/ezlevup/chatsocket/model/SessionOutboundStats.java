@@ -0,0 +1,109 @@
+package com.ezlevup.chatsocket.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class SessionOutboundStats {
+
+    @JsonProperty("sessionId")
+    private String sessionId;
+
+    @JsonProperty("sender")
+    private String sender;
+
+    @JsonProperty("roomId")
+    private String roomId;
+
+    @JsonProperty("queuedMessages")
+    private int queuedMessages;
+
+    @JsonProperty("queuedBytes")
+    private long queuedBytes;
+
+    @JsonProperty("sentMessages")
+    private long sentMessages;
+
+    @JsonProperty("droppedMessages")
+    private long droppedMessages;
+
+    public SessionOutboundStats() {}
+
+    public SessionOutboundStats(String sessionId, String sender, String roomId, int queuedMessages,
+                                long queuedBytes, long sentMessages, long droppedMessages) {
+        this.sessionId = sessionId;
+        this.sender = sender;
+        this.roomId = roomId;
+        this.queuedMessages = queuedMessages;
+        this.queuedBytes = queuedBytes;
+        this.sentMessages = sentMessages;
+        this.droppedMessages = droppedMessages;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getSender() {
+        return sender;
+    }
+
+    public void setSender(String sender) {
+        this.sender = sender;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+
+    public int getQueuedMessages() {
+        return queuedMessages;
+    }
+
+    public void setQueuedMessages(int queuedMessages) {
+        this.queuedMessages = queuedMessages;
+    }
+
+    public long getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    public void setQueuedBytes(long queuedBytes) {
+        this.queuedBytes = queuedBytes;
+    }
+
+    public long getSentMessages() {
+        return sentMessages;
+    }
+
+    public void setSentMessages(long sentMessages) {
+        this.sentMessages = sentMessages;
+    }
+
+    public long getDroppedMessages() {
+        return droppedMessages;
+    }
+
+    public void setDroppedMessages(long droppedMessages) {
+        this.droppedMessages = droppedMessages;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionOutboundStats{" +
+                "sessionId='" + sessionId + '\'' +
+                ", sender='" + sender + '\'' +
+                ", roomId='" + roomId + '\'' +
+                ", queuedMessages=" + queuedMessages +
+                ", queuedBytes=" + queuedBytes +
+                ", sentMessages=" + sentMessages +
+                ", droppedMessages=" + droppedMessages +
+                '}';
+    }
+}
@@ -0,0 +1,204 @@
+package com.ezlevup.chatsocket.service;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// 방별 append-only 메시지 로그. 기록은 전용 스레드가 모아서 처리하고(그룹 커밋)
+// 배치당 한 번만 force 하므로 브로드캐스트 경로에 fsync 지연이 더해지지 않는다
+@Service
+public class ChatMessageLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMessageLog.class);
+
+    private final ChatProperties.MessageLog config;
+    private final ConcurrentHashMap<String, RoomLog> roomLogs = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingRecord> pendingRecords = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public ChatMessageLog(ChatProperties chatProperties) {
+        this.config = chatProperties.getMessageLog();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runWriter, "message-log-writer");
+        writerThread.start();
+        logger.info("메시지 로그 시작 - 디렉터리: {}", Paths.get(config.getDirectory()).toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        logger.info("메시지 로그 종료 - 미기록 레코드 수: {}", pendingRecords.size());
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    // 방에 기록된 마지막 순번 (방이 다시 만들어질 때 순번을 이어서 부여하는 데 사용)
+    public long lastSequence(String roomId) {
+        RoomLog log = existingRoomLog(roomId);
+        return log != null ? log.getHighestSequence() : 0L;
+    }
+
+    public void append(String roomId, long sequence, byte[] payload) {
+        while (true) {
+            RoomLog log = roomLog(roomId);
+            if (log.reserve(sequence)) {
+                pendingRecords.offer(new PendingRecord(log, sequence, payload));
+                return;
+            }
+            // 유휴 정리로 닫힌 로그는 맵에서 제거된 뒤이므로 다시 연다
+        }
+    }
+
+    // 최근 메시지를 replay-limit 만큼 반환 (새 입장)
+    public List<byte[]> replayRecent(String roomId) {
+        RoomLog log = existingRoomLog(roomId);
+        return log != null ? log.readRecent(config.getReplayLimit()) : Collections.emptyList();
+    }
+
+    // afterSequence 이후 메시지를 replay-limit 건씩 나눠 pageConsumer 에 넘긴다 (재접속)
+    // 호출 시점에 기록된 마지막 메시지까지 빠짐없이 전달하고, 전달한 메시지 수를 반환한다
+    public int replay(String roomId, long afterSequence, Consumer<List<byte[]>> pageConsumer) {
+        RoomLog log = existingRoomLog(roomId);
+        if (log == null) {
+            return 0;
+        }
+        long untilSequence = log.getLastWrittenSequence();
+        long cursor = afterSequence;
+        int replayed = 0;
+        while (cursor < untilSequence) {
+            RoomLog.Page page = log.readAfter(cursor, config.getReplayLimit());
+            if (page.records().isEmpty()) {
+                break;
+            }
+            pageConsumer.accept(page.records());
+            replayed += page.records().size();
+            cursor = page.lastSequence();
+        }
+        return replayed;
+    }
+
+    // 열려 있거나 디스크에 기록이 있는 방의 로그 (없으면 null, 디렉터리를 만들지 않음)
+    private RoomLog existingRoomLog(String roomId) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        RoomLog log = roomLogs.get(roomId);
+        if (log != null) {
+            return log;
+        }
+        return Files.isDirectory(roomDirectory(roomId)) ? roomLog(roomId) : null;
+    }
+
+    private RoomLog roomLog(String roomId) {
+        return roomLogs.computeIfAbsent(roomId, id -> {
+            try {
+                return RoomLog.open(roomDirectory(id), (int) config.getSegmentSize().toBytes(),
+                        config.getMaxSegmentsPerRoom());
+            } catch (IOException e) {
+                throw new UncheckedIOException("메시지 로그 열기 실패: " + id, e);
+            }
+        });
+    }
+
+    private Path roomDirectory(String roomId) {
+        // 클라이언트가 보낸 방 ID 를 그대로 경로로 쓰지 않도록 해시한다
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(roomId.getBytes(StandardCharsets.UTF_8));
+            return Paths.get(config.getDirectory(), HexFormat.of().formatHex(digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void runWriter() {
+        List<PendingRecord> batch = new ArrayList<>(config.getCommitBatchSize());
+        Set<RoomLog> dirtyLogs = Collections.newSetFromMap(new IdentityHashMap<>());
+        long nextIdleCheck = System.currentTimeMillis() + config.getIdleTimeout().toMillis();
+
+        while (running || !pendingRecords.isEmpty()) {
+            try {
+                PendingRecord first = pendingRecords.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    pendingRecords.drainTo(batch, config.getCommitBatchSize() - 1);
+
+                    for (PendingRecord record : batch) {
+                        try {
+                            record.log.write(record.sequence, record.payload);
+                            dirtyLogs.add(record.log);
+                        } catch (IOException e) {
+                            logger.error("메시지 로그 기록 실패 - 순번: {}, 오류: {}", record.sequence, e.getMessage());
+                        }
+                    }
+                    // 그룹 커밋: 배치에 포함된 방마다 한 번만 디스크에 반영
+                    dirtyLogs.forEach(RoomLog::force);
+                    dirtyLogs.clear();
+                    batch.clear();
+                }
+
+                long now = System.currentTimeMillis();
+                if (now >= nextIdleCheck) {
+                    closeIdleLogs(now - config.getIdleTimeout().toMillis());
+                    nextIdleCheck = now + config.getIdleTimeout().toMillis();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("메시지 로그 기록 스레드 오류: {}", e.getMessage());
+                batch.clear();
+            }
+        }
+        roomLogs.values().forEach(RoomLog::force);
+    }
+
+    private void closeIdleLogs(long idleBefore) {
+        for (Map.Entry<String, RoomLog> entry : roomLogs.entrySet()) {
+            if (entry.getValue().closeIfIdle(idleBefore)) {
+                roomLogs.remove(entry.getKey(), entry.getValue());
+                logger.debug("유휴 메시지 로그 닫기: {}", entry.getKey());
+            }
+        }
+    }
+
+    private record PendingRecord(RoomLog log, long sequence, byte[] payload) {
+    }
+}
@@ -15,14 +15,11 @@ public class ChatRoomCleanupService {
     @Autowired
     private ChatRoomRepository chatRoomRepository;
 
-    @Scheduled(fixedRate = 300000) // 5분마다 실행
+    // 1초마다 실행: 전체 방을 순회하지 않고 만료 기한이 된 빈 방만 확인한다
+    @Scheduled(fixedRate = 1000)
     public void cleanupEmptyRooms() {
         try {
-            int beforeCount = chatRoomRepository.getTotalRoomCount();
-            chatRoomRepository.deleteEmptyRooms();
-            int afterCount = chatRoomRepository.getTotalRoomCount();
-            
-            int deletedCount = beforeCount - afterCount;
+            int deletedCount = chatRoomRepository.expireEmptyRooms();
             if (deletedCount > 0) {
                 logger.info("정리된 빈 채팅방 수: {}개", deletedCount);
             }
@@ -31,6 +28,17 @@ public class ChatRoomCleanupService {
         }
     }
 
+    // 1초마다 실행: 최근 메시지 메모리 한도를 넘었으면 오래 쉰 방의 기록을 비운다 (넘지 않았으면 바로 반환)
+    // 메시지 처리 스레드에서 전체 방을 정렬하지 않도록 여기서만 정리한다
+    @Scheduled(fixedRate = 1000)
+    public void evictIdleHistory() {
+        try {
+            chatRoomRepository.evictIdleHistory();
+        } catch (Exception e) {
+            logger.error("최근 메시지 정리 작업 실패: {}", e.getMessage());
+        }
+    }
+
     @Scheduled(fixedRate = 60000) // 1분마다 실행
     public void logChatRoomStatistics() {
         try {
@@ -0,0 +1,80 @@
+package com.ezlevup.chatsocket.service;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.model.ChatRoomRepository;
+import com.ezlevup.chatsocket.model.RoomListSnapshot;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 방 목록 조회(/chat/rooms, 메인 페이지)용 스냅샷 관리
+// 요청마다 모든 방을 RoomInfo 로 만들지 않고, 목록이 바뀐 경우에만 refresh-interval 간격으로 스냅샷을 다시 만든다
+@Service
+public class RoomListService {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final long refreshIntervalMillis;
+    private final int pageSize;
+    private final int maxPageSize;
+    // 재시작 뒤 같은 버전 번호가 다른 목록을 가리키지 않도록 ETag 에 함께 넣는다
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile RoomListSnapshot snapshot;
+
+    public RoomListService(ChatRoomRepository chatRoomRepository, ChatProperties chatProperties) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.refreshIntervalMillis = chatProperties.getRoom().getListRefreshInterval().toMillis();
+        this.pageSize = chatProperties.getRoom().getListPageSize();
+        this.maxPageSize = chatProperties.getRoom().getListMaxPageSize();
+    }
+
+    public RoomListSnapshot getSnapshot() {
+        RoomListSnapshot current = snapshot;
+        if (current == null) {
+            return rebuild();
+        }
+        if (!isStale(current)) {
+            return current;
+        }
+        // 다른 요청이 다시 만드는 중이면 기다리지 않고 이전 스냅샷을 준다
+        if (!rebuilding.compareAndSet(false, true)) {
+            return current;
+        }
+        try {
+            return rebuild();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // 간격과 관계없이 목록이 바뀌었으면 다시 만든다 (로비 구독 시작처럼 이후 변경분과 이어져야 하는 경우)
+    public RoomListSnapshot getFreshSnapshot() {
+        RoomListSnapshot current = snapshot;
+        if (current != null && chatRoomRepository.getListVersion() == current.getVersion()) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    // 요청한 페이지 크기를 1 ~ 최대 페이지 크기로 맞춘다 (없으면 기본값)
+    public int pageSize(Integer requested) {
+        if (requested == null) {
+            return pageSize;
+        }
+        return Math.max(1, Math.min(requested, maxPageSize));
+    }
+
+    private boolean isStale(RoomListSnapshot current) {
+        return System.currentTimeMillis() - current.getBuiltAtMillis() >= refreshIntervalMillis
+                && chatRoomRepository.getListVersion() != current.getVersion();
+    }
+
+    // 버전을 먼저 읽으므로 만드는 도중의 변경은 다음 스냅샷에 반영된다
+    private RoomListSnapshot rebuild() {
+        long version = chatRoomRepository.getListVersion();
+        RoomListSnapshot rebuilt = new RoomListSnapshot(version, "\"" + epoch + "-" + version + "\"",
+                System.currentTimeMillis(), chatRoomRepository.findAllRooms());
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+}
@@ -0,0 +1,261 @@
+package com.ezlevup.chatsocket.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// 방 하나의 append-only 로그: 고정 크기 세그먼트 파일을 메모리 매핑해 기록한다
+// 레코드 형식: [payload 길이 int][sequence long][payload bytes], 길이 0 은 세그먼트 끝
+class RoomLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomLog.class);
+
+    static final int RECORD_HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final CopyOnWriteArrayList<Segment> segments = new CopyOnWriteArrayList<>();
+
+    // reserve()/closeIfIdle() 에서 this 로 보호
+    private long highestSequence;
+    private boolean closed;
+    private volatile long lastAccess;
+
+    private volatile long lastWrittenSequence;
+
+    // 아래 필드는 기록 스레드에서만 접근
+    private Segment active;
+    private boolean dirty;
+
+    private RoomLog(Path directory, int segmentSize, int maxSegments) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.lastAccess = System.currentTimeMillis();
+    }
+
+    // 디렉터리는 첫 세그먼트를 만들 때 생성한다 (기록이 없는 방은 디스크에 흔적을 남기지 않음)
+    static RoomLog open(Path directory, int segmentSize, int maxSegments) throws IOException {
+        RoomLog log = new RoomLog(directory, segmentSize, maxSegments);
+        if (!Files.isDirectory(directory)) {
+            return log;
+        }
+
+        List<Segment> existing = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                long baseSequence = Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+                existing.add(new Segment(path, baseSequence, (int) Math.min(Files.size(path), Integer.MAX_VALUE)));
+            }
+        }
+        existing.sort(Comparator.comparingLong(segment -> segment.baseSequence));
+        log.segments.addAll(existing);
+
+        // 마지막 세그먼트를 스캔해 기록 위치와 마지막 순번을 복구
+        if (!existing.isEmpty()) {
+            Segment last = existing.get(existing.size() - 1);
+            ByteBuffer buffer = last.readView();
+            int position = 0;
+            long lastSequence = last.baseSequence - 1;
+            while (position + RECORD_HEADER_SIZE <= buffer.limit()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + RECORD_HEADER_SIZE + length > buffer.limit()) {
+                    break;
+                }
+                lastSequence = buffer.getLong(position + Integer.BYTES);
+                position += RECORD_HEADER_SIZE + length;
+            }
+            last.committedPosition = position;
+            log.active = last;
+            log.highestSequence = lastSequence;
+            log.lastWrittenSequence = lastSequence;
+        }
+        return log;
+    }
+
+    // 기록 대기열에 넣기 전에 순번을 반영한다. 유휴 정리로 닫힌 로그면 false
+    synchronized boolean reserve(long sequence) {
+        if (closed) {
+            return false;
+        }
+        lastAccess = System.currentTimeMillis();
+        highestSequence = Math.max(highestSequence, sequence);
+        return true;
+    }
+
+    // 기록 대기 중인 레코드를 포함한 가장 큰 순번
+    synchronized long getHighestSequence() {
+        return highestSequence;
+    }
+
+    long getLastWrittenSequence() {
+        return lastWrittenSequence;
+    }
+
+    void write(long sequence, byte[] payload) throws IOException {
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+        if (recordSize > segmentSize) {
+            throw new IOException("레코드가 세그먼트 크기보다 큽니다: " + recordSize + "bytes");
+        }
+        if (active == null || active.committedPosition + recordSize > segmentSize) {
+            roll(sequence);
+        }
+
+        MappedByteBuffer buffer = active.writableMapping(segmentSize);
+        int position = active.committedPosition;
+        buffer.putLong(position + Integer.BYTES, sequence);
+        buffer.put(position + RECORD_HEADER_SIZE, payload);
+        // 길이를 마지막에 기록해 중간에 중단된 레코드는 복구 시 무시되도록 한다
+        buffer.putInt(position, payload.length);
+
+        active.committedPosition = position + recordSize;
+        lastWrittenSequence = sequence;
+        dirty = true;
+    }
+
+    void force() {
+        if (dirty && active != null && active.mapping != null) {
+            active.mapping.force();
+        }
+        dirty = false;
+    }
+
+    // 최근 limit 건
+    List<byte[]> readRecent(int limit) {
+        return readAfter(Math.max(0L, lastWrittenSequence - limit), limit).records();
+    }
+
+    // afterSequence 이후 레코드를 오래된 것부터 최대 limit 건 (다음 페이지는 lastSequence 이후부터)
+    Page readAfter(long fromSequence, int limit) {
+        List<byte[]> records = new ArrayList<>();
+        long lastSequence = fromSequence;
+
+        List<Segment> snapshot = new ArrayList<>(segments);
+        int startIndex = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.get(i).baseSequence <= fromSequence + 1) {
+                startIndex = i;
+            }
+        }
+
+        for (int i = startIndex; i < snapshot.size() && records.size() < limit; i++) {
+            Segment segment = snapshot.get(i);
+            ByteBuffer buffer;
+            try {
+                buffer = segment.readView();
+            } catch (IOException e) {
+                // 보관 한도 초과로 삭제된 세그먼트
+                logger.debug("세그먼트 읽기 실패: {}, 오류: {}", segment.path, e.getMessage());
+                continue;
+            }
+            int limitPosition = Math.min(segment.committedPosition, buffer.limit());
+            int position = 0;
+            while (position + RECORD_HEADER_SIZE <= limitPosition && records.size() < limit) {
+                int length = buffer.getInt(position);
+                if (length <= 0) {
+                    break;
+                }
+                long sequence = buffer.getLong(position + Integer.BYTES);
+                if (sequence > fromSequence) {
+                    byte[] payload = new byte[length];
+                    buffer.get(position + RECORD_HEADER_SIZE, payload);
+                    records.add(payload);
+                    lastSequence = sequence;
+                }
+                position += RECORD_HEADER_SIZE + length;
+            }
+        }
+        return new Page(records, lastSequence);
+    }
+
+    synchronized boolean closeIfIdle(long idleBefore) {
+        if (closed || lastAccess >= idleBefore) {
+            return false;
+        }
+        closed = true;
+        force();
+        // 매핑 참조만 해제한다. 파일은 다음 접근 시 다시 열린다
+        for (Segment segment : segments) {
+            segment.mapping = null;
+        }
+        return true;
+    }
+
+    private void roll(long baseSequence) throws IOException {
+        if (active != null) {
+            force();
+            active.mapping = null;
+        }
+
+        if (segments.isEmpty()) {
+            Files.createDirectories(directory);
+        }
+        Path path = directory.resolve(String.format("%020d%s", baseSequence, SEGMENT_SUFFIX));
+        Segment segment = new Segment(path, baseSequence, 0);
+        segment.writableMapping(segmentSize);
+        segments.add(segment);
+        active = segment;
+
+        while (segments.size() > maxSegments) {
+            Segment oldest = segments.remove(0);
+            try {
+                Files.deleteIfExists(oldest.path);
+            } catch (IOException e) {
+                logger.warn("오래된 세그먼트 삭제 실패: {}, 오류: {}", oldest.path, e.getMessage());
+            }
+        }
+    }
+
+    record Page(List<byte[]> records, long lastSequence) {
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long baseSequence;
+        private volatile int committedPosition;
+        private volatile MappedByteBuffer mapping;
+
+        private Segment(Path path, long baseSequence, int committedPosition) {
+            this.path = path;
+            this.baseSequence = baseSequence;
+            this.committedPosition = committedPosition;
+        }
+
+        private MappedByteBuffer writableMapping(int segmentSize) throws IOException {
+            MappedByteBuffer current = mapping;
+            if (current == null) {
+                try (FileChannel channel = FileChannel.open(path,
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    current = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+                }
+                mapping = current;
+            }
+            return current;
+        }
+
+        private ByteBuffer readView() throws IOException {
+            MappedByteBuffer current = mapping;
+            if (current != null) {
+                return current.duplicate();
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+    }
+}
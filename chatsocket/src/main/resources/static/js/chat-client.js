@@ -12,6 +12,9 @@ class ChatClient {
         this.maxReconnectAttempts = 5;
         this.reconnectDelay = 1000; // 1초
         this.heartbeatInterval = null;
+        this.lastSequence = null; // 빠짐없이 수신한 마지막 메시지 순번 (재접속 시 이어받기용)
+        this.pendingSequences = new Set(); // lastSequence 이후 먼저 도착한 순번 (누락 감지용)
+        this.awaitingEnter = false; // 입장 후 자신의 ENTER 알림을 기다리는 중
         
         // 콜백 함수들
         this.onConnectionStatusChange = window.onConnectionStatusChange || function() {};
@@ -60,9 +63,13 @@ class ChatClient {
         
         this.socket.onmessage = (event) => {
             try {
-                const chatMessage = JSON.parse(event.data);
-                console.log('메시지 수신:', chatMessage);
-                this.handleMessage(chatMessage);
+                const data = JSON.parse(event.data);
+                // 입장 시 최근 메시지와 합치기 모드(chat.outbound.coalesce)의 메시지는 배열 하나로 묶여서 도착한다
+                const chatMessages = Array.isArray(data) ? data : [data];
+                chatMessages.forEach(chatMessage => {
+                    console.log('메시지 수신:', chatMessage);
+                    this.handleMessage(chatMessage);
+                });
             } catch (error) {
                 console.error('메시지 파싱 오류:', error);
             }
@@ -97,6 +104,12 @@ class ChatClient {
             message: `${this.username}님이 입장하셨습니다.`
         };
         
+        // 재접속인 경우 마지막 수신 순번 이후의 메시지를 서버에 요청
+        if (this.lastSequence !== null) {
+            enterMessage.lastSequence = this.lastSequence;
+        }
+        
+        this.awaitingEnter = true;
         this.sendSocketMessage(enterMessage);
     }
     
@@ -160,6 +173,12 @@ class ChatClient {
             chatMessage.timestamp = new Date(chatMessage.timestamp);
         }
         
+        // 순번이 있는 메시지는 중복을 걸러내고 누락 여부를 추적
+        if (typeof chatMessage.sequence === 'number' && !this.trackSequence(chatMessage)) {
+            console.log('중복 메시지 무시:', chatMessage.sequence);
+            return;
+        }
+        
         // 메시지 타입별 처리
         switch (chatMessage.type) {
             case 'ENTER':
@@ -179,6 +198,55 @@ class ChatClient {
         this.onMessageReceived(chatMessage);
     }
     
+    /**
+     * 메시지 순번 추적. 이미 받은 메시지면 false 를 반환한다
+     */
+    trackSequence(chatMessage) {
+        const sequence = chatMessage.sequence;
+        
+        // 자신의 ENTER 알림 전에 재전송 메시지가 모두 도착한다 (같은 세션 큐로 순서대로 전송됨)
+        if (this.awaitingEnter && chatMessage.type === 'ENTER' && chatMessage.sender === this.username) {
+            this.awaitingEnter = false;
+            if (this.lastSequence !== null && sequence <= this.lastSequence) {
+                // 서버에서 방이 새로 만들어져 순번이 다시 시작된 경우
+                console.warn('채팅방 순번 초기화 감지:', this.lastSequence, '->', sequence);
+                this.resetSequence(sequence);
+                return true;
+            }
+            if (this.lastSequence === null || sequence > this.lastSequence + 1) {
+                // 재전송으로도 채워지지 않은 구간은 건너뛰고 이 알림부터 이어받는다
+                const received = [...this.pendingSequences].filter(pending => pending < sequence);
+                if (this.lastSequence !== null && sequence - 1 - this.lastSequence > received.length) {
+                    console.warn('복구할 수 없는 메시지 누락:', this.lastSequence + 1, '~', sequence - 1);
+                }
+                received.forEach(pending => this.pendingSequences.delete(pending));
+                this.lastSequence = sequence - 1;
+            }
+        }
+        
+        if (this.lastSequence === null) {
+            this.lastSequence = sequence;
+            return true;
+        }
+        if (sequence <= this.lastSequence || this.pendingSequences.has(sequence)) {
+            return false;
+        }
+        
+        this.pendingSequences.add(sequence);
+        while (this.pendingSequences.delete(this.lastSequence + 1)) {
+            this.lastSequence++;
+        }
+        if (this.pendingSequences.size > 0) {
+            console.warn('메시지 누락 감지 - 마지막 연속 순번:', this.lastSequence, '대기 중:', [...this.pendingSequences]);
+        }
+        return true;
+    }
+    
+    resetSequence(sequence) {
+        this.lastSequence = sequence;
+        this.pendingSequences.clear();
+    }
+    
     /**
      * 입장 메시지 처리
      */
@@ -0,0 +1,172 @@
+package com.ezlevup.chatsocket.cluster;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackplaneTests {
+
+    private final List<Backplane> started = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        started.forEach(Backplane::close);
+    }
+
+    @Test
+    void testLoopbackRoutesOnlyToInterestedNodes() {
+        LoopbackBackplane.Hub hub = new LoopbackBackplane.Hub();
+        LoopbackBackplane node1 = new LoopbackBackplane("node1", hub);
+        LoopbackBackplane node2 = new LoopbackBackplane("node2", hub);
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        node1.start((roomId, payload) -> fail("발행한 노드에는 전달되지 않아야 합니다."));
+        node2.start((roomId, payload) -> received.add(roomId + ":" + text(payload)));
+        started.add(node1);
+        started.add(node2);
+
+        node2.subscribe("room1");
+        assertTrue(node1.hasRemoteInterest("room1"));
+        assertFalse(node1.hasRemoteInterest("room2"));
+
+        node1.publish("room1", bytes("hello"));
+        node1.publish("room2", bytes("ignored"));
+        assertEquals(List.of("room1:hello"), new ArrayList<>(received));
+
+        node2.unsubscribe("room1");
+        assertFalse(node1.hasRemoteInterest("room1"));
+    }
+
+    @Test
+    void testTcpMeshRelaysBetweenNodes() throws Exception {
+        BlockingQueue<String> receivedByNode2 = new LinkedBlockingQueue<>();
+        TcpMeshBackplane node1 = startTcpNode("node1", (roomId, payload) -> { });
+        TcpMeshBackplane node2 = startTcpNode("node2", (roomId, payload) -> receivedByNode2.add(roomId + ":" + text(payload)));
+        node1.addPeer("127.0.0.1:" + node2.getLocalPort());
+        node2.addPeer("127.0.0.1:" + node1.getLocalPort());
+
+        node2.subscribe("room1");
+        awaitTrue(() -> node1.hasRemoteInterest("room1"));
+
+        // 구독하지 않은 방의 메시지는 전송되지 않는다 (같은 연결에서 순서가 보장되므로 뒤 메시지로 확인)
+        node1.publish("room2", bytes("ignored"));
+        node1.publish("room1", bytes("안녕하세요"));
+        assertEquals("room1:안녕하세요", receivedByNode2.poll(5, TimeUnit.SECONDS));
+        assertTrue(receivedByNode2.isEmpty());
+
+        node2.unsubscribe("room1");
+        awaitTrue(() -> !node1.hasRemoteInterest("room1"));
+    }
+
+    @Test
+    void testTcpMeshDropsInterestWhenPeerLeaves() throws Exception {
+        TcpMeshBackplane node1 = startTcpNode("node1", (roomId, payload) -> { });
+        TcpMeshBackplane node2 = startTcpNode("node2", (roomId, payload) -> { });
+        node2.subscribe("room1");
+        node2.addPeer("127.0.0.1:" + node1.getLocalPort());
+        // 연결 전에 구독한 방도 연결 직후 전달된다
+        awaitTrue(() -> node1.hasRemoteInterest("room1"));
+
+        node2.close();
+        awaitTrue(() -> !node1.hasRemoteInterest("room1"));
+    }
+
+    @Test
+    void testTcpMeshRejectsPeerWithWrongSecret() throws Exception {
+        TcpMeshBackplane node1 = startTcpNode("node1", "secret-a", (roomId, payload) -> { });
+        TcpMeshBackplane node2 = startTcpNode("node2", "secret-b", (roomId, payload) -> { });
+        TcpMeshBackplane node3 = startTcpNode("node3", "secret-a", (roomId, payload) -> { });
+        node2.subscribe("room1");
+        node3.subscribe("room2");
+        node2.addPeer("127.0.0.1:" + node1.getLocalPort());
+        node3.addPeer("127.0.0.1:" + node1.getLocalPort());
+
+        // 같은 비밀을 가진 노드만 구독 목록을 전달할 수 있다
+        awaitTrue(() -> node1.hasRemoteInterest("room2"));
+        assertFalse(node1.hasRemoteInterest("room1"));
+    }
+
+    @Test
+    void testTcpMeshRequiresSecretForNonLoopbackBind() {
+        ChatProperties.Cluster config = new ChatProperties().getCluster();
+        config.setBindHost("0.0.0.0");
+        config.setPort(0);
+
+        assertThrows(IllegalStateException.class, () -> new TcpMeshBackplane(config).start((roomId, payload) -> { }));
+    }
+
+    @Test
+    void testTcpMeshClosesConnectionOnOversizedFrame() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        TcpMeshBackplane node1 = startTcpNode("node1", (roomId, payload) -> received.add(roomId));
+
+        try (Socket socket = new Socket("127.0.0.1", node1.getLocalPort())) {
+            socket.setSoTimeout(5000);
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            out.writeByte(TcpMeshBackplane.HELLO);
+            out.writeUTF("raw");
+            out.write(new byte[16]);
+            out.flush();
+            assertEquals(TcpMeshBackplane.HELLO, in.readByte());
+            in.readUTF();
+            in.readFully(new byte[16 + 32]);
+            // 공유 비밀이 없으면 증명 값은 검사하지 않는다
+            out.write(new byte[32]);
+            out.writeByte(TcpMeshBackplane.PUBLISH);
+            out.writeUTF("room1");
+            out.writeInt(Integer.MAX_VALUE);
+            out.flush();
+
+            assertThrows(EOFException.class, in::readByte);
+        }
+        assertTrue(received.isEmpty());
+    }
+
+    private TcpMeshBackplane startTcpNode(String nodeId, BackplaneListener listener) {
+        return startTcpNode(nodeId, "", listener);
+    }
+
+    private TcpMeshBackplane startTcpNode(String nodeId, String sharedSecret, BackplaneListener listener) {
+        ChatProperties.Cluster config = new ChatProperties().getCluster();
+        config.setNodeId(nodeId);
+        config.setSharedSecret(sharedSecret);
+        config.setBindHost("127.0.0.1");
+        config.setPort(0);
+        config.setReconnectInterval(Duration.ofMillis(100));
+        TcpMeshBackplane backplane = new TcpMeshBackplane(config);
+        backplane.start(listener);
+        started.add(backplane);
+        return backplane;
+    }
+
+    private void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "조건을 만족하지 못했습니다.");
+            Thread.sleep(20);
+        }
+    }
+
+    private byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String text(byte[] payload) {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+}
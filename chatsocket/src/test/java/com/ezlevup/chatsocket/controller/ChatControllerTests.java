@@ -1,24 +1,38 @@
 package com.ezlevup.chatsocket.controller;
 
+import com.ezlevup.chatsocket.config.ChatProperties;
 import com.ezlevup.chatsocket.model.*;
+import com.ezlevup.chatsocket.service.RoomListService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ChatController.class)
+@Import(RoomListService.class)
+@EnableConfigurationProperties(ChatProperties.class)
+// 테스트마다 목록 버전을 다르게 두어 이전 테스트의 스냅샷을 재사용하지 않도록 한다
+@TestPropertySource(properties = "chat.room.list-refresh-interval=0s")
 class ChatControllerTests {
 
     @Autowired
@@ -60,6 +74,45 @@ class ChatControllerTests {
                 .andExpect(jsonPath("$.rooms[0].userCount").value(0));
     }
 
+    @Test
+    void testGetChatRoomsPagesWithCursorAndNotModified() throws Exception {
+        testRoom1.addSession(mock(WebSocketSession.class));
+        when(chatRoomRepository.getListVersion()).thenReturn(7L);
+        when(chatRoomRepository.findAllRooms()).thenReturn(Arrays.asList(testRoom2, testRoom1));
+
+        MvcResult first = mockMvc.perform(get("/chat/rooms").param("sort", "name").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.rooms.length()").value(1))
+                .andExpect(jsonPath("$.rooms[0].roomId").value("room1"))
+                .andExpect(jsonPath("$.rooms[0].userCount").value(1))
+                .andExpect(jsonPath("$.totalRooms").value(2))
+                .andExpect(jsonPath("$.version").value(7))
+                .andReturn();
+        String cursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/chat/rooms").param("sort", "name").param("limit", "1").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rooms[0].roomId").value("room2"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/chat/rooms").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testGetChatRoomsRejectsUnknownSortAndBadCursor() throws Exception {
+        when(chatRoomRepository.getListVersion()).thenReturn(-1L);
+
+        mockMvc.perform(get("/chat/rooms").param("sort", "random"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/chat/rooms").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testCreateChatRoom() throws Exception {
         CreateRoomRequest request = new CreateRoomRequest("New Room");
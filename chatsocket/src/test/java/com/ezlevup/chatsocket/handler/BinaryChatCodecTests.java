@@ -0,0 +1,85 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.MessageType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryChatCodecTests {
+
+    @Test
+    void testRoundTripKeepsAllFields() {
+        ChatMessage message = new ChatMessage(MessageType.TALK, "room1", "사용자", "안녕하세요 👋");
+        message.setTimestamp(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        message.setSequence(300L);
+        message.setLastSequence(299L);
+
+        ChatMessage decoded = BinaryChatCodec.decode(ByteBuffer.wrap(BinaryChatCodec.encode(message)));
+
+        assertEquals(MessageType.TALK, decoded.getType());
+        assertEquals("room1", decoded.getRoomId());
+        assertEquals("사용자", decoded.getSender());
+        assertEquals("안녕하세요 👋", decoded.getMessage());
+        assertEquals(message.getTimestamp(), decoded.getTimestamp());
+        assertEquals(300L, decoded.getSequence());
+        assertEquals(299L, decoded.getLastSequence());
+    }
+
+    @Test
+    void testAbsentFieldsDecodeAsNull() {
+        ChatMessage message = new ChatMessage(MessageType.ENTER, "room1", "user1", null);
+        message.setTimestamp(null);
+
+        byte[] frame = BinaryChatCodec.encode(message);
+        ChatMessage decoded = BinaryChatCodec.decode(ByteBuffer.wrap(frame));
+
+        assertNull(decoded.getMessage());
+        assertNull(decoded.getSequence());
+        assertNull(decoded.getLastSequence());
+        // kind + flags + type + roomId(1+5) + sender(1+5)
+        assertEquals(15, frame.length);
+    }
+
+    @Test
+    void testBatchFrameDecodesInOrder() {
+        ChatMessage first = new ChatMessage(MessageType.TALK, "room1", "user1", "첫 번째");
+        ChatMessage second = new ChatMessage(MessageType.QUIT, "room1", "user2", "두 번째");
+
+        List<ChatMessage> decoded = BinaryChatCodec.decodeAll(ByteBuffer.wrap(BinaryChatCodec.encodeBatch(List.of(first, second))));
+
+        assertEquals(2, decoded.size());
+        assertEquals("첫 번째", decoded.get(0).getMessage());
+        assertEquals(MessageType.QUIT, decoded.get(1).getType());
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryChatCodec.decode(ByteBuffer.wrap(BinaryChatCodec.encodeBatch(List.of(first)))));
+    }
+
+    @Test
+    void testVarintBoundaries() {
+        for (long value : new long[]{0, 127, 128, 16_383, 16_384, Long.MAX_VALUE}) {
+            ByteBuffer buffer = ByteBuffer.allocate(BinaryChatCodec.varintSize(value));
+            BinaryChatCodec.writeVarint(buffer, value);
+            assertFalse(buffer.hasRemaining());
+            buffer.flip();
+            assertEquals(value, BinaryChatCodec.readVarint(buffer));
+        }
+    }
+
+    @Test
+    void testMalformedFramesAreRejected() {
+        // 문자열 길이가 프레임보다 긴 경우
+        byte[] truncated = {BinaryChatCodec.KIND_MESSAGE, 0b10, 10, 'a'};
+        assertThrows(IllegalArgumentException.class, () -> BinaryChatCodec.decode(ByteBuffer.wrap(truncated)));
+        // 존재하지 않는 메시지 타입
+        byte[] unknownType = {BinaryChatCodec.KIND_MESSAGE, 0b1, 99};
+        assertThrows(IllegalArgumentException.class, () -> BinaryChatCodec.decode(ByteBuffer.wrap(unknownType)));
+        // 알 수 없는 프레임 종류
+        assertThrows(IllegalArgumentException.class, () -> BinaryChatCodec.decodeAll(ByteBuffer.wrap(new byte[]{9})));
+    }
+}
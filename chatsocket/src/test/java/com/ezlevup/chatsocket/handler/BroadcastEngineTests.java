@@ -0,0 +1,251 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.ChatRoom;
+import com.ezlevup.chatsocket.model.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BroadcastEngineTests {
+
+    private ExecutorService executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBroadcastSharesSingleEncodedFrame() throws Exception {
+        BroadcastEngine engine = newEngine(Runnable::run);
+        ChatRoom room = ChatRoom.builder().roomId("room1").name("Room 1").build();
+        WebSocketSession session1 = openSession("s1");
+        WebSocketSession session2 = openSession("s2");
+        room.addSession(session1);
+        room.addSession(session2);
+        engine.register(session1);
+        engine.register(session2);
+
+        int queued = engine.broadcast(room, new ChatMessage(MessageType.TALK, "room1", "user1", "Hello"), null);
+
+        assertEquals(2, queued);
+        ArgumentCaptor<WebSocketMessage<?>> frame1 = ArgumentCaptor.forClass(WebSocketMessage.class);
+        ArgumentCaptor<WebSocketMessage<?>> frame2 = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session1).sendMessage(frame1.capture());
+        verify(session2).sendMessage(frame2.capture());
+        assertSame(frame1.getValue(), frame2.getValue());
+    }
+
+    @Test
+    void testBroadcastUsesEachSessionWireFormat() throws Exception {
+        BroadcastEngine engine = newEngine(Runnable::run);
+        ChatRoom room = ChatRoom.builder().roomId("room1").name("Room 1").build();
+        WebSocketSession jsonSession = openSession("s1");
+        WebSocketSession binarySession = openSession("s2");
+        when(binarySession.getAcceptedProtocol()).thenReturn(WireFormat.BINARY.getSubprotocol());
+        room.addSession(jsonSession);
+        room.addSession(binarySession);
+        engine.register(jsonSession);
+        engine.register(binarySession);
+
+        engine.broadcast(room, new ChatMessage(MessageType.TALK, "room1", "user1", "Hello"), null);
+
+        verify(jsonSession).sendMessage(any(TextMessage.class));
+        ArgumentCaptor<BinaryMessage> binaryFrame = ArgumentCaptor.forClass(BinaryMessage.class);
+        verify(binarySession).sendMessage(binaryFrame.capture());
+        ChatMessage decoded = BinaryChatCodec.decode(binaryFrame.getValue().getPayload());
+        assertEquals("Hello", decoded.getMessage());
+    }
+
+    @Test
+    void testDeflateSessionsShareOneCompressedFrameAboveThreshold() throws Exception {
+        BroadcastEngine engine = newEngine(Runnable::run);
+        ChatRoom room = ChatRoom.builder().roomId("room1").name("Room 1").build();
+        WebSocketSession jsonSession = openSession("s1");
+        WebSocketSession deflateSession1 = openSession("s2");
+        WebSocketSession deflateSession2 = openSession("s3");
+        when(deflateSession1.getAcceptedProtocol()).thenReturn(WireFormat.JSON_DEFLATE.getSubprotocol());
+        when(deflateSession2.getAcceptedProtocol()).thenReturn(WireFormat.JSON_DEFLATE.getSubprotocol());
+        for (WebSocketSession session : List.of(jsonSession, deflateSession1, deflateSession2)) {
+            room.addSession(session);
+            engine.register(session);
+        }
+        ChatMessage message = new ChatMessage(MessageType.TALK, "room1", "user1",
+                "오늘 회의는 3시에 시작합니다. 회의 자료는 공유 폴더에 올려두었으니 미리 확인 부탁드립니다.");
+
+        engine.broadcast(room, message, null);
+
+        ArgumentCaptor<TextMessage> textFrame = ArgumentCaptor.forClass(TextMessage.class);
+        verify(jsonSession).sendMessage(textFrame.capture());
+        ArgumentCaptor<BinaryMessage> deflated1 = ArgumentCaptor.forClass(BinaryMessage.class);
+        ArgumentCaptor<BinaryMessage> deflated2 = ArgumentCaptor.forClass(BinaryMessage.class);
+        verify(deflateSession1).sendMessage(deflated1.capture());
+        verify(deflateSession2).sendMessage(deflated2.capture());
+        // 수신자 수와 관계없이 한 번만 압축한다
+        assertSame(deflated1.getValue().getPayload().array(), deflated2.getValue().getPayload().array());
+        assertArrayEquals(textFrame.getValue().asBytes(),
+                FrameCompressor.inflate(deflated1.getValue().getPayload().array(), true));
+
+        // 임계값보다 작은 프레임은 그대로 텍스트로 보낸다
+        engine.broadcast(room, new ChatMessage(MessageType.TALK, "room1", "user1", "네"), null);
+        verify(deflateSession1).sendMessage(any(TextMessage.class));
+    }
+
+    @Test
+    void testSendBatchTranscodesForBinarySession() throws Exception {
+        BroadcastEngine engine = newEngine(Runnable::run);
+        WebSocketSession binarySession = openSession("s1");
+        when(binarySession.getAcceptedProtocol()).thenReturn(WireFormat.BINARY.getSubprotocol());
+        engine.register(binarySession);
+        TextMessage first = engine.encode(new ChatMessage(MessageType.TALK, "room1", "user1", "첫 번째"));
+        TextMessage second = engine.encode(new ChatMessage(MessageType.TALK, "room1", "user2", "두 번째"));
+
+        engine.sendBatch(binarySession, List.of(first.asBytes(), second.asBytes()));
+
+        ArgumentCaptor<BinaryMessage> frame = ArgumentCaptor.forClass(BinaryMessage.class);
+        verify(binarySession).sendMessage(frame.capture());
+        List<ChatMessage> messages = BinaryChatCodec.decodeAll(frame.getValue().getPayload());
+        assertEquals(2, messages.size());
+        assertEquals("user2", messages.get(1).getSender());
+    }
+
+    @Test
+    void testEncodeBatchJoinsFramesIntoJsonArray() throws Exception {
+        BroadcastEngine engine = newEngine(Runnable::run);
+        TextMessage first = engine.encode(new ChatMessage(MessageType.TALK, "room1", "user1", "첫 번째"));
+        TextMessage second = engine.encode(new ChatMessage(MessageType.TALK, "room1", "user2", "두 번째"));
+
+        TextMessage batch = engine.encodeBatch(List.of(first.asBytes(), second.asBytes()));
+
+        ChatMessage[] messages = new ObjectMapper().findAndRegisterModules()
+                .readValue(batch.asBytes(), ChatMessage[].class);
+        assertEquals(2, messages.length);
+        assertEquals("첫 번째", messages[0].getMessage());
+        assertEquals("user2", messages[1].getSender());
+        assertEquals("[]", engine.encodeBatch(List.of()).getPayload());
+    }
+
+    @Test
+    void testTalkExcludesSender() throws Exception {
+        BroadcastEngine engine = newEngine(Runnable::run);
+        ChatRoom room = ChatRoom.builder().roomId("room1").name("Room 1").build();
+        WebSocketSession sender = openSession("s1");
+        WebSocketSession receiver = openSession("s2");
+        room.addSession(sender);
+        room.addSession(receiver);
+        engine.register(sender);
+        engine.register(receiver);
+
+        engine.broadcast(room, new ChatMessage(MessageType.TALK, "room1", "user1", "Hello"), sender);
+        engine.broadcast(room, new ChatMessage(MessageType.ENTER, "room1", "user1", "입장"), sender);
+
+        verify(sender, times(1)).sendMessage(any());
+        verify(receiver, times(2)).sendMessage(any());
+    }
+
+    @Test
+    void testSlowSessionDoesNotBlockBroadcaster() throws Exception {
+        executor = Executors.newFixedThreadPool(2);
+        BroadcastEngine engine = newEngine(executor);
+        ChatRoom room = ChatRoom.builder().roomId("room1").name("Room 1").build();
+
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession slowSession = openSession("slow");
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(slowSession).sendMessage(any());
+
+        CountDownLatch delivered = new CountDownLatch(3);
+        WebSocketSession fastSession = openSession("fast");
+        doAnswer(invocation -> {
+            delivered.countDown();
+            return null;
+        }).when(fastSession).sendMessage(any());
+
+        room.addSession(slowSession);
+        room.addSession(fastSession);
+        engine.register(slowSession);
+        engine.register(fastSession);
+
+        for (int i = 0; i < 3; i++) {
+            engine.broadcast(room, new ChatMessage(MessageType.TALK, "room1", "user1", "메시지 " + i), null);
+        }
+
+        assertTrue(delivered.await(2, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    void testUnregisteredSessionIsSkipped() throws Exception {
+        BroadcastEngine engine = newEngine(Runnable::run);
+        ChatRoom room = ChatRoom.builder().roomId("room1").name("Room 1").build();
+        WebSocketSession session = openSession("s1");
+        room.addSession(session);
+        engine.register(session);
+        engine.unregister(session);
+
+        assertEquals(0, engine.broadcast(room, new ChatMessage(MessageType.TALK, "room1", "user1", "Hello"), null));
+        verify(session, never()).sendMessage(any(TextMessage.class));
+    }
+
+    @Test
+    void testBroadcastRecordsTypedMetrics() throws Exception {
+        ChatProperties properties = new ChatProperties();
+        properties.getOutbound().setMaxMessages(1);
+        properties.getOutbound().setOverflowStrategy(OverflowStrategy.DROP_NEWEST);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // 송신 작업을 실행하지 않아 두 번째 메시지는 버퍼가 거부한다
+        BroadcastEngine engine = new BroadcastEngine(task -> { }, properties, new SessionRegistry(properties),
+                new ChatMetrics(registry, properties));
+        ChatRoom room = ChatRoom.builder().roomId("room1").name("Room 1").build();
+        WebSocketSession session1 = openSession("s1");
+        WebSocketSession session2 = openSession("s2");
+        room.addSession(session1);
+        room.addSession(session2);
+        engine.register(session1);
+        engine.register(session2);
+
+        engine.broadcast(room, new ChatMessage(MessageType.ENTER, "room1", "user1", "입장"), null);
+        engine.broadcast(room, new ChatMessage(MessageType.TALK, "room1", "user1", "Hello"), null);
+
+        assertEquals(2, registry.get("chat.messages.outbound").tag("type", "ENTER").counter().count());
+        assertEquals(0, registry.get("chat.messages.outbound").tag("type", "TALK").counter().count());
+        assertEquals(2, registry.get("chat.messages.dropped").tag("type", "TALK").counter().count());
+        assertEquals(2, registry.get("chat.broadcast.fanout").timer().count());
+        assertEquals(2, registry.get("chat.broadcast.recipients").summary().max());
+    }
+
+    private BroadcastEngine newEngine(Executor executor) {
+        ChatProperties properties = new ChatProperties();
+        return new BroadcastEngine(executor, properties, new SessionRegistry(properties));
+    }
+
+    private WebSocketSession openSession(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        lenient().when(session.getId()).thenReturn(id);
+        lenient().when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
@@ -0,0 +1,129 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatRateLimiterTests {
+
+    @Test
+    void testSessionBurstIsRejectedAndCounted() {
+        ChatProperties properties = enabledProperties(RateLimitAction.REJECT);
+        properties.getRateLimit().getSession().setMessagesPerSecond(1);
+        properties.getRateLimit().getSession().setMessageBurst(3);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ChatRateLimiter limiter = new ChatRateLimiter(properties, new ChatMetrics(registry, properties));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(ChatRateLimiter.Decision.ALLOW, limiter.admitFrame("s1", 10));
+        }
+        assertEquals(ChatRateLimiter.Decision.REJECT, limiter.admitFrame("s1", 10));
+        // 다른 세션은 별도 버킷
+        assertEquals(ChatRateLimiter.Decision.ALLOW, limiter.admitFrame("s2", 10));
+
+        assertEquals(1, registry.get("chat.ratelimit.limited")
+                .tag("scope", "SESSION").tag("action", "REJECT").counter().count());
+    }
+
+    @Test
+    void testByteLimitAppliesPerRoom() {
+        ChatProperties properties = enabledProperties(RateLimitAction.DISCONNECT);
+        properties.getRateLimit().getRoom().setMessagesPerSecond(0);
+        properties.getRateLimit().getRoom().setBytesPerSecond(DataSize.ofBytes(100));
+        properties.getRateLimit().getRoom().setByteBurst(DataSize.ofBytes(250));
+        ChatRateLimiter limiter = new ChatRateLimiter(properties);
+
+        // 보낸 사람이 달라도 같은 방이면 합산된다
+        assertEquals(ChatRateLimiter.Decision.ALLOW, limiter.admitChat("user1", "room1", 100));
+        assertEquals(ChatRateLimiter.Decision.ALLOW, limiter.admitChat("user2", "room1", 100));
+        assertEquals(ChatRateLimiter.Decision.DISCONNECT, limiter.admitChat("user3", "room1", 100));
+        assertEquals(ChatRateLimiter.Decision.ALLOW, limiter.admitChat("user3", "room2", 100));
+    }
+
+    @Test
+    void testByteRejectionDoesNotSpendMessageToken() {
+        ChatProperties properties = enabledProperties(RateLimitAction.REJECT);
+        properties.getRateLimit().getSession().setMessagesPerSecond(1);
+        properties.getRateLimit().getSession().setMessageBurst(2);
+        properties.getRateLimit().getSession().setBytesPerSecond(DataSize.ofBytes(100));
+        properties.getRateLimit().getSession().setByteBurst(DataSize.ofBytes(100));
+        ChatRateLimiter limiter = new ChatRateLimiter(properties);
+
+        assertEquals(ChatRateLimiter.Decision.REJECT, limiter.admitFrame("s1", 500));
+        // 바이트 제한으로 거부된 프레임은 메시지 토큰을 쓰지 않는다
+        assertEquals(ChatRateLimiter.Decision.ALLOW, limiter.admitFrame("s1", 10));
+        assertEquals(ChatRateLimiter.Decision.ALLOW, limiter.admitFrame("s1", 10));
+        assertEquals(ChatRateLimiter.Decision.REJECT, limiter.admitFrame("s1", 10));
+    }
+
+    @Test
+    void testRoomRejectionRefundsSenderTokens() {
+        ChatProperties properties = enabledProperties(RateLimitAction.REJECT);
+        properties.getRateLimit().getSender().setMessagesPerSecond(1);
+        properties.getRateLimit().getSender().setMessageBurst(1);
+        properties.getRateLimit().getRoom().setMessagesPerSecond(1);
+        properties.getRateLimit().getRoom().setMessageBurst(1);
+        ChatRateLimiter limiter = new ChatRateLimiter(properties);
+
+        assertEquals(ChatRateLimiter.Decision.ALLOW, limiter.admitChat("user1", "room1", 10));
+        assertEquals(ChatRateLimiter.Decision.REJECT, limiter.admitChat("user2", "room1", 10));
+        // 방 제한으로 거부된 메시지는 user2 의 한도를 쓰지 않으므로 다른 방에는 바로 보낼 수 있다
+        assertEquals(ChatRateLimiter.Decision.ALLOW, limiter.admitChat("user2", "room2", 10));
+    }
+
+    @Test
+    void testDelayWaitsForTokensWithinMaxDelay() {
+        ChatProperties properties = enabledProperties(RateLimitAction.DELAY);
+        properties.getRateLimit().setMaxDelay(java.time.Duration.ofMillis(200));
+        properties.getRateLimit().getSession().setMessagesPerSecond(20);
+        properties.getRateLimit().getSession().setMessageBurst(1);
+        ChatRateLimiter limiter = new ChatRateLimiter(properties);
+
+        assertEquals(ChatRateLimiter.Decision.ALLOW, limiter.admitFrame("s1", 10));
+        long start = System.nanoTime();
+        assertEquals(ChatRateLimiter.Decision.ALLOW, limiter.admitFrame("s1", 10));
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(waitedMillis >= 30, "waited: " + waitedMillis);
+    }
+
+    @Test
+    void testIdleBucketsAreEvicted() {
+        ChatProperties properties = enabledProperties(RateLimitAction.REJECT);
+        ChatRateLimiter limiter = new ChatRateLimiter(properties);
+
+        limiter.admitChat("user1", "room1", 10);
+        limiter.admitFrame("s1", 10);
+        limiter.release("s1");
+        assertEquals(2, limiter.getTrackedKeyCount());
+
+        // 토큰 하나(메시지 10개/초 기준 100ms)가 다시 채워진 뒤에는 버킷을 버린다
+        try {
+            Thread.sleep(150);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        limiter.evictIdle();
+        assertEquals(0, limiter.getTrackedKeyCount());
+    }
+
+    @Test
+    void testDisabledLimiterAllowsEverything() {
+        ChatRateLimiter limiter = new ChatRateLimiter(new ChatProperties());
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(ChatRateLimiter.Decision.ALLOW, limiter.admitFrame("s1", 1024));
+        }
+        assertEquals(0, limiter.getTrackedKeyCount());
+    }
+
+    private ChatProperties enabledProperties(RateLimitAction action) {
+        ChatProperties properties = new ChatProperties();
+        properties.getRateLimit().setEnabled(true);
+        properties.getRateLimit().setAction(action);
+        return properties;
+    }
+}
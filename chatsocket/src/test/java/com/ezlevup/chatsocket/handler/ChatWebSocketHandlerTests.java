@@ -1,18 +1,24 @@
 package com.ezlevup.chatsocket.handler;
 
+import com.ezlevup.chatsocket.cluster.Backplane;
+import com.ezlevup.chatsocket.cluster.LoopbackBackplane;
+import com.ezlevup.chatsocket.config.ChatProperties;
 import com.ezlevup.chatsocket.model.ChatMessage;
 import com.ezlevup.chatsocket.model.ChatRoomRepository;
 import com.ezlevup.chatsocket.model.MessageType;
+import com.ezlevup.chatsocket.service.ChatMessageLog;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -24,6 +30,36 @@ class ChatWebSocketHandlerTests {
     
     @Mock 
     private ChatRoomRepository chatRoomRepository;
+
+    @Spy
+    private ChatProperties chatProperties = new ChatProperties();
+
+    @Spy
+    private SessionRegistry sessionRegistry = new SessionRegistry(chatProperties);
+
+    @Spy
+    private BroadcastEngine broadcastEngine = new BroadcastEngine(Runnable::run, chatProperties, sessionRegistry);
+
+    @Spy
+    private ChatMessageLog chatMessageLog = new ChatMessageLog(chatProperties);
+
+    @Spy
+    private Backplane backplane = new LoopbackBackplane("test-node");
+
+    @Spy
+    private HotPathLog hotPathLog = new HotPathLog(chatProperties);
+
+    @Spy
+    private ChatRateLimiter rateLimiter = new ChatRateLimiter(chatProperties);
+
+    @Mock
+    private LobbyFeed lobbyFeed;
+
+    @Spy
+    private MessageTracer messageTracer = new MessageTracer();
+
+    @Spy
+    private RoomWorkers roomWorkers = new RoomWorkers();
     
     @InjectMocks
     private ChatWebSocketHandler handler;
@@ -74,4 +110,20 @@ class ChatWebSocketHandlerTests {
         
         verify(mockSession1, atLeastOnce()).getId();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testConnectionRefusedWhenNodeLimitReached() throws Exception {
+        chatProperties.getSession().setMaxSessions(1);
+        SessionRegistry limitedRegistry = new SessionRegistry(chatProperties);
+        BroadcastEngine limitedEngine = new BroadcastEngine(Runnable::run, chatProperties, limitedRegistry);
+        WebSocketSession mockSession2 = mock(WebSocketSession.class);
+        when(mockSession2.getId()).thenReturn("session2");
+
+        assertNotNull(limitedEngine.register(mockSession1));
+        assertNull(limitedEngine.register(mockSession2));
+        assertEquals(1, limitedRegistry.getSessionCount());
+
+        limitedEngine.unregister(mockSession1);
+        assertNotNull(limitedEngine.register(mockSession2));
+    }
+}
@@ -0,0 +1,65 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameCompressorTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void testCompressedFrameInflatesWithSharedDictionary() throws Exception {
+        FrameCompressor compressor = new FrameCompressor(new ChatProperties().getCompression());
+        byte[] json = talkFrame("안녕하세요, 오늘 회의는 3시에 시작합니다. 자료는 공유 폴더에 올려두었습니다.");
+
+        byte[] compressed = compressor.compress(json);
+
+        assertNotNull(compressed);
+        assertTrue(compressed.length < json.length);
+        assertArrayEquals(json, FrameCompressor.inflate(compressed, true));
+        // 사전 없이는 풀 수 없다 (사전 속 문자열을 거리로 참조하므로)
+        assertThrows(Exception.class, () -> FrameCompressor.inflate(compressed, false));
+    }
+
+    @Test
+    void testDictionaryShrinksSmallChatFrames() throws Exception {
+        ChatProperties.Compression withDictionary = new ChatProperties().getCompression();
+        ChatProperties.Compression withoutDictionary = new ChatProperties().getCompression();
+        withoutDictionary.setDictionary(false);
+        byte[] json = talkFrame("점심 뭐 먹을까요?");
+
+        byte[] shared = new FrameCompressor(withDictionary).compress(json);
+        byte[] plain = new FrameCompressor(withoutDictionary).compress(json);
+
+        assertNotNull(shared);
+        assertTrue(plain == null || shared.length < plain.length);
+        assertArrayEquals(json, FrameCompressor.inflate(shared, true));
+    }
+
+    @Test
+    void testFramesBelowThresholdOrIncompressibleAreNotCompressed() {
+        ChatProperties.Compression config = new ChatProperties().getCompression();
+        config.setThreshold(DataSize.ofBytes(64));
+        FrameCompressor compressor = new FrameCompressor(config);
+
+        assertNull(compressor.compress("{\"type\":\"TALK\"}".getBytes()));
+
+        byte[] random = new byte[512];
+        new Random(42).nextBytes(random);
+        assertNull(compressor.compress(random));
+    }
+
+    private byte[] talkFrame(String text) throws Exception {
+        ChatMessage message = new ChatMessage(MessageType.TALK, "3f2a9c1e-7b4d-4e8a-9f10-2c6d8e4b1a37", "사용자123", text);
+        message.setSequence(123_456L);
+        return objectMapper.writeValueAsBytes(message);
+    }
+}
@@ -0,0 +1,58 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotPathLogTests {
+
+    @Test
+    void testSampledModeLimitsEachCategoryPerSecond() {
+        ChatProperties properties = new ChatProperties();
+        properties.getLogging().setHotPath(HotPathLogMode.SAMPLED);
+        properties.getLogging().setMaxPerSecond(3);
+        properties.getLogging().getCategoryLimits().put(HotPathLog.Category.BROADCAST, 1);
+        HotPathLog hotPathLog = new HotPathLog(properties);
+
+        // 같은 초 안에 끝나도록 한 번에 세어 본다
+        int chat = 0;
+        int broadcast = 0;
+        for (int i = 0; i < 100; i++) {
+            chat += hotPathLog.shouldLog(HotPathLog.Category.CHAT) ? 1 : 0;
+            broadcast += hotPathLog.shouldLog(HotPathLog.Category.BROADCAST) ? 1 : 0;
+        }
+
+        assertTrue(chat >= 3 && chat <= 6, "chat: " + chat);
+        assertTrue(broadcast >= 1 && broadcast <= 2, "broadcast: " + broadcast);
+    }
+
+    @Test
+    void testFullAndOffModes() {
+        ChatProperties properties = new ChatProperties();
+        properties.getLogging().setMaxPerSecond(0);
+        assertTrue(new HotPathLog(properties).shouldLog(HotPathLog.Category.INBOUND));
+
+        properties.getLogging().setHotPath(HotPathLogMode.OFF);
+        assertFalse(new HotPathLog(properties).shouldLog(HotPathLog.Category.INBOUND));
+    }
+
+    @Test
+    void testLoggingPropertiesBindFromApplicationProperties() {
+        Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+                "chat.logging.hot-path", "sampled",
+                "chat.logging.category-limits.broadcast", "5",
+                "chat.logging.async", "true")));
+
+        ChatProperties properties = binder.bind("chat", Bindable.of(ChatProperties.class)).get();
+
+        assertEquals(HotPathLogMode.SAMPLED, properties.getLogging().getHotPath());
+        assertEquals(5, properties.getLogging().getCategoryLimits().get(HotPathLog.Category.BROADCAST));
+        assertTrue(properties.getLogging().isAsync());
+    }
+}
@@ -0,0 +1,47 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.MessageType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonChatDecoderTests {
+
+    @Test
+    void testDecodesClientFields() throws Exception {
+        ChatMessage message = JsonChatDecoder.decode(
+                "{\"type\":\"ENTER\",\"roomId\":\"room1\",\"sender\":\"사용자\",\"message\":null,\"lastSequence\":42,"
+                        + "\"timestamp\":\"2024-01-15 14:30:25\",\"extra\":{\"nested\":[1,2]}}");
+
+        assertEquals(MessageType.ENTER, message.getType());
+        assertEquals("room1", message.getRoomId());
+        assertEquals("사용자", message.getSender());
+        assertNull(message.getMessage());
+        assertEquals(42L, message.getLastSequence());
+        // 서버가 채우는 필드는 읽지 않는다
+        assertNull(message.getTimestamp());
+        assertNull(message.getSequence());
+    }
+
+    @Test
+    void testRecognizesPingRegardlessOfFieldOrder() throws Exception {
+        assertSame(JsonChatDecoder.PING, JsonChatDecoder.decode("{\"type\":\"PING\"}"));
+        assertSame(JsonChatDecoder.PING, JsonChatDecoder.decode("{ \"sender\": \"user1\", \"type\" : \"PING\" }"));
+        // 메시지 본문에 PING 문자열이 들어 있어도 일반 메시지로 처리
+        ChatMessage talk = JsonChatDecoder.decode("{\"type\":\"TALK\",\"message\":\"{\\\"type\\\":\\\"PING\\\"}\"}");
+        assertEquals(MessageType.TALK, talk.getType());
+        assertEquals("{\"type\":\"PING\"}", talk.getMessage());
+    }
+
+    @Test
+    void testRejectsMalformedFrames() {
+        assertThrows(IOException.class, () -> JsonChatDecoder.decode("garbage"));
+        assertThrows(IOException.class, () -> JsonChatDecoder.decode("[1,2]"));
+        assertThrows(IOException.class, () -> JsonChatDecoder.decode("{\"type\":\"UNKNOWN\"}"));
+        assertThrows(IOException.class, () -> JsonChatDecoder.decode("{\"type\":\"TALK\",\"message\":{\"a\":1}}"));
+        assertThrows(IOException.class, () -> JsonChatDecoder.decode("{\"type\":\"TALK\""));
+    }
+}
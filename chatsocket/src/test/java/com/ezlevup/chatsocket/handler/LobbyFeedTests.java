@@ -0,0 +1,108 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.model.ChatRoomRepository;
+import com.ezlevup.chatsocket.service.RoomListService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LobbyFeedTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ChatRoomRepository repository;
+    private BroadcastEngine engine;
+    private LobbyFeed lobbyFeed;
+
+    @BeforeEach
+    void setUp() {
+        ChatProperties properties = new ChatProperties();
+        repository = new ChatRoomRepository(properties);
+        engine = new BroadcastEngine(Runnable::run, properties, new SessionRegistry(properties));
+        lobbyFeed = new LobbyFeed(repository, new RoomListService(repository, properties), engine, properties);
+        // 타이머 없이 push 를 직접 호출한다
+        repository.setRoomChangeListener(lobbyFeed::roomChanged);
+    }
+
+    @Test
+    void testSubscriberGetsSnapshotThenCoalescedDelta() throws Exception {
+        repository.getOrCreateRoom("a", "Room A");
+        WebSocketSession subscriber = openSession("lobby");
+        engine.register(subscriber);
+
+        lobbyFeed.subscribe(subscriber);
+        lobbyFeed.push();
+
+        // 같은 방의 입장/퇴장이 여러 번 있어도 다음 push 에는 방마다 한 항목만 실린다
+        WebSocketSession member1 = openSession("m1");
+        WebSocketSession member2 = openSession("m2");
+        repository.joinRoom("b", "Room B", member1, 10);
+        repository.joinRoom("b", "Room B", member2, 10);
+        repository.leaveRoom("b", member1);
+        repository.deleteRoom("a");
+        lobbyFeed.push();
+
+        List<JsonNode> frames = sentFrames(subscriber, 2);
+        JsonNode snapshot = frames.get(0);
+        assertEquals("LOBBY", snapshot.get("type").asText());
+        assertTrue(snapshot.get("snapshot").asBoolean());
+        assertEquals("a", snapshot.get("rooms").get(0).get("roomId").asText());
+
+        JsonNode delta = frames.get(1);
+        assertFalse(delta.get("snapshot").asBoolean());
+        assertEquals(1, delta.get("rooms").size());
+        assertEquals("b", delta.get("rooms").get(0).get("roomId").asText());
+        assertEquals(1, delta.get("rooms").get(0).get("userCount").asInt());
+        assertEquals("a", delta.get("removed").get(0).asText());
+        assertEquals(repository.getListVersion(), delta.get("version").asLong());
+    }
+
+    @Test
+    void testNoFramesWithoutChangesOrAfterUnsubscribe() throws Exception {
+        WebSocketSession subscriber = openSession("lobby");
+        engine.register(subscriber);
+        lobbyFeed.subscribe(subscriber);
+        lobbyFeed.push();
+
+        // 변경이 없으면 보내지 않는다
+        lobbyFeed.push();
+        lobbyFeed.unsubscribe(subscriber);
+        repository.getOrCreateRoom("a", "Room A");
+        lobbyFeed.push();
+
+        verify(subscriber, times(1)).sendMessage(any());
+        assertEquals(0, lobbyFeed.getSubscriberCount());
+    }
+
+    private List<JsonNode> sentFrames(WebSocketSession session, int count) throws Exception {
+        ArgumentCaptor<WebSocketMessage<?>> captor = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, times(count)).sendMessage(captor.capture());
+        return captor.getAllValues().stream()
+                .map(frame -> {
+                    try {
+                        return objectMapper.readTree(((TextMessage) frame).getPayload());
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    private WebSocketSession openSession(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        lenient().when(session.getId()).thenReturn(id);
+        lenient().when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
@@ -0,0 +1,128 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.model.BroadcastTrace;
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.ChatRoom;
+import com.ezlevup.chatsocket.model.MessageType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MessageTracerTests {
+
+    @Test
+    void testSamplingOffCreatesNoTrace() {
+        MessageTracer tracer = new MessageTracer();
+
+        assertFalse(tracer.isEnabled());
+        assertNull(tracer.start(System.nanoTime(), 0));
+        assertTrue(tracer.getSlowestRecent(10).isEmpty());
+    }
+
+    @Test
+    void testTraceCompletesAfterEveryRecipientIsWrittenOrDropped() throws Exception {
+        ChatProperties properties = new ChatProperties();
+        properties.getMetrics().setTraceSampleRate(1.0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MessageTracer tracer = new MessageTracer(registry, properties);
+        BroadcastEngine engine = new BroadcastEngine(Runnable::run, properties, new SessionRegistry(properties));
+        ChatRoom room = ChatRoom.builder().roomId("room1").name("Room 1").build();
+        WebSocketSession healthy = openSession("s1");
+        WebSocketSession failing = openSession("s2");
+        doThrow(new IOException("broken pipe")).when(failing).sendMessage(any());
+        room.addSession(healthy);
+        room.addSession(failing);
+        engine.register(healthy);
+        engine.register(failing);
+
+        MessageTrace trace = tracer.start(System.nanoTime(), System.nanoTime());
+        ChatMessage message = new ChatMessage(MessageType.TALK, "room1", "user1", "Hello");
+        trace.resolved("room1", message.getType(), 7);
+        TextMessage frame = engine.encode(message);
+        int queued = engine.broadcast(room, message, frame, null, trace);
+
+        assertEquals(2, queued);
+        List<BroadcastTrace> traces = tracer.getSlowestRecent(10);
+        assertEquals(1, traces.size());
+        BroadcastTrace result = traces.get(0);
+        assertEquals("room1", result.getRoomId());
+        assertEquals(7, result.getSequence());
+        assertEquals(2, result.getRecipients());
+        // 전송에 실패한 세션은 버려진 것으로 집계되고 추적은 완료된다
+        assertEquals(1, result.getDropped());
+        assertEquals("s1", result.getSlowestRecipient());
+        assertEquals(1, registry.get("chat.trace.stage").tag("stage", "total").timer().count());
+        assertEquals(1, registry.get("chat.trace.stage").tag("stage", "write").timer().count());
+    }
+
+    @Test
+    void testUnmeasuredMessageIsNotSampled() {
+        ChatProperties properties = new ChatProperties();
+        properties.getMetrics().setTraceSampleRate(1.0);
+        MessageTracer tracer = new MessageTracer(new SimpleMeterRegistry(), properties);
+
+        // 수신 시각을 재지 않은 메시지(백플레인, 시스템 알림)는 추적하지 않는다
+        assertNull(tracer.start(0, 0));
+        assertNotNull(tracer.start(System.nanoTime(), 0));
+    }
+
+    @Test
+    void testEvictedTracedFrameCompletesTrace() {
+        ChatProperties properties = new ChatProperties();
+        properties.getMetrics().setTraceSampleRate(1.0);
+        MessageTracer tracer = new MessageTracer(new SimpleMeterRegistry(), properties);
+        ChatProperties.Outbound limits = properties.getOutbound();
+        limits.setMaxMessages(1);
+        limits.setOverflowStrategy(OverflowStrategy.DROP_OLDEST);
+        // 송신 작업을 실행하지 않아 대기열에 남겨 둔다
+        SessionOutbound outbound = new SessionOutbound(openSession("s1"), task -> { }, limits);
+
+        MessageTrace trace = tracer.start(System.nanoTime(), 0);
+        trace.resolved("room1", MessageType.TALK, 1);
+        trace.recipientQueued();
+        assertTrue(outbound.enqueue(new TextMessage("{\"n\":1}"), trace));
+        trace.enqueued(1);
+        assertTrue(tracer.getSlowestRecent(10).isEmpty());
+
+        // 밀려난 프레임의 trace 는 버려진 것으로 완료된다
+        assertTrue(outbound.enqueue(new TextMessage("{\"n\":2}")));
+        List<BroadcastTrace> traces = tracer.getSlowestRecent(10);
+        assertEquals(1, traces.size());
+        assertEquals(1, traces.get(0).getDropped());
+    }
+
+    @Test
+    void testSlowestRecentKeepsOnlyLatestTraces() {
+        ChatProperties properties = new ChatProperties();
+        properties.getMetrics().setTraceSampleRate(1.0);
+        properties.getMetrics().setTraceRecentSize(2);
+        MessageTracer tracer = new MessageTracer(new SimpleMeterRegistry(), properties);
+
+        for (int sequence = 1; sequence <= 3; sequence++) {
+            MessageTrace trace = tracer.start(System.nanoTime(), 0);
+            trace.resolved("room1", MessageType.TALK, sequence);
+            trace.enqueued(0);
+        }
+
+        List<BroadcastTrace> traces = tracer.getSlowestRecent(10);
+        assertEquals(2, traces.size());
+        assertTrue(traces.stream().noneMatch(trace -> trace.getSequence() == 1));
+        assertEquals(1, tracer.getSlowestRecent(1).size());
+    }
+
+    private WebSocketSession openSession(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        lenient().when(session.getId()).thenReturn(id);
+        lenient().when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
@@ -0,0 +1,68 @@
+package com.ezlevup.chatsocket.handler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveSessionAdapterTests {
+
+    @Test
+    void testFramesAreHandedToOutboundStream() throws Exception {
+        ReactiveSessionAdapter adapter = new ReactiveSessionAdapter(openSession(), 4, Duration.ofMillis(10));
+        ByteBuffer payload = ByteBuffer.wrap(new byte[]{1, 2, 3});
+        BinaryMessage binary = new BinaryMessage(payload);
+
+        adapter.sendMessage(new TextMessage("{\"type\":\"TALK\"}".getBytes(StandardCharsets.UTF_8)));
+        adapter.sendMessage(binary);
+        adapter.sendMessage(binary);
+
+        List<WebSocketMessage> frames = adapter.outbound().take(3).collectList().block(Duration.ofSeconds(1));
+        assertEquals(WebSocketMessage.Type.TEXT, frames.get(0).getType());
+        assertEquals("{\"type\":\"TALK\"}", frames.get(0).getPayloadAsText());
+        // 같은 바이너리 프레임을 여러 번 보내도 원본 버퍼 위치는 그대로다
+        assertEquals(WebSocketMessage.Type.BINARY, frames.get(2).getType());
+        assertEquals(3, frames.get(2).getPayload().readableByteCount());
+        assertEquals(0, payload.position());
+    }
+
+    @Test
+    void testSendFailsWhenPendingFramesExceedLimit() throws Exception {
+        ReactiveSessionAdapter adapter = new ReactiveSessionAdapter(openSession(), 2, Duration.ofMillis(10));
+
+        adapter.sendMessage(new TextMessage("1"));
+        adapter.sendMessage(new TextMessage("2"));
+
+        // Netty 가 가져가지 않으면 한도를 넘는 전송은 대기 시간 후 실패한다 (SessionOutbound 가 세션을 정리)
+        assertThrows(IOException.class, () -> adapter.sendMessage(new TextMessage("3")));
+    }
+
+    @Test
+    void testSendFailsAfterTermination() {
+        ReactiveSessionAdapter adapter = new ReactiveSessionAdapter(openSession(), 2, Duration.ofMillis(10));
+
+        adapter.terminated();
+
+        assertFalse(adapter.isOpen());
+        assertThrows(IOException.class, () -> adapter.sendMessage(new TextMessage("late")));
+    }
+
+    private WebSocketSession openSession() {
+        WebSocketSession session = mock(WebSocketSession.class);
+        lenient().when(session.getId()).thenReturn("reactive-1");
+        lenient().when(session.isOpen()).thenReturn(true);
+        lenient().when(session.bufferFactory()).thenReturn(DefaultDataBufferFactory.sharedInstance);
+        return session;
+    }
+}
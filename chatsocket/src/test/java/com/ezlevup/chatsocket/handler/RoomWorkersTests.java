@@ -0,0 +1,165 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomWorkersTests {
+
+    @Test
+    void testDisabledWorkersRunOnCallingThread() {
+        RoomWorkers workers = new RoomWorkers();
+        List<String> threads = new ArrayList<>();
+
+        workers.execute("room1", () -> threads.add(Thread.currentThread().getName()));
+
+        assertFalse(workers.isEnabled());
+        assertEquals(List.of(Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    void testRoomCommandsRunOnOneWorkerInProducerOrder() throws Exception {
+        RoomWorkers workers = new RoomWorkers(withWorkers(4));
+        int producers = 8;
+        int commandsPerProducer = 1000;
+        Set<String> roomThreads = ConcurrentHashMap.newKeySet();
+        // 워커 하나만 쓰므로 동기화 없이 기록한다 (단일 작성자)
+        int[] lastSeen = new int[producers];
+        List<String> violations = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(producers * commandsPerProducer);
+
+        try {
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                threads.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 1; i <= commandsPerProducer; i++) {
+                        int order = i;
+                        workers.execute("hot-room", () -> {
+                            roomThreads.add(Thread.currentThread().getName());
+                            if (lastSeen[producer] + 1 != order) {
+                                violations.add(producer + ":" + order);
+                            }
+                            lastSeen[producer] = order;
+                            done.countDown();
+                        });
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS), "모든 명령이 실행되지 않았습니다.");
+            assertEquals(1, roomThreads.size());
+            assertTrue(roomThreads.iterator().next().startsWith("room-worker-"));
+            assertTrue(violations.isEmpty(), "생산자별 순서가 바뀐 명령: " + violations);
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    @Test
+    void testFailingCommandDoesNotStopWorker() throws Exception {
+        RoomWorkers workers = new RoomWorkers(withWorkers(1));
+        CountDownLatch next = new CountDownLatch(1);
+
+        try {
+            workers.execute("room1", () -> {
+                throw new IllegalStateException("boom");
+            });
+            workers.execute("room2", next::countDown);
+
+            assertTrue(next.await(5, TimeUnit.SECONDS));
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    @Test
+    void testShutdownDrainsQueuedCommands() throws Exception {
+        RoomWorkers workers = new RoomWorkers(withWorkers(2));
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch drained = new CountDownLatch(100);
+
+        workers.execute("room1", () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 100; i++) {
+            workers.execute("room1", drained::countDown);
+        }
+        assertTrue(workers.getQueuedCommands() > 0);
+
+        blocker.countDown();
+        workers.shutdown();
+
+        assertEquals(0, drained.getCount());
+        assertEquals(0, workers.getQueuedCommands());
+    }
+
+    @Test
+    void testTryExecuteRejectsWhenQueueIsFull() throws Exception {
+        ChatProperties properties = withWorkers(1);
+        properties.getRoom().setWorkerQueueCapacity(2);
+        RoomWorkers workers = new RoomWorkers(properties);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch controlDone = new CountDownLatch(1);
+
+        try {
+            workers.execute("room1", () -> {
+                started.countDown();
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertTrue(workers.tryExecute("room1", () -> { }));
+            assertTrue(workers.tryExecute("room1", () -> { }));
+            assertFalse(workers.tryExecute("room1", () -> fail("한도를 넘은 명령은 실행되지 않아야 합니다.")));
+            // 입장/퇴장/삭제 명령은 한도와 관계없이 받는다
+            workers.execute("room1", controlDone::countDown);
+            assertEquals(1, workers.getRejectedCommands());
+
+            blocker.countDown();
+            assertTrue(controlDone.await(5, TimeUnit.SECONDS));
+        } finally {
+            blocker.countDown();
+            workers.shutdown();
+        }
+    }
+
+    @Test
+    void testCommandsAfterShutdownAreRejected() {
+        RoomWorkers workers = new RoomWorkers(withWorkers(2));
+        workers.shutdown();
+
+        workers.execute("room1", () -> fail("종료 후 명령은 실행되지 않아야 합니다."));
+        assertFalse(workers.tryExecute("room2", () -> fail("종료 후 명령은 실행되지 않아야 합니다.")));
+
+        assertEquals(2, workers.getRejectedCommands());
+        assertEquals(0, workers.getQueuedCommands());
+    }
+
+    private ChatProperties withWorkers(int count) {
+        ChatProperties properties = new ChatProperties();
+        properties.getRoom().setWorkers(count);
+        return properties;
+    }
+}
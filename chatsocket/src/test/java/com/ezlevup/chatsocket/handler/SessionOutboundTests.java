@@ -0,0 +1,238 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import com.ezlevup.chatsocket.config.PerformanceConfig;
+import com.ezlevup.chatsocket.performance.StubWebSocketSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SessionOutboundTests {
+
+    private WebSocketSession session;
+    private List<Runnable> pendingDrains;
+    private Executor deferredExecutor;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(WebSocketSession.class);
+        lenient().when(session.getId()).thenReturn("session1");
+        lenient().when(session.isOpen()).thenReturn(true);
+        pendingDrains = new ArrayList<>();
+        // drain 작업을 바로 실행하지 않아 느린 소비자를 흉내낸다
+        deferredExecutor = pendingDrains::add;
+    }
+
+    @Test
+    void testDropOldestKeepsNewestMessages() throws Exception {
+        SessionOutbound outbound = new SessionOutbound(session, deferredExecutor, limits(2, OverflowStrategy.DROP_OLDEST));
+
+        TextMessage first = new TextMessage("1");
+        TextMessage second = new TextMessage("2");
+        TextMessage third = new TextMessage("3");
+        assertTrue(outbound.enqueue(first));
+        assertTrue(outbound.enqueue(second));
+        assertTrue(outbound.enqueue(third));
+
+        assertEquals(2, outbound.getQueuedMessages());
+        assertEquals(1, outbound.getDroppedCount());
+
+        pendingDrains.get(0).run();
+        verify(session, never()).sendMessage(first);
+        verify(session).sendMessage(second);
+        verify(session).sendMessage(third);
+    }
+
+    @Test
+    void testDroppedFramesAreRecordedInMetrics() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ChatProperties properties = new ChatProperties();
+        SessionOutbound outbound = new SessionOutbound(session, deferredExecutor, null,
+                limits(2, OverflowStrategy.DROP_OLDEST), new MessageCounters(), new ChatMetrics(registry, properties));
+
+        // DROP_OLDEST 는 밀어낸 뒤에도 enqueue 가 true 를 돌려주므로 밀려난 프레임은 버퍼에서 직접 기록해야 한다
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(outbound.enqueue(new TextMessage(String.valueOf(i))));
+        }
+        doThrow(new IOException("broken pipe")).when(session).sendMessage(any(WebSocketMessage.class));
+        pendingDrains.get(0).run();
+
+        assertEquals(3, registry.get("chat.outbound.dropped").tag("reason", "EVICTED").counter().count());
+        // 첫 전송이 실패하면 그 프레임과 남은 프레임이 함께 버려진다
+        assertEquals(1, registry.get("chat.outbound.dropped").tag("reason", "FAILED").counter().count());
+        assertEquals(1, registry.get("chat.outbound.dropped").tag("reason", "CLOSED").counter().count());
+        assertEquals(5, outbound.getDroppedCount());
+    }
+
+    @Test
+    void testDropNewestRejectsOverflow() throws Exception {
+        SessionOutbound outbound = new SessionOutbound(session, deferredExecutor, limits(2, OverflowStrategy.DROP_NEWEST));
+
+        TextMessage third = new TextMessage("3");
+        outbound.enqueue(new TextMessage("1"));
+        outbound.enqueue(new TextMessage("2"));
+        assertFalse(outbound.enqueue(third));
+
+        assertEquals(2, outbound.getQueuedMessages());
+        assertEquals(1, outbound.getDroppedCount());
+
+        pendingDrains.get(0).run();
+        verify(session, times(2)).sendMessage(any(WebSocketMessage.class));
+        verify(session, never()).sendMessage(third);
+    }
+
+    @Test
+    void testCloseStrategyClosesSlowSession() throws Exception {
+        SessionOutbound outbound = new SessionOutbound(session, deferredExecutor, limits(1, OverflowStrategy.CLOSE));
+
+        outbound.enqueue(new TextMessage("1"));
+        assertFalse(outbound.enqueue(new TextMessage("2")));
+
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(0, outbound.getQueuedMessages());
+        assertFalse(outbound.enqueue(new TextMessage("3")));
+    }
+
+    @Test
+    void testRejectedDrainClosesOutbound() throws Exception {
+        Executor rejecting = task -> {
+            throw new RejectedExecutionException("shutting down");
+        };
+        SessionOutbound outbound = new SessionOutbound(session, rejecting, limits(10, OverflowStrategy.DROP_NEWEST));
+
+        // 송신 작업을 맡기지 못하면 대기 중인 프레임을 폐기하고 세션을 닫는다 (대기 상태로 남기지 않음)
+        assertTrue(outbound.enqueue(new TextMessage("1")));
+
+        verify(session).close(CloseStatus.SERVICE_OVERLOAD);
+        assertEquals(0, outbound.getQueuedMessages());
+        assertEquals(1, outbound.getDroppedCount());
+        assertFalse(outbound.enqueue(new TextMessage("2")));
+    }
+
+    @Test
+    void testByteLimitIsEnforced() {
+        ChatProperties.Outbound limits = limits(100, OverflowStrategy.DROP_NEWEST);
+        limits.setMaxBytes(10);
+        SessionOutbound outbound = new SessionOutbound(session, deferredExecutor, limits);
+
+        assertTrue(outbound.enqueue(new TextMessage("12345")));
+        assertTrue(outbound.enqueue(new TextMessage("12345")));
+        assertFalse(outbound.enqueue(new TextMessage("1")));
+
+        assertEquals(10, outbound.getQueuedBytes());
+        assertEquals(1, outbound.getDroppedCount());
+    }
+
+    @Test
+    void testCoalescingJoinsQueuedMessagesIntoArrayFrame() throws Exception {
+        ChatProperties.Outbound limits = limits(100, OverflowStrategy.DROP_OLDEST);
+        limits.setCoalesce(true);
+        limits.setCoalesceMaxBytes(20);
+        SessionOutbound outbound = new SessionOutbound(session, deferredExecutor, limits);
+
+        outbound.enqueue(new TextMessage("{\"n\":1}"));
+        outbound.enqueue(new TextMessage("{\"n\":2}"));
+        // 이미 배열인 프레임(최근 메시지 배치)은 합치지 않는다
+        outbound.enqueue(new TextMessage("[{\"n\":3}]"));
+        outbound.enqueue(new TextMessage("{\"n\":4}"));
+        outbound.enqueue(new TextMessage("{\"n\":5}"));
+        outbound.enqueue(new TextMessage("{\"n\":6}"));
+
+        pendingDrains.get(0).run();
+
+        ArgumentCaptor<WebSocketMessage<?>> frames = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, times(4)).sendMessage(frames.capture());
+        List<Object> payloads = frames.getAllValues().stream().map(WebSocketMessage::getPayload).collect(Collectors.toList());
+        // 바이트 예산(20) 안에서만 합친다
+        assertEquals(List.of("[{\"n\":1},{\"n\":2}]", "[{\"n\":3}]", "[{\"n\":4},{\"n\":5}]", "{\"n\":6}"), payloads);
+        assertEquals(6, outbound.getSentCount());
+    }
+
+    @Test
+    void testCoalesceWindowDelaysFirstSend() throws Exception {
+        ChatProperties.Outbound limits = limits(100, OverflowStrategy.DROP_OLDEST);
+        limits.setCoalesce(true);
+        limits.setCoalesceWindow(Duration.ofMillis(50));
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        try {
+            SessionOutbound outbound = new SessionOutbound(session, Runnable::run, timer, limits,
+                    new MessageCounters(), new ChatMetrics());
+
+            outbound.enqueue(new TextMessage("{\"n\":1}"));
+            outbound.enqueue(new TextMessage("{\"n\":2}"));
+            verify(session, never()).sendMessage(any(WebSocketMessage.class));
+
+            verify(session, timeout(1000)).sendMessage(new TextMessage("[{\"n\":1},{\"n\":2}]"));
+        } finally {
+            timer.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDrainNeverRunsOnEnqueuingThread() throws Exception {
+        ThreadPoolTaskExecutor executor =
+                (ThreadPoolTaskExecutor) new PerformanceConfig().broadcastTaskExecutor(new MockEnvironment());
+        // 송신 스레드가 모두 막혀 있는 동안 이전 대기열 한도(10000)보다 많은 세션에 메시지를 넣는다
+        int sessions = 10_100;
+        Thread caller = Thread.currentThread();
+        AtomicInteger sentOnCaller = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(sessions);
+        ChatProperties.Outbound limits = new ChatProperties().getOutbound();
+
+        try {
+            for (int i = 0; i < sessions; i++) {
+                StubWebSocketSession stub = new StubWebSocketSession("s" + i, 0, message -> {
+                    if (Thread.currentThread() == caller) {
+                        sentOnCaller.incrementAndGet();
+                        return;
+                    }
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    delivered.countDown();
+                });
+                assertTrue(new SessionOutbound(stub, executor, limits).enqueue(new TextMessage("m" + i)));
+            }
+            assertEquals(0, sentOnCaller.get(), "메시지를 넣은 스레드가 직접 송신했습니다.");
+
+            release.countDown();
+            assertTrue(delivered.await(30, TimeUnit.SECONDS), "모든 메시지가 전송되지 않았습니다.");
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private ChatProperties.Outbound limits(int maxMessages, OverflowStrategy strategy) {
+        ChatProperties.Outbound limits = new ChatProperties().getOutbound();
+        limits.setMaxMessages(maxMessages);
+        limits.setOverflowStrategy(strategy);
+        return limits;
+    }
+}
@@ -0,0 +1,63 @@
+package com.ezlevup.chatsocket.handler;
+
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SystemFrameEncoderTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void testNoticesMatchObjectMapperOutput() throws Exception {
+        ChatMessage enter = SystemFrameEncoder.enterNotice("room-1", "사용자");
+        enter.setSequence(42L);
+        ChatMessage quit = SystemFrameEncoder.quitNotice("room-1", "user1");
+        ChatMessage longSequence = SystemFrameEncoder.enterNotice("room-1", "user1");
+        longSequence.setSequence(Long.MAX_VALUE);
+
+        assertJsonEquals(objectMapper.writeValueAsBytes(enter), SystemFrameEncoder.tryEncode(enter));
+        // 순번 부여 전(백플레인 발행) 알림은 sequence 필드를 생략한다
+        assertJsonEquals(objectMapper.writeValueAsBytes(quit), SystemFrameEncoder.tryEncode(quit));
+        assertJsonEquals(objectMapper.writeValueAsBytes(longSequence), SystemFrameEncoder.tryEncode(longSequence));
+    }
+
+    @Test
+    void testNamesNeedingEscapeFallBackToObjectMapper() {
+        assertNull(SystemFrameEncoder.tryEncode(SystemFrameEncoder.enterNotice("room-1", "user\"1")));
+        assertNull(SystemFrameEncoder.tryEncode(SystemFrameEncoder.enterNotice("room\n1", "user1")));
+        assertNull(SystemFrameEncoder.tryEncode(SystemFrameEncoder.quitNotice("room-1", "😀")));
+    }
+
+    @Test
+    void testOtherMessagesAreNotTemplated() {
+        assertNull(SystemFrameEncoder.tryEncode(new ChatMessage(MessageType.TALK, "room-1", "user1", "user1님이 입장하셨습니다.")));
+        assertNull(SystemFrameEncoder.tryEncode(new ChatMessage(MessageType.ENTER, "room-1", "user1", "다른 문구")));
+        assertNull(SystemFrameEncoder.tryEncode(new ChatMessage(MessageType.ENTER, "room-1", "user2", "user1님이 입장하셨습니다.")));
+    }
+
+    @Test
+    void testErrorFrameIsReusedWithinSameSecond() throws Exception {
+        TextMessage first = SystemFrameEncoder.errorFrame("잘못된 메시지 형식입니다.");
+        TextMessage second = SystemFrameEncoder.errorFrame("잘못된 메시지 형식입니다.");
+
+        ChatMessage decoded = objectMapper.readValue(first.asBytes(), ChatMessage.class);
+        assertEquals("System", decoded.getSender());
+        assertEquals("system", decoded.getRoomId());
+        assertEquals("잘못된 메시지 형식입니다.", decoded.getMessage());
+        // 초 경계에 걸린 경우에만 새 프레임이 만들어진다
+        if (first.getPayload().equals(second.getPayload())) {
+            assertSame(first, second);
+        }
+    }
+
+    private void assertJsonEquals(byte[] expected, byte[] actual) {
+        assertEquals(new String(expected, StandardCharsets.UTF_8), new String(actual, StandardCharsets.UTF_8));
+    }
+}
@@ -1,11 +1,25 @@
 package com.ezlevup.chatsocket.model;
 
+import com.ezlevup.chatsocket.config.ChatProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 class ChatModelTests {
 
@@ -77,9 +91,282 @@ class ChatModelTests {
 
     @Test
     void testMessageTypeEnum() {
-        assertEquals(3, MessageType.values().length);
+        assertEquals(4, MessageType.values().length);
         assertEquals(MessageType.ENTER, MessageType.valueOf("ENTER"));
         assertEquals(MessageType.TALK, MessageType.valueOf("TALK"));
         assertEquals(MessageType.QUIT, MessageType.valueOf("QUIT"));
+        assertEquals(MessageType.LOBBY, MessageType.valueOf("LOBBY"));
+    }
+
+    @Test
+    void testChatRoomSessionLimit() {
+        ChatRoom room = ChatRoom.builder()
+                .roomId("limited-room")
+                .name("Limited Room")
+                .build();
+        WebSocketSession session1 = mock(WebSocketSession.class);
+        WebSocketSession session2 = mock(WebSocketSession.class);
+
+        assertTrue(room.addSession(session1, 1));
+        assertTrue(room.addSession(session1, 1));
+        assertFalse(room.addSession(session2, 1));
+        assertEquals(1, room.getSessionCount());
+    }
+
+    @Test
+    void testMemberSnapshotIsReplacedOnJoinAndLeave() {
+        ChatRoom room = ChatRoom.builder()
+                .roomId("snapshot-room")
+                .name("Snapshot Room")
+                .build();
+        WebSocketSession session1 = mock(WebSocketSession.class);
+        WebSocketSession session2 = mock(WebSocketSession.class);
+        room.addSession(session1);
+        room.addSession(session2);
+
+        List<WebSocketSession> snapshot = room.getMembers();
+        // 변경이 없으면 같은 스냅샷을 재사용하고, 밖에서는 고칠 수 없다
+        assertSame(snapshot, room.getMembers());
+        assertEquals(List.of(session1, session2), snapshot);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, session2));
+
+        assertTrue(room.removeSession(session1));
+        assertFalse(room.removeSession(session1));
+
+        // 순회 중이던 이전 스냅샷은 바뀌지 않고, 퇴장은 새 스냅샷에 반영된다
+        assertEquals(List.of(session1, session2), snapshot);
+        assertEquals(List.of(session2), room.getMembers());
+        assertFalse(room.hasSession(session1));
+        assertEquals(1, room.getSessionCount());
+
+        room.removeSession(session2);
+        assertTrue(room.isEmpty());
+        assertTrue(room.getMembers().isEmpty());
+    }
+
+    @Test
+    void testChatRoomSequenceAndResume() {
+        ChatRoom room = ChatRoom.builder()
+                .roomId("resume-room")
+                .name("Resume Room")
+                .historyCapacity(4)
+                .build();
+
+        for (int i = 0; i < 6; i++) {
+            long sequence = room.nextSequence();
+            room.recordMessage(sequence, ("m" + sequence).getBytes());
+        }
+        assertEquals(6, room.getLastSequence());
+
+        // 버퍼에 남아 있는 구간(3~6)은 이어받을 수 있다
+        assertEquals(2, room.getMessagesAfter(4).size());
+        assertEquals("m3", new String(room.getMessagesAfter(2).get(0)));
+        assertTrue(room.getMessagesAfter(6).isEmpty());
+        // 버퍼에서 밀려난 구간은 null (메시지 로그로 대체)
+        assertNull(room.getMessagesAfter(1));
+
+        // 복구된 순번보다 작아지지 않는다
+        room.advanceSequence(3);
+        assertEquals(7, room.nextSequence());
+        room.advanceSequence(100);
+        assertEquals(101, room.nextSequence());
+    }
+
+    @Test
+    void testRecentMessageBufferIgnoresStaleWrites() {
+        RecentMessageBuffer buffer = new RecentMessageBuffer(2);
+        buffer.put(3, "m3".getBytes());
+        // 같은 슬롯의 오래된 메시지가 늦게 도착해도 최신 메시지를 덮어쓰지 않는다
+        buffer.put(1, "m1".getBytes());
+        buffer.put(2, "m2".getBytes());
+
+        assertEquals(2, buffer.getCapacity());
+        assertEquals("m3", new String(buffer.readAfter(2, 3).get(0)));
+        assertNull(buffer.readAfter(0, 3));
+    }
+
+    @Test
+    void testHistoryMemoryBudgetEvictsIdleRoomsFirst() throws Exception {
+        ChatProperties properties = new ChatProperties();
+        properties.getHistory().setMaxMemory(DataSize.ofBytes(4096));
+        ChatRoomRepository budgetedRepository = new ChatRoomRepository(properties);
+        ChatRoom idleRoom = budgetedRepository.getOrCreateRoom("idle-room", "Idle");
+        ChatRoom activeRoom = budgetedRepository.getOrCreateRoom("active-room", "Active");
+        byte[] frame = new byte[200];
+
+        for (int i = 0; i < 10; i++) {
+            idleRoom.recordMessage(idleRoom.nextSequence(), frame);
+        }
+        Thread.sleep(5);
+        for (int i = 0; i < 10; i++) {
+            activeRoom.recordMessage(activeRoom.nextSequence(), frame);
+        }
+
+        // 기록 경로에서는 정리하지 않고 한도 초과만 표시한다
+        HistoryMemoryBudget budget = budgetedRepository.getHistoryBudget();
+        assertTrue(budget.isExceeded());
+        assertEquals(10, idleRoom.getRecentMessages(50).size());
+
+        // 정리 스케줄러가 가장 오래 활동이 없던 방의 기록부터 비운다
+        assertEquals(1, budgetedRepository.evictIdleHistory());
+        assertEquals(0, budgetedRepository.evictIdleHistory());
+        assertTrue(budget.getUsedBytes() <= budget.getTargetBytes());
+        assertEquals(0, idleRoom.getHistoryBytes());
+        assertTrue(idleRoom.getRecentMessages(50).isEmpty());
+        assertNull(idleRoom.getMessagesAfter(0));
+        assertEquals(10, activeRoom.getRecentMessages(50).size());
+
+        // 삭제된 방의 기록은 예산에서 반환된다
+        budgetedRepository.deleteRoom("active-room");
+        assertEquals(0, budget.getUsedBytes());
+    }
+
+    @Test
+    void testEmptyRoomExpiresOnlyAfterGracePeriod() {
+        List<String> expired = new ArrayList<>();
+        repository.setRoomExpiryListener(expired::add);
+        WebSocketSession session = mock(WebSocketSession.class);
+        long start = System.currentTimeMillis();
+
+        ChatRoom room = repository.joinRoom("room1", "Room 1", session, 10);
+        assertNotNull(room);
+        assertSame(room, repository.leaveRoom("room1", session));
+
+        // 비워진 직후와 유예 시간 전에는 남아 있다
+        assertEquals(0, repository.expireEmptyRooms(start + 30_000));
+        assertTrue(repository.existsById("room1"));
+
+        assertEquals(1, repository.expireEmptyRooms(start + 62_000));
+        assertFalse(repository.existsById("room1"));
+        assertTrue(room.isRetired());
+        assertEquals(List.of("room1"), expired);
+        assertEquals(0, repository.getPendingExpiryCount());
+    }
+
+    @Test
+    void testRoomRemovalRunsOnRoomExecutor() {
+        List<Runnable> roomTasks = new ArrayList<>();
+        List<String> taskRooms = new ArrayList<>();
+        repository.setRoomExecutor((roomId, task) -> {
+            taskRooms.add(roomId);
+            roomTasks.add(task);
+        });
+        WebSocketSession session = mock(WebSocketSession.class);
+        long start = System.currentTimeMillis();
+        repository.joinRoom("room1", "Room 1", session, 10);
+        repository.leaveRoom("room1", session);
+
+        // 만료와 삭제는 방을 맡은 실행기에 넘겨지고, 실행되기 전까지 방은 그대로다
+        assertEquals(0, repository.expireEmptyRooms(start + 62_000));
+        repository.getOrCreateRoom("room2", "Room 2");
+        repository.deleteRoom("room2");
+        assertTrue(repository.existsById("room1"));
+        assertTrue(repository.existsById("room2"));
+        assertTrue(taskRooms.contains("room1"));
+        assertTrue(taskRooms.contains("room2"));
+
+        roomTasks.forEach(Runnable::run);
+        assertFalse(repository.existsById("room1"));
+        assertFalse(repository.existsById("room2"));
+    }
+
+    @Test
+    void testRejoinDuringGracePeriodKeepsRoomAndHistory() {
+        WebSocketSession session = mock(WebSocketSession.class);
+        long start = System.currentTimeMillis();
+        ChatRoom room = repository.joinRoom("room1", "Room 1", session, 10);
+        room.recordMessage(room.nextSequence(), "m1".getBytes());
+
+        repository.leaveRoom("room1", session);
+        assertSame(room, repository.joinRoom("room1", "Room 1", session, 10));
+
+        assertEquals(0, repository.expireEmptyRooms(start + 120_000));
+        assertSame(room, repository.findRoomById("room1").orElseThrow());
+        assertEquals(1, room.getRecentMessages(10).size());
+    }
+
+    @Test
+    void testFullRoomRejectsJoin() {
+        WebSocketSession session1 = mock(WebSocketSession.class);
+        WebSocketSession session2 = mock(WebSocketSession.class);
+
+        assertNotNull(repository.joinRoom("room1", "Room 1", session1, 1));
+        assertNull(repository.joinRoom("room1", "Room 1", session2, 1));
+        assertEquals(1, repository.findRoomById("room1").orElseThrow().getSessionCount());
+        // 입장이 거부된 세션의 퇴장은 아무 변화도 없다 (퇴장 알림을 보내지 않음)
+        assertNull(repository.leaveRoom("room1", session2));
+        assertTrue(repository.findRoomById("room1").orElseThrow().hasSession(session1));
+    }
+
+    @Test
+    void testJoinNeverLandsInExpiredRoom() throws Exception {
+        ChatProperties properties = new ChatProperties();
+        properties.getRoom().setEmptyGracePeriod(Duration.ZERO);
+        ChatRoomRepository racingRepository = new ChatRoomRepository(properties);
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger strayJoins = new AtomicInteger();
+        try {
+            // 입장/퇴장이 반복되는 동안 만료 처리를 계속 돌린다
+            Future<?> expirer = executor.submit(() -> {
+                while (running.get()) {
+                    racingRepository.expireEmptyRooms(System.currentTimeMillis() + 2_000);
+                }
+            });
+            List<Future<?>> members = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                WebSocketSession session = mock(WebSocketSession.class);
+                members.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        ChatRoom room = racingRepository.joinRoom("hot-room", "Hot", session, 100);
+                        // 참여 중인 방은 삭제되지 않으므로 항상 저장소의 방과 같아야 한다
+                        if (room.isRetired() || racingRepository.findRoomById("hot-room").orElse(null) != room) {
+                            strayJoins.incrementAndGet();
+                        }
+                        racingRepository.leaveRoom("hot-room", session);
+                    }
+                }));
+            }
+            for (Future<?> member : members) {
+                member.get(30, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            expirer.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, strayJoins.get());
+    }
+
+    @Test
+    void testRoomListSnapshotCursorSurvivesRebuild() {
+        for (int i = 0; i < 5; i++) {
+            ChatRoom room = repository.getOrCreateRoom("room" + i, "Room " + i);
+            for (int s = 0; s < i; s++) {
+                room.addSession(mock(WebSocketSession.class));
+            }
+        }
+        RoomListSnapshot first = new RoomListSnapshot(repository.getListVersion(), "\"1\"", 0, repository.findAllRooms());
+
+        RoomListSnapshot.Page page1 = first.page(RoomSort.OCCUPANCY, null, 2);
+        assertEquals(List.of("room4", "room3"), page1.rooms().stream().map(RoomInfo::getRoomId).toList());
+        assertNotNull(page1.nextCursor());
+
+        // 다음 페이지를 받기 전에 앞쪽 방이 삭제되어도 커서 다음 위치부터 이어진다
+        long version = repository.getListVersion();
+        repository.deleteRoom("room4");
+        assertTrue(repository.getListVersion() > version);
+        RoomListSnapshot second = new RoomListSnapshot(repository.getListVersion(), "\"2\"", 0, repository.findAllRooms());
+
+        RoomListSnapshot.Page page2 = second.page(RoomSort.OCCUPANCY, page1.nextCursor(), 2);
+        assertEquals(List.of("room2", "room1"), page2.rooms().stream().map(RoomInfo::getRoomId).toList());
+        RoomListSnapshot.Page page3 = second.page(RoomSort.OCCUPANCY, page2.nextCursor(), 2);
+        assertEquals(List.of("room0"), page3.rooms().stream().map(RoomInfo::getRoomId).toList());
+        assertNull(page3.nextCursor());
+
+        // 다른 정렬 기준의 커서는 받지 않는다
+        assertThrows(IllegalArgumentException.class, () -> second.page(RoomSort.NAME, page1.nextCursor(), 2));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,308 @@
+package com.ezlevup.chatsocket.performance;
+
+import com.ezlevup.chatsocket.model.ChatMessage;
+import com.ezlevup.chatsocket.model.MessageType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// 가상 스레드 클라이언트 수천~수만 개로 서버에 부하를 건다
+// 시작 전에 REST API(POST /chat/room)로 방을 만들고,
+// 클라이언트마다 가상 스레드 하나가 접속 → 입장 → (대기, 대화/방 이동/재접속) 반복 → 퇴장 시나리오를 실행한다
+// TALK 메시지에 발신 시각(nanoTime)을 실어 보내고, 같은 프로세스의 수신 클라이언트가 도착 시각과의 차이를 기록한다
+// 실행: ./mvnw -Ploadgen test -Dloadgen.args="loadgen.url=ws://host:9092/ws/chat loadgen.clients=10000"
+public class LoadGenerator {
+
+    private static final String MARKER = "\"message\":\"lg:";
+    private static final String SYSTEM_ROOM = "\"roomId\":\"system\"";
+    // HttpClient 하나가 셀렉터 스레드 하나로 소켓을 처리하므로 클라이언트를 나눠 담는다
+    private static final int CONNECTIONS_PER_HTTP_CLIENT = 1000;
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    // 최대 60초 지연까지 3자리 정밀도로 기록한다
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final LoadProfile profile;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    // 시나리오 도중 예외로 끝난 클라이언트 수와 예외 종류별 건수
+    private final LongAdder clientErrors = new LongAdder();
+    private final Map<String, LongAdder> clientErrorTypes = new ConcurrentHashMap<>();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final double[] roomWeights;
+    private final String padding;
+    private List<HttpClient> httpClients;
+    private String[] roomIds;
+    private volatile long measureStartNanos;
+    private volatile long measureEndNanos;
+
+    public LoadGenerator(LoadProfile profile) {
+        this.profile = profile;
+        this.roomWeights = cumulativeRoomWeights(profile);
+        this.padding = "x".repeat(Math.max(0, Math.min(profile.getMessageBytes(), 400) - 24));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Properties properties = new Properties();
+        properties.putAll(System.getProperties());
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                String key = arg.substring(0, separator);
+                properties.setProperty(key.startsWith(LoadProfile.PREFIX) ? key : LoadProfile.PREFIX + key,
+                        arg.substring(separator + 1));
+            }
+        }
+        LoadProfile profile = LoadProfile.fromProperties(properties);
+        LoadReport report = new LoadGenerator(profile).run();
+        System.out.println(report.summary());
+        Path file = report.writeTo(profile.getReportDirectory());
+        System.out.println("- 결과 파일: " + file.toAbsolutePath());
+    }
+
+    public LoadReport run() throws InterruptedException {
+        roomIds = createRooms();
+        Instant startedAt = Instant.now();
+        long startNanos = System.nanoTime();
+        measureStartNanos = startNanos + profile.getRampUp().toNanos();
+        measureEndNanos = measureStartNanos + profile.getDuration().toNanos();
+
+        ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+        // 수신 콜백용. 시나리오 스레드 풀을 닫은 뒤에도 종료 핸드셰이크를 처리할 수 있게 따로 둔다
+        ExecutorService socketThreads = Executors.newVirtualThreadPerTaskExecutor();
+        httpClients = new ArrayList<>();
+        for (int i = 0; i < profile.getClients(); i += CONNECTIONS_PER_HTTP_CLIENT) {
+            httpClients.add(HttpClient.newBuilder()
+                    .executor(socketThreads)
+                    .connectTimeout(CONNECT_TIMEOUT)
+                    .build());
+        }
+
+        // 접속 시각을 ramp-up 구간에 고르게 나눈다
+        long rampUpNanos = profile.getRampUp().toNanos();
+        for (int i = 0; i < profile.getClients(); i++) {
+            final int index = i;
+            final long startAt = startNanos + rampUpNanos * i / profile.getClients();
+            clientThreads.execute(() -> runClient(index, startAt));
+        }
+        clientThreads.shutdown();
+        long timeoutNanos = measureEndNanos - System.nanoTime() + CONNECT_TIMEOUT.toNanos() * 2;
+        if (!clientThreads.awaitTermination(timeoutNanos, TimeUnit.NANOSECONDS)) {
+            clientThreads.shutdownNow();
+        }
+        httpClients.forEach(HttpClient::shutdownNow);
+        socketThreads.shutdownNow();
+
+        long measuredMillis = TimeUnit.NANOSECONDS.toMillis(measureEndNanos - measureStartNanos);
+        Map<String, Long> errorTypes = new TreeMap<>();
+        clientErrorTypes.forEach((type, count) -> errorTypes.put(type, count.sum()));
+        return new LoadReport(profile, startedAt, measuredMillis, connected.get(), connectFailures.sum(),
+                clientErrors.sum(), errorTypes, sent.sum(), delivered.sum(), serverErrors.sum(), latency.copy());
+    }
+
+    // 서버는 없는 방의 입장을 거부하므로 시나리오에서 쓸 방을 먼저 만든다
+    private String[] createRooms() throws InterruptedException {
+        URI roomApi = roomApiUri(profile.getUri());
+        String[] ids = new String[profile.getRooms()];
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build()) {
+            for (int i = 0; i < ids.length; i++) {
+                String body = objectMapper.writeValueAsString(Map.of("name", "lg-room-" + i));
+                HttpRequest request = HttpRequest.newBuilder(roomApi)
+                        .timeout(CONNECT_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 201) {
+                    throw new IllegalStateException("방 생성 실패 (" + response.statusCode() + "): " + roomApi);
+                }
+                ids[i] = objectMapper.readTree(response.body()).get("roomId").asText();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("방 생성 실패: " + roomApi, e);
+        }
+        return ids;
+    }
+
+    // ws://host:port/ws/chat -> http://host:port/chat/room
+    private static URI roomApiUri(URI websocketUri) {
+        try {
+            String scheme = "wss".equalsIgnoreCase(websocketUri.getScheme()) ? "https" : "http";
+            return new URI(scheme, null, websocketUri.getHost(), websocketUri.getPort(), "/chat/room", null, null);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private void runClient(int index, long startAt) {
+        sleepUntil(startAt);
+        String user = "lg-" + index;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        WebSocket socket = connect(index);
+        if (socket == null) {
+            return;
+        }
+        connected.incrementAndGet();
+        String roomId = pickRoom(random);
+        try {
+            send(socket, MessageType.ENTER, roomId, user, user);
+            while (System.nanoTime() < measureEndNanos) {
+                sleepUntil(System.nanoTime() + thinkTimeNanos(random));
+                long now = System.nanoTime();
+                if (now >= measureEndNanos) {
+                    break;
+                }
+                int action = random.nextInt(profile.getTalkWeight() + profile.getRejoinWeight() + profile.getReconnectWeight());
+                if (action < profile.getTalkWeight()) {
+                    send(socket, MessageType.TALK, roomId, user, "lg:" + System.nanoTime() + ":" + padding);
+                    if (now >= measureStartNanos) {
+                        sent.increment();
+                    }
+                } else if (action < profile.getTalkWeight() + profile.getRejoinWeight()) {
+                    send(socket, MessageType.QUIT, roomId, user, user);
+                    roomId = pickRoom(random);
+                    send(socket, MessageType.ENTER, roomId, user, user);
+                } else {
+                    socket.sendClose(WebSocket.NORMAL_CLOSURE, "reconnect").join();
+                    socket = connect(index);
+                    if (socket == null) {
+                        return;
+                    }
+                    send(socket, MessageType.ENTER, roomId, user, user);
+                }
+            }
+            send(socket, MessageType.QUIT, roomId, user, user);
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "done").join();
+        } catch (Exception e) {
+            // 서버가 연결을 끊은 경우 (송신 버퍼 초과 등). 남은 시나리오는 건너뛰고 결과에 집계한다
+            clientErrors.increment();
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            clientErrorTypes.computeIfAbsent(cause.getClass().getSimpleName(), type -> new LongAdder()).increment();
+            socket.abort();
+        }
+    }
+
+    private WebSocket connect(int index) {
+        try {
+            WebSocket.Builder builder = httpClients.get(index / CONNECTIONS_PER_HTTP_CLIENT)
+                    .newWebSocketBuilder()
+                    .connectTimeout(CONNECT_TIMEOUT);
+            if (profile.getSubprotocol() != null) {
+                builder.subprotocols(profile.getSubprotocol());
+            }
+            return builder.buildAsync(profile.getUri(), new Receiver()).join();
+        } catch (Exception e) {
+            connectFailures.increment();
+            return null;
+        }
+    }
+
+    private void send(WebSocket socket, MessageType type, String roomId, String user, String message)
+            throws JsonProcessingException {
+        String payload = objectMapper.writeValueAsString(new ChatMessage(type, roomId, user, message));
+        socket.sendText(payload, true).join();
+    }
+
+    private long thinkTimeNanos(ThreadLocalRandom random) {
+        // 평균이 think-time 인 지수 분포 (사람의 입력 간격처럼 불규칙하게)
+        return (long) (-Math.log(1.0 - random.nextDouble()) * profile.getThinkTime().toNanos());
+    }
+
+    private String pickRoom(ThreadLocalRandom random) {
+        int index = Arrays.binarySearch(roomWeights, random.nextDouble() * roomWeights[roomWeights.length - 1]);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return roomIds[Math.min(index, roomWeights.length - 1)];
+    }
+
+    // 방 i 를 고를 확률의 누적 합. ZIPF 는 1/(i+1)^s 에 비례한다
+    private static double[] cumulativeRoomWeights(LoadProfile profile) {
+        double[] weights = new double[profile.getRooms()];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += profile.getRoomDistribution() == LoadProfile.RoomDistribution.ZIPF
+                    ? 1.0 / Math.pow(i + 1, profile.getZipfExponent())
+                    : 1.0;
+            weights[i] = sum;
+        }
+        return weights;
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    // 수신 프레임에서 부하 생성기가 보낸 TALK 의 발신 시각을 찾아 지연을 기록한다 (배열 프레임이면 여러 건)
+    private class Receiver implements WebSocket.Listener {
+        private final StringBuilder partial = new StringBuilder();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            if (!last) {
+                partial.append(data);
+            } else if (partial.isEmpty()) {
+                record(data.toString());
+            } else {
+                partial.append(data);
+                record(partial.toString());
+                partial.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        private void record(String frame) {
+            long now = System.nanoTime();
+            if (now < measureStartNanos || now >= measureEndNanos) {
+                return;
+            }
+            for (int from = frame.indexOf(SYSTEM_ROOM); from >= 0; from = frame.indexOf(SYSTEM_ROOM, from + 1)) {
+                serverErrors.increment();
+            }
+            for (int from = frame.indexOf(MARKER); from >= 0; from = frame.indexOf(MARKER, from + 1)) {
+                int start = from + MARKER.length();
+                int end = frame.indexOf(':', start);
+                if (end < 0) {
+                    break;
+                }
+                long sentAt = Long.parseLong(frame, start, end, 10);
+                latency.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(Math.max(0, now - sentAt))));
+                delivered.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.ezlevup.chatsocket.performance;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Properties;
+
+// 부하 생성 시나리오: 가상 클라이언트 수, 방 분포, 행동 비율, 측정 구간
+// 시스템 속성/명령행의 loadgen.* 값으로 만든다 (예: -Dloadgen.clients=10000 -Dloadgen.room-distribution=zipf)
+public final class LoadProfile {
+
+    public static final String PREFIX = "loadgen.";
+
+    // 클라이언트가 방을 고르는 분포. ZIPF 는 소수의 방에 인원이 몰리는 실제 채팅 서비스에 가깝다
+    public enum RoomDistribution {
+        UNIFORM,
+        ZIPF
+    }
+
+    private final String name;
+    private final URI uri;
+    private final String subprotocol;
+    private final int clients;
+    private final int rooms;
+    private final RoomDistribution roomDistribution;
+    private final double zipfExponent;
+    private final Duration rampUp;
+    private final Duration duration;
+    private final Duration thinkTime;
+    private final int talkWeight;
+    private final int rejoinWeight;
+    private final int reconnectWeight;
+    private final int messageBytes;
+    private final Path reportDirectory;
+
+    private LoadProfile(Builder builder) {
+        this.name = builder.name;
+        this.uri = builder.uri;
+        this.subprotocol = builder.subprotocol;
+        this.clients = builder.clients;
+        this.rooms = builder.rooms;
+        this.roomDistribution = builder.roomDistribution;
+        this.zipfExponent = builder.zipfExponent;
+        this.rampUp = builder.rampUp;
+        this.duration = builder.duration;
+        this.thinkTime = builder.thinkTime;
+        this.talkWeight = builder.talkWeight;
+        this.rejoinWeight = builder.rejoinWeight;
+        this.reconnectWeight = builder.reconnectWeight;
+        this.messageBytes = builder.messageBytes;
+        this.reportDirectory = builder.reportDirectory;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static LoadProfile fromProperties(Properties properties) {
+        return fromProperties(properties, builder());
+    }
+
+    // 지정하지 않은 값은 builder 에 들어 있는 값을 쓴다
+    public static LoadProfile fromProperties(Properties properties, Builder builder) {
+        String value;
+        if ((value = property(properties, "name")) != null) builder.name(value);
+        if ((value = property(properties, "url")) != null) builder.uri(URI.create(value));
+        if ((value = property(properties, "subprotocol")) != null) builder.subprotocol(value);
+        if ((value = property(properties, "clients")) != null) builder.clients(Integer.parseInt(value));
+        if ((value = property(properties, "rooms")) != null) builder.rooms(Integer.parseInt(value));
+        if ((value = property(properties, "room-distribution")) != null) {
+            builder.roomDistribution(RoomDistribution.valueOf(value.toUpperCase(Locale.ROOT)));
+        }
+        if ((value = property(properties, "zipf-exponent")) != null) builder.zipfExponent(Double.parseDouble(value));
+        if ((value = property(properties, "ramp-up")) != null) builder.rampUp(Duration.parse(value));
+        if ((value = property(properties, "duration")) != null) builder.duration(Duration.parse(value));
+        if ((value = property(properties, "think-time")) != null) builder.thinkTime(Duration.parse(value));
+        if ((value = property(properties, "talk-weight")) != null) builder.talkWeight(Integer.parseInt(value));
+        if ((value = property(properties, "rejoin-weight")) != null) builder.rejoinWeight(Integer.parseInt(value));
+        if ((value = property(properties, "reconnect-weight")) != null) builder.reconnectWeight(Integer.parseInt(value));
+        if ((value = property(properties, "message-bytes")) != null) builder.messageBytes(Integer.parseInt(value));
+        if ((value = property(properties, "report-dir")) != null) builder.reportDirectory(Path.of(value));
+        return builder.build();
+    }
+
+    private static String property(Properties properties, String key) {
+        String value = properties.getProperty(PREFIX + key);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    public Builder toBuilder() {
+        return builder()
+                .name(name)
+                .uri(uri)
+                .subprotocol(subprotocol)
+                .clients(clients)
+                .rooms(rooms)
+                .roomDistribution(roomDistribution)
+                .zipfExponent(zipfExponent)
+                .rampUp(rampUp)
+                .duration(duration)
+                .thinkTime(thinkTime)
+                .talkWeight(talkWeight)
+                .rejoinWeight(rejoinWeight)
+                .reconnectWeight(reconnectWeight)
+                .messageBytes(messageBytes)
+                .reportDirectory(reportDirectory);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public String getSubprotocol() {
+        return subprotocol;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public int getRooms() {
+        return rooms;
+    }
+
+    public RoomDistribution getRoomDistribution() {
+        return roomDistribution;
+    }
+
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    public int getTalkWeight() {
+        return talkWeight;
+    }
+
+    public int getRejoinWeight() {
+        return rejoinWeight;
+    }
+
+    public int getReconnectWeight() {
+        return reconnectWeight;
+    }
+
+    public int getMessageBytes() {
+        return messageBytes;
+    }
+
+    public Path getReportDirectory() {
+        return reportDirectory;
+    }
+
+    public static class Builder {
+        private String name = "default";
+        private URI uri = URI.create("ws://localhost:9092/ws/chat");
+        // 지연 측정을 위해 JSON 프레임을 받아야 하므로 chat.json.v1 (또는 지정하지 않음)만 지원한다
+        private String subprotocol;
+        private int clients = 1000;
+        private int rooms = 50;
+        private RoomDistribution roomDistribution = RoomDistribution.UNIFORM;
+        private double zipfExponent = 1.0;
+        // 접속을 고르게 나누는 시간. 이 구간의 메시지는 측정하지 않는다
+        private Duration rampUp = Duration.ofSeconds(10);
+        private Duration duration = Duration.ofSeconds(30);
+        // 클라이언트 행동 사이의 평균 대기 시간 (지수 분포)
+        private Duration thinkTime = Duration.ofSeconds(1);
+        // 행동 비율: 대화 / 다른 방으로 이동(QUIT 후 ENTER) / 재접속
+        private int talkWeight = 90;
+        private int rejoinWeight = 8;
+        private int reconnectWeight = 2;
+        private int messageBytes = 64;
+        private Path reportDirectory = Path.of("target", "loadgen");
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder uri(URI uri) {
+            this.uri = uri;
+            return this;
+        }
+
+        public Builder subprotocol(String subprotocol) {
+            this.subprotocol = subprotocol;
+            return this;
+        }
+
+        public Builder clients(int clients) {
+            this.clients = clients;
+            return this;
+        }
+
+        public Builder rooms(int rooms) {
+            this.rooms = rooms;
+            return this;
+        }
+
+        public Builder roomDistribution(RoomDistribution roomDistribution) {
+            this.roomDistribution = roomDistribution;
+            return this;
+        }
+
+        public Builder zipfExponent(double zipfExponent) {
+            this.zipfExponent = zipfExponent;
+            return this;
+        }
+
+        public Builder rampUp(Duration rampUp) {
+            this.rampUp = rampUp;
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Builder thinkTime(Duration thinkTime) {
+            this.thinkTime = thinkTime;
+            return this;
+        }
+
+        public Builder talkWeight(int talkWeight) {
+            this.talkWeight = talkWeight;
+            return this;
+        }
+
+        public Builder rejoinWeight(int rejoinWeight) {
+            this.rejoinWeight = rejoinWeight;
+            return this;
+        }
+
+        public Builder reconnectWeight(int reconnectWeight) {
+            this.reconnectWeight = reconnectWeight;
+            return this;
+        }
+
+        public Builder messageBytes(int messageBytes) {
+            this.messageBytes = messageBytes;
+            return this;
+        }
+
+        public Builder reportDirectory(Path reportDirectory) {
+            this.reportDirectory = reportDirectory;
+            return this;
+        }
+
+        public LoadProfile build() {
+            if (clients < 1 || rooms < 1) {
+                throw new IllegalArgumentException("clients 와 rooms 는 1 이상이어야 합니다.");
+            }
+            if (talkWeight < 0 || rejoinWeight < 0 || reconnectWeight < 0
+                    || talkWeight + rejoinWeight + reconnectWeight == 0) {
+                throw new IllegalArgumentException("행동 비율은 0 이상이고 합이 0 보다 커야 합니다.");
+            }
+            return new LoadProfile(this);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.ezlevup.chatsocket.performance;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 부하 생성 결과. 회귀 비교용으로 JSON 파일에 저장한다
+// latencyHistogram 은 HdrHistogram 압축 인코딩(Base64)이라 여러 실행을 합치거나 다른 도구로 다시 분석할 수 있다
+public class LoadReport {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    @JsonProperty("name")
+    private final String name;
+
+    @JsonProperty("startedAt")
+    private final String startedAt;
+
+    @JsonProperty("profile")
+    private final Map<String, Object> profile = new LinkedHashMap<>();
+
+    // 측정 구간 (ramp-up 이후)
+    @JsonProperty("measuredMillis")
+    private final long measuredMillis;
+
+    @JsonProperty("connected")
+    private final int connected;
+
+    @JsonProperty("connectFailures")
+    private final long connectFailures;
+
+    // 시나리오 도중 예외로 끝난 클라이언트 수 (예외 종류별 건수는 clientErrorTypes)
+    @JsonProperty("clientErrors")
+    private final long clientErrors;
+
+    @JsonProperty("clientErrorTypes")
+    private final Map<String, Long> clientErrorTypes;
+
+    @JsonProperty("sent")
+    private final long sent;
+
+    @JsonProperty("delivered")
+    private final long delivered;
+
+    // 서버가 보낸 에러 프레임 수 (속도 제한, 방 인원 초과 등)
+    @JsonProperty("serverErrors")
+    private final long serverErrors;
+
+    @JsonProperty("sentPerSecond")
+    private final double sentPerSecond;
+
+    @JsonProperty("deliveredPerSecond")
+    private final double deliveredPerSecond;
+
+    // 발신 시각부터 각 수신자에게 도착할 때까지의 지연 (마이크로초)
+    @JsonProperty("latencyMicros")
+    private final Map<String, Object> latencyMicros = new LinkedHashMap<>();
+
+    @JsonProperty("latencyHistogram")
+    private final String latencyHistogram;
+
+    LoadReport(LoadProfile profile, Instant startedAt, long measuredMillis, int connected, long connectFailures,
+               long clientErrors, Map<String, Long> clientErrorTypes, long sent, long delivered, long serverErrors,
+               Histogram latency) {
+        this.name = profile.getName();
+        this.startedAt = startedAt.toString();
+        this.profile.put("url", profile.getUri().toString());
+        this.profile.put("subprotocol", profile.getSubprotocol());
+        this.profile.put("clients", profile.getClients());
+        this.profile.put("rooms", profile.getRooms());
+        this.profile.put("roomDistribution", profile.getRoomDistribution());
+        this.profile.put("zipfExponent", profile.getZipfExponent());
+        this.profile.put("rampUp", profile.getRampUp().toString());
+        this.profile.put("duration", profile.getDuration().toString());
+        this.profile.put("thinkTime", profile.getThinkTime().toString());
+        this.profile.put("talkWeight", profile.getTalkWeight());
+        this.profile.put("rejoinWeight", profile.getRejoinWeight());
+        this.profile.put("reconnectWeight", profile.getReconnectWeight());
+        this.profile.put("messageBytes", profile.getMessageBytes());
+        this.measuredMillis = measuredMillis;
+        this.connected = connected;
+        this.connectFailures = connectFailures;
+        this.clientErrors = clientErrors;
+        this.clientErrorTypes = clientErrorTypes;
+        this.sent = sent;
+        this.delivered = delivered;
+        this.serverErrors = serverErrors;
+        double seconds = Math.max(1, measuredMillis) / 1000.0;
+        this.sentPerSecond = sent / seconds;
+        this.deliveredPerSecond = delivered / seconds;
+        this.latencyMicros.put("count", latency.getTotalCount());
+        this.latencyMicros.put("mean", latency.getMean());
+        for (double percentile : PERCENTILES) {
+            this.latencyMicros.put("p" + (percentile == Math.rint(percentile) ? Integer.toString((int) percentile) : Double.toString(percentile)),
+                    latency.getValueAtPercentile(percentile));
+        }
+        this.latencyMicros.put("max", latency.getMaxValue());
+        ByteBuffer encoded = ByteBuffer.allocate(latency.getNeededByteBufferCapacity());
+        int length = latency.encodeIntoCompressedByteBuffer(encoded);
+        this.latencyHistogram = Base64.getEncoder().encodeToString(java.util.Arrays.copyOf(encoded.array(), length));
+    }
+
+    // reportDirectory/loadgen-{name}-{시작 시각}.json
+    public Path writeTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("loadgen-" + name + "-" + FILE_TIME.format(Instant.parse(startedAt)) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+        return file;
+    }
+
+    public String summary() {
+        return String.format("부하 생성 [%s] - 접속 %d (실패 %d), 클라이언트 오류 %d %s, 발신 %,d (%.0f/s), 수신 %,d (%.0f/s), 서버 에러 %d%n"
+                        + "- 전달 지연(us): p50 %s, p90 %s, p99 %s, p99.9 %s, max %s",
+                name, connected, connectFailures, clientErrors, clientErrorTypes, sent, sentPerSecond,
+                delivered, deliveredPerSecond, serverErrors,
+                latencyMicros.get("p50"), latencyMicros.get("p90"), latencyMicros.get("p99"), latencyMicros.get("p99.9"),
+                latencyMicros.get("max"));
+    }
+
+    public int getConnected() {
+        return connected;
+    }
+
+    public long getConnectFailures() {
+        return connectFailures;
+    }
+
+    public long getClientErrors() {
+        return clientErrors;
+    }
+
+    public Map<String, Long> getClientErrorTypes() {
+        return clientErrorTypes;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    public long getServerErrors() {
+        return serverErrors;
+    }
+}
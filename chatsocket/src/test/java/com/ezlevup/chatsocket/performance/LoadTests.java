@@ -12,14 +12,15 @@ import org.springframework.web.socket.*;
 import org.springframework.web.socket.client.standard.StandardWebSocketClient;
 
 import java.net.URI;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Duration;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// 한 발신자가 제한 없이 보내는 처리량을 측정하므로 전송 속도 제한은 끈다
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "chat.rate-limit.enabled=false")
 class LoadTests {
 
     @LocalServerPort
@@ -37,81 +38,29 @@ class LoadTests {
     @Test
     @Timeout(30)
     void testConcurrentConnections() throws Exception {
-        final int numberOfUsers = 20; // 20명 동시 접속 테스트
-        CountDownLatch connectionLatch = new CountDownLatch(numberOfUsers);
-        AtomicInteger successfulConnections = new AtomicInteger(0);
-        
-        ExecutorService executor = Executors.newFixedThreadPool(numberOfUsers);
-        List<Future<WebSocketSession>> futures = new ArrayList<>();
-
-        // 동시에 여러 사용자 연결
-        for (int i = 0; i < numberOfUsers; i++) {
-            final int userId = i;
-            Future<WebSocketSession> future = executor.submit(() -> {
-                try {
-                    WebSocketHandler handler = new WebSocketHandler() {
-                        @Override
-                        public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-                            successfulConnections.incrementAndGet();
-                            connectionLatch.countDown();
-                        }
-
-                        @Override
-                        public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
-                            // 메시지 수신 처리
-                        }
-
-                        @Override
-                        public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
-                            exception.printStackTrace();
-                        }
-
-                        @Override
-                        public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
-                            // 연결 종료 처리
-                        }
-
-                        @Override
-                        public boolean supportsPartialMessages() {
-                            return false;
-                        }
-                    };
-
-                    WebSocketSession session = new StandardWebSocketClient()
-                            .doHandshake(handler, websocketUrl, null)
-                            .get(10, TimeUnit.SECONDS);
-
-                    // 입장 메시지 전송
-                    ChatMessage enterMessage = new ChatMessage(MessageType.ENTER, "load-test-room", "user" + userId, "사용자 " + userId);
-                    session.sendMessage(new TextMessage(objectMapper.writeValueAsString(enterMessage)));
-
-                    return session;
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    return null;
-                }
-            });
-            futures.add(future);
-        }
-
-        // 모든 연결이 완료될 때까지 대기
-        assertTrue(connectionLatch.await(20, TimeUnit.SECONDS));
-        assertEquals(numberOfUsers, successfulConnections.get());
-
-        // 모든 세션 정리
-        for (Future<WebSocketSession> future : futures) {
-            try {
-                WebSocketSession session = future.get();
-                if (session != null && session.isOpen()) {
-                    session.close();
-                }
-            } catch (Exception e) {
-                // 세션 정리 실패는 무시
-            }
-        }
-
-        executor.shutdown();
-        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        // 부하 생성기로 20명이 같은 방에 접속해 짧게 대화하는 시나리오 (대규모 실행은 JMH 의 LoadGeneratorBenchmark)
+        LoadProfile profile = LoadProfile.builder()
+                .name("smoke")
+                .uri(URI.create(websocketUrl))
+                .clients(20)
+                .rooms(1)
+                .rampUp(Duration.ofMillis(500))
+                .duration(Duration.ofSeconds(2))
+                .thinkTime(Duration.ofMillis(100))
+                .talkWeight(1)
+                .rejoinWeight(0)
+                .reconnectWeight(0)
+                .build();
+
+        LoadReport report = new LoadGenerator(profile).run();
+        System.out.println(report.summary());
+
+        assertEquals(20, report.getConnected());
+        assertEquals(0, report.getConnectFailures());
+        assertEquals(0, report.getClientErrors(), () -> "클라이언트 오류: " + report.getClientErrorTypes());
+        assertEquals(0, report.getServerErrors());
+        assertTrue(report.getSent() > 0);
+        assertTrue(report.getDelivered() > 0);
     }
 
     @Test
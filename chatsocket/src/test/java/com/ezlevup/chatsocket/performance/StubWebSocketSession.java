@@ -0,0 +1,130 @@
+package com.ezlevup.chatsocket.performance;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// 성능 측정용 경량 세션: 네트워크 쓰기 대신 지정된 시간만큼 블로킹한다
+public class StubWebSocketSession implements WebSocketSession {
+
+    private final String id;
+    private final long sendDelayNanos;
+    private final Consumer<WebSocketMessage<?>> onSend;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final AtomicLong sentCount = new AtomicLong();
+    private volatile boolean open = true;
+
+    public StubWebSocketSession(String id, long sendDelayNanos, Consumer<WebSocketMessage<?>> onSend) {
+        this.id = id;
+        this.sendDelayNanos = sendDelayNanos;
+        this.onSend = onSend;
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        if (sendDelayNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(sendDelayNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sentCount.incrementAndGet();
+        onSend.accept(message);
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public URI getUri() {
+        return null;
+    }
+
+    @Override
+    public HttpHeaders getHandshakeHeaders() {
+        return new HttpHeaders();
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public Principal getPrincipal() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return null;
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        return null;
+    }
+
+    @Override
+    public void setTextMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getTextMessageSizeLimit() {
+        return 64 * 1024;
+    }
+
+    @Override
+    public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getBinaryMessageSizeLimit() {
+        return 64 * 1024;
+    }
+
+    @Override
+    public List<WebSocketExtension> getExtensions() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+    }
+
+    @Override
+    public void close(CloseStatus status) {
+        open = false;
+    }
+}
@@ -0,0 +1,145 @@
+package com.ezlevup.chatsocket.service;
+
+import com.ezlevup.chatsocket.config.ChatProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatMessageLogTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReplayAfterRestart() throws Exception {
+        ChatMessageLog log = newLog(DataSize.ofMegabytes(1));
+        log.start();
+        for (int i = 1; i <= 5; i++) {
+            log.append("room1", i, payload(i));
+        }
+        assertEquals(5, log.lastSequence("room1"));
+        log.stop();
+
+        ChatMessageLog reopened = newLog(DataSize.ofMegabytes(1));
+        reopened.start();
+        try {
+            // 마지막 순번은 디스크에서 복구된다
+            assertEquals(5, reopened.lastSequence("room1"));
+
+            List<byte[]> recent = reopened.replayRecent("room1");
+            assertEquals(5, recent.size());
+            assertEquals("message-1", text(recent.get(0)));
+
+            List<byte[]> missed = replayAll(reopened, "room1", 3L);
+            assertEquals(2, missed.size());
+            assertEquals("message-4", text(missed.get(0)));
+            assertEquals("message-5", text(missed.get(1)));
+
+            assertTrue(reopened.replayRecent("other-room").isEmpty());
+        } finally {
+            reopened.stop();
+        }
+    }
+
+    @Test
+    void testSegmentRollAndRetention() throws Exception {
+        ChatProperties properties = properties(DataSize.ofBytes(256));
+        properties.getMessageLog().setMaxSegmentsPerRoom(2);
+        properties.getMessageLog().setReplayLimit(100);
+        ChatMessageLog log = new ChatMessageLog(properties);
+        log.start();
+        for (int i = 1; i <= 40; i++) {
+            log.append("room1", i, payload(i));
+        }
+        log.stop();
+
+        ChatMessageLog reopened = new ChatMessageLog(properties);
+        reopened.start();
+        try {
+            List<byte[]> retained = reopened.replayRecent("room1");
+            // 오래된 세그먼트는 삭제되고 최신 메시지는 순서대로 남는다
+            assertTrue(retained.size() < 40);
+            assertEquals("message-40", text(retained.get(retained.size() - 1)));
+            assertEquals(40, reopened.lastSequence("room1"));
+        } finally {
+            reopened.stop();
+        }
+    }
+
+    @Test
+    void testReplayLimit() throws Exception {
+        ChatProperties properties = properties(DataSize.ofMegabytes(1));
+        properties.getMessageLog().setReplayLimit(3);
+        ChatMessageLog log = new ChatMessageLog(properties);
+        log.start();
+        for (int i = 1; i <= 10; i++) {
+            log.append("room1", i, payload(i));
+        }
+        log.stop();
+
+        List<byte[]> recent = log.replayRecent("room1");
+        assertEquals(3, recent.size());
+        assertEquals("message-8", text(recent.get(0)));
+
+        // 재접속 재전송은 한도만큼 나눠 끝까지 보낸다
+        List<Integer> pageSizes = new ArrayList<>();
+        List<byte[]> missed = new ArrayList<>();
+        assertEquals(9, log.replay("room1", 1L, page -> {
+            pageSizes.add(page.size());
+            missed.addAll(page);
+        }));
+        assertEquals(List.of(3, 3, 3), pageSizes);
+        assertEquals("message-2", text(missed.get(0)));
+        assertEquals("message-10", text(missed.get(8)));
+    }
+
+    @Test
+    void testUnknownRoomDoesNotCreateDirectory() throws Exception {
+        ChatMessageLog log = newLog(DataSize.ofMegabytes(1));
+        log.start();
+        try {
+            assertEquals(0, log.lastSequence("unknown-room"));
+            assertTrue(log.replayRecent("unknown-room").isEmpty());
+            assertEquals(0, log.replay("unknown-room", 0L, page -> fail("재전송할 메시지가 없어야 합니다.")));
+            try (var entries = Files.list(tempDir)) {
+                assertEquals(0, entries.count());
+            }
+        } finally {
+            log.stop();
+        }
+    }
+
+    private List<byte[]> replayAll(ChatMessageLog log, String roomId, long afterSequence) {
+        List<byte[]> records = new ArrayList<>();
+        log.replay(roomId, afterSequence, records::addAll);
+        return records;
+    }
+
+    private ChatMessageLog newLog(DataSize segmentSize) {
+        return new ChatMessageLog(properties(segmentSize));
+    }
+
+    private ChatProperties properties(DataSize segmentSize) {
+        ChatProperties properties = new ChatProperties();
+        properties.getMessageLog().setEnabled(true);
+        properties.getMessageLog().setDirectory(tempDir.toString());
+        properties.getMessageLog().setSegmentSize(segmentSize);
+        return properties;
+    }
+
+    private byte[] payload(int index) {
+        return ("message-" + index).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String text(byte[] payload) {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+}